@@ -0,0 +1,41 @@
+package knightstour.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import knightstour.ChessBoard;
+import knightstour.Knight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChessBoardBenchmark {
+    @Param({"5", "8", "50", "100", "500"})
+    int size; // Dimension of the board
+
+    // ****************************************************
+    // Method: construct
+    //
+    // Purpose: Builds a board, which allocates the
+    // padded arrays and fills the accessibility
+    // heuristic in createHeuristics. The
+    // neighbor table is cached per size, so
+    // after warm-up it is not part of the score.
+    // ****************************************************
+    @Benchmark
+    public ChessBoard construct() {
+        return new ChessBoard(new Knight(), size);
+    }
+}
@@ -0,0 +1,103 @@
+package knightstour.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import knightstour.DeadEndPruning;
+import knightstour.EnumerationResult;
+import knightstour.FullTour;
+import knightstour.TourEnumerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// FullTour.knightTour is fixed to FullTour.N = 5, so the backtracker is
+// benchmarked at that size as it is, and through TourEnumerator for the
+// sizes exhaustive search can still finish. Tours of larger boards are
+// covered by TourBenchmark.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FullTourBenchmark {
+    private static final int MAX_SOLUTIONS = 100; // Tours found per search
+
+    private PrintStream console; // Standard output while muted
+
+    // ****************************************************
+    // Class: Board
+    //
+    // Purpose: Size of the board for enumerate.
+    // ****************************************************
+    @State(Scope.Thread)
+    public static class Board {
+        @Param({"5", "6", "8", "10"})
+        int size; // Dimension of the board
+    }
+
+    // ****************************************************
+    // Method: muteConsole
+    //
+    // Purpose: Sends the boards knightTour prints
+    // nowhere.
+    // ****************************************************
+    @Setup(Level.Trial)
+    public void muteConsole() {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    // ****************************************************
+    // Method: restoreConsole
+    //
+    // Purpose: Gives standard output back.
+    // ****************************************************
+    @TearDown(Level.Trial)
+    public void restoreConsole() {
+        System.setOut(console);
+    }
+
+    // ****************************************************
+    // Method: knightTour
+    //
+    // Purpose: Prints every tour of the 5x5 board from
+    // the corner with the original backtracker.
+    // ****************************************************
+    @Benchmark
+    public int[][] knightTour() {
+        int[][] visited = new int[FullTour.N][FullTour.N];
+
+        FullTour.knightTour(visited, 0, 0, 1);
+
+        return visited;
+    }
+
+    // ****************************************************
+    // Method: enumerate
+    //
+    // Purpose: Finds the first tours from the corner
+    // with dead-end pruning.
+    // ****************************************************
+    @Benchmark
+    public EnumerationResult enumerate(Board board) {
+        TourEnumerator enumerator = new TourEnumerator(board.size);
+
+        enumerator.addPruningRule(new DeadEndPruning());
+        enumerator.setMaxSolutions(MAX_SOLUTIONS);
+
+        return enumerator.enumerate(0, 0);
+    }
+}
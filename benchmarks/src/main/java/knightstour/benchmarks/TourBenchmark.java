@@ -0,0 +1,130 @@
+package knightstour.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import knightstour.Tour;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TourBenchmark {
+    // ****************************************************
+    // Class: WholeTour
+    //
+    // Purpose: A fresh tour for every call of
+    // playGame. Building it is not timed.
+    // ****************************************************
+    @State(Scope.Thread)
+    public static class WholeTour {
+        @Param({"5", "8", "50", "100", "500"})
+        int size; // Dimension of the board
+        Tour tour; // Tour to play
+        private PrintStream console; // Standard output while muted
+
+        // ****************************************************
+        // Method: muteConsole
+        //
+        // Purpose: Sends the board playGame prints
+        // nowhere, so the benchmark measures the
+        // tour rather than the terminal.
+        // ****************************************************
+        @Setup(Level.Trial)
+        public void muteConsole() {
+            console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        // ****************************************************
+        // Method: createTour
+        //
+        // Purpose: Sets up an unplayed tour from the
+        // corner.
+        // ****************************************************
+        @Setup(Level.Invocation)
+        public void createTour() {
+            tour = new Tour(0, 0, size);
+        }
+
+        // ****************************************************
+        // Method: restoreConsole
+        //
+        // Purpose: Gives standard output back.
+        // ****************************************************
+        @TearDown(Level.Trial)
+        public void restoreConsole() {
+            System.setOut(console);
+        }
+    }
+
+    // ****************************************************
+    // Class: SingleSteps
+    //
+    // Purpose: A tour that is advanced one move per
+    // call. When it ends a new one is started,
+    // so the cost of a board is spread over its
+    // moves.
+    // ****************************************************
+    @State(Scope.Thread)
+    public static class SingleSteps {
+        @Param({"5", "8", "50", "100", "500"})
+        int size; // Dimension of the board
+        Tour tour; // Tour being advanced
+
+        // ****************************************************
+        // Method: createTour
+        //
+        // Purpose: Starts a tour from the corner.
+        // ****************************************************
+        @Setup(Level.Iteration)
+        public void createTour() {
+            tour = new Tour(0, 0, size);
+        }
+    }
+
+    // ****************************************************
+    // Method: playGame
+    //
+    // Purpose: Plays a whole tour and writes the board.
+    // ****************************************************
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Tour playGame(WholeTour state) {
+        state.tour.playGame();
+
+        return state.tour;
+    }
+
+    // ****************************************************
+    // Method: move
+    //
+    // Purpose: Makes one move, so the score and the
+    // allocation profile are per move.
+    // ****************************************************
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean move(SingleSteps state) {
+        state.tour.move();
+        if (!state.tour.hasMove()) {
+            state.createTour();
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,76 @@
+package knightstour;
+
+// Keeps the move numbers on the heap in ChessBoard's padded layout. It is the
+// grid every board uses unless it is given another, such as a MappedMoveGrid.
+public class ArrayMoveGrid implements MoveGrid {
+    private final int boardSize; // Dimension of the board
+    private final int stride; // Length of a padded row
+    private final int[] moveNumbers; // Move number of every padded cell
+
+    // ****************************************************
+    // Method: ArrayMoveGrid
+    //
+    // Purpose: Constructor. Creates a grid on the heap
+    // in ChessBoard's padded layout, so board
+    // indexes need no conversion.
+    // ****************************************************
+    public ArrayMoveGrid(int dimension) {
+        boardSize = dimension;
+        stride = dimension + 2 * ChessBoard.BORDER;
+        moveNumbers = new int[stride * stride];
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    @Override
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: getMoveNumber
+    //
+    // Purpose: Returns the move number of the square at
+    // the row and column.
+    // ****************************************************
+    @Override
+    public int getMoveNumber(int row, int col) {
+        return moveNumbers[(row + ChessBoard.BORDER) * stride + col + ChessBoard.BORDER];
+    }
+
+    // ****************************************************
+    // Method: setMoveNumber
+    //
+    // Purpose: Sets the move number of the square at the
+    // row and column.
+    // ****************************************************
+    @Override
+    public void setMoveNumber(int row, int col, int moveNumber) {
+        moveNumbers[(row + ChessBoard.BORDER) * stride + col + ChessBoard.BORDER] = moveNumber;
+    }
+
+    // ****************************************************
+    // Method: getMoveNumberAt
+    //
+    // Purpose: Returns the move number of the padded
+    // cell at the linear index.
+    // ****************************************************
+    @Override
+    public int getMoveNumberAt(int index) {
+        return moveNumbers[index];
+    }
+
+    // ****************************************************
+    // Method: setMoveNumberAt
+    //
+    // Purpose: Sets the move number of the padded cell
+    // at the linear index.
+    // ****************************************************
+    @Override
+    public void setMoveNumberAt(int index, int moveNumber) {
+        moveNumbers[index] = moveNumber;
+    }
+}
@@ -0,0 +1,200 @@
+package knightstour;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Plays the heuristic tour from every start square of a range of board sizes
+// on a pool of threads and writes one CSV line per tour: whether it covered
+// the board, whether it closed, its moves and how long it took. The lines
+// come out in order of size, row and column whatever the thread count.
+public class BatchSweep {
+    private static final int TASKS_PER_THREAD = 4; // Tasks queued per thread
+    // ahead of the output, so no thread waits while a slow row is written
+
+    private final int minSize; // Smallest board size of the sweep
+    private final int maxSize; // Largest board size of the sweep
+    private TieBreak tieBreak = TieBreak.LEGACY; // Rule every tour uses
+    private boolean isClosed = false; // Flag: true to ask for closed tours
+    private int threads = Runtime.getRuntime().availableProcessors(); // Tours
+    // run at the same time
+
+    // ****************************************************
+    // Method: BatchSweep
+    //
+    // Purpose: Constructor. Creates a sweep over every
+    // start square of every board size from
+    // minSize to maxSize.
+    // ****************************************************
+    public BatchSweep(int minSize, int maxSize) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid size range " + minSize + " - " + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    // ****************************************************
+    // Method: setTieBreak
+    //
+    // Purpose: Sets the tie break rule of every tour.
+    // ****************************************************
+    public void setTieBreak(TieBreak tieBreak) {
+        this.tieBreak = tieBreak;
+    }
+
+    // ****************************************************
+    // Method: setClosed
+    //
+    // Purpose: Sets whether every tour must be closed.
+    // ****************************************************
+    public void setClosed(boolean isClosed) {
+        this.isClosed = isClosed;
+    }
+
+    // ****************************************************
+    // Method: setThreads
+    //
+    // Purpose: Sets how many tours run at the same time.
+    // ****************************************************
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    // ****************************************************
+    // Method: run
+    //
+    // Purpose: Plays every tour of the sweep and writes
+    // one CSV line per tour, in order of size,
+    // row and column. Each board row is one
+    // task. Only a few tasks per thread are
+    // queued ahead of the output, so memory
+    // stays bounded however large the sweep.
+    // ****************************************************
+    public void run(PrintWriter out) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Deque<Future<String>> rows = new ArrayDeque<>();
+
+        out.println("size,start_row,start_col,tie_break,closed,complete,closed_tour,moves,nanos");
+        try {
+            for (int size = minSize; size <= maxSize; size++) {
+                for (int row = 0; row < size; row++) {
+                    int taskSize = size, taskRow = row;
+
+                    if (rows.size() >= threads * TASKS_PER_THREAD) {
+                        out.print(rows.removeFirst().get());
+                    }
+                    rows.addLast(executor.submit(() -> playRow(taskSize, taskRow)));
+                }
+            }
+            while (!rows.isEmpty()) {
+                out.print(rows.removeFirst().get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tour failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            out.flush();
+        }
+    }
+
+    // ****************************************************
+    // Method: playRow
+    //
+    // Purpose: Plays the tour from every square of one
+    // board row and returns their CSV lines.
+    // ****************************************************
+    private String playRow(int size, int row) {
+        StringBuilder lines = new StringBuilder();
+
+        for (int col = 0; col < size; col++) {
+            long startNanos = System.nanoTime(), nanos;
+            Tour tour = new Tour(row, col, size);
+
+            tour.setTieBreak(tieBreak);
+            tour.setClosed(isClosed);
+            do {
+                tour.move();
+            } while (tour.hasMove());
+            nanos = System.nanoTime() - startNanos;
+
+            lines.append(size).append(',').append(row).append(',').append(col).append(',')
+                    .append(tieBreak).append(',').append(isClosed).append(',')
+                    .append(tour.getChessBoard().isFull()).append(',')
+                    .append(tour.isClosedTour()).append(',')
+                    .append(tour.getKnight().getMoveCounter()).append(',')
+                    .append(nanos).append('\n');
+        }
+
+        return lines.toString();
+    }
+
+    // ****************************************************
+    // Method: main
+    //
+    // Purpose: Runs a sweep from the command line:
+    // BatchSweep minSize maxSize [output.csv]
+    // [--tie-break RULE] [--closed]
+    // [--threads N]. Without an output file
+    // the CSV goes to standard output.
+    // ****************************************************
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<String> positional = new ArrayList<>();
+        BatchSweep sweep;
+        TieBreak tieBreak = TieBreak.LEGACY;
+        boolean isClosed = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        PrintWriter out;
+
+        for (int arg = 0; arg < args.length; arg++) {
+            if (args[arg].equals("--tie-break")) {
+                tieBreak = TieBreak.valueOf(args[++arg]);
+            } else if (args[arg].equals("--closed")) {
+                isClosed = true;
+            } else if (args[arg].equals("--threads")) {
+                threads = Integer.parseInt(args[++arg]);
+            } else {
+                positional.add(args[arg]);
+            }
+        }
+        if (positional.size() < 2) {
+            System.err.println("Usage: BatchSweep minSize maxSize [output.csv] [--tie-break RULE]"
+                    + " [--closed] [--threads N]");
+            System.exit(2);
+        }
+
+        sweep = new BatchSweep(Integer.parseInt(positional.get(0)), Integer.parseInt(positional.get(1)));
+        sweep.setTieBreak(tieBreak);
+        sweep.setClosed(isClosed);
+        sweep.setThreads(threads);
+
+        out = positional.size() > 2
+                ? new PrintWriter(Files.newBufferedWriter(Paths.get(positional.get(2)), StandardCharsets.UTF_8))
+                : new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                        1 << 16));
+        try {
+            sweep.run(out);
+        } finally {
+            out.close();
+        }
+        if (out.checkError()) {
+            throw new UncheckedIOException(new IOException("Writing the CSV failed"));
+        }
+    }
+}
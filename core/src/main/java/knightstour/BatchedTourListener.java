@@ -0,0 +1,119 @@
+package knightstour;
+
+// Collects the moves of a tour into blocks and hands each full block to a
+// MoveBlockHandler, so a consumer that pays per call, such as a console or a
+// socket, is called once per block rather than once per move.
+public class BatchedTourListener implements TourListener {
+    private final MoveBlockHandler handler; // Receives the blocks of moves
+    private final int[] rows; // Rows of the moves in the current block
+    private final int[] cols; // Columns of the moves in the current block
+    private int count; // Number of moves in the current block
+    private int firstMoveNumber; // Move number of the first move in the block
+
+    // ****************************************************
+    // Interface: MoveBlockHandler
+    //
+    // Purpose: Receives the moves of a tour in blocks.
+    // The arrays are reused for the next block,
+    // so the handler must copy anything it
+    // keeps before returning. A move taken back
+    // after its block was delivered is reported
+    // by onMoveUndone.
+    // ****************************************************
+    public interface MoveBlockHandler {
+        void onMoveBlock(int firstMoveNumber, int[] rows, int[] cols, int count);
+
+        default void onMoveUndone(int moveNumber) {
+        }
+
+        default void onTourEnded(boolean isComplete, int moveNumber) {
+        }
+    }
+
+    // ****************************************************
+    // Method: BatchedTourListener
+    //
+    // Purpose: Constructor. Creates a listener that
+    // collects up to blockSize moves before
+    // handing them to the handler.
+    // ****************************************************
+    public BatchedTourListener(int blockSize, MoveBlockHandler handler) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.handler = handler;
+        rows = new int[blockSize];
+        cols = new int[blockSize];
+    }
+
+    // ****************************************************
+    // Method: onMove
+    //
+    // Purpose: Adds the move to the current block and
+    // delivers the block once it is full.
+    // ****************************************************
+    @Override
+    public void onMove(int moveNumber, int row, int col) {
+        if (count == 0) {
+            firstMoveNumber = moveNumber;
+        }
+        rows[count] = row;
+        cols[count] = col;
+        if (++count == rows.length) {
+            flush();
+        }
+    }
+
+    // ****************************************************
+    // Method: onUndo
+    //
+    // Purpose: Drops the move from the current block, or
+    // reports it to the handler if its block was
+    // already delivered.
+    // ****************************************************
+    @Override
+    public void onUndo(int moveNumber, int row, int col) {
+        if (count > 0) {
+            count--;
+        } else {
+            handler.onMoveUndone(moveNumber);
+        }
+    }
+
+    // ****************************************************
+    // Method: onDeadEnd
+    //
+    // Purpose: Delivers the last block and reports the
+    // end of the tour.
+    // ****************************************************
+    @Override
+    public void onDeadEnd(int moveNumber, int row, int col) {
+        flush();
+        handler.onTourEnded(false, moveNumber);
+    }
+
+    // ****************************************************
+    // Method: onComplete
+    //
+    // Purpose: Delivers the last block and reports the
+    // end of the tour.
+    // ****************************************************
+    @Override
+    public void onComplete(int moveNumber, int row, int col) {
+        flush();
+        handler.onTourEnded(true, moveNumber);
+    }
+
+    // ****************************************************
+    // Method: flush
+    //
+    // Purpose: Delivers the moves collected so far, if
+    // there are any.
+    // ****************************************************
+    public void flush() {
+        if (count > 0) {
+            handler.onMoveBlock(firstMoveNumber, rows, cols, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package knightstour;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Reads the tours of a file written by BinaryTourWriter back into
+// move-number grids.
+public class BinaryTourReader implements Closeable {
+    private final FileChannel channel; // File being read
+    private final ByteBuffer buffer; // Bytes read but not decoded yet
+    private final int boardSize; // Dimension of the board
+    private final int startRow; // Row every tour starts on
+    private final int startCol; // Column every tour starts on
+    private final int moveCount; // Moves in every tour
+    private final int recordSize; // Bytes in every tour record
+    private final int[] rowOffsets; // Row change of every move code
+    private final int[] colOffsets; // Column change of every move code
+
+    // ****************************************************
+    // Method: BinaryTourReader
+    //
+    // Purpose: Constructor. Opens the file and reads the
+    // header.
+    // ****************************************************
+    public BinaryTourReader(Path file) throws IOException {
+        Knight knight = new Knight();
+
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(BinaryTourWriter.BUFFER_SIZE);
+        buffer.flip();
+        if (!fill(BinaryTourWriter.HEADER_SIZE) || buffer.getInt() != BinaryTourWriter.MAGIC) {
+            channel.close();
+            throw new IOException(file + " is not a tour file");
+        }
+        boardSize = buffer.getInt();
+        startRow = buffer.getShort();
+        startCol = buffer.getShort();
+        moveCount = buffer.getInt();
+        recordSize = (moveCount * 3 + 7) / 8;
+
+        rowOffsets = new int[Knight.NUM_ALLOWED_MOVES];
+        colOffsets = new int[Knight.NUM_ALLOWED_MOVES];
+        for (int move = 0; move < Knight.NUM_ALLOWED_MOVES; move++) {
+            rowOffsets[move] = knight.getVerticalMoveValue(move);
+            colOffsets[move] = knight.getHorizontalMoveValue(move);
+        }
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: getStartRow
+    //
+    // Purpose: Returns the row every tour starts on.
+    // ****************************************************
+    public int getStartRow() {
+        return startRow;
+    }
+
+    // ****************************************************
+    // Method: getStartCol
+    //
+    // Purpose: Returns the column every tour starts on.
+    // ****************************************************
+    public int getStartCol() {
+        return startCol;
+    }
+
+    // ****************************************************
+    // Method: readTour
+    //
+    // Purpose: Returns the next tour as a new grid, or
+    // null at the end of the file.
+    // ****************************************************
+    public int[][] readTour() throws IOException {
+        int[][] grid = new int[boardSize][boardSize];
+
+        return readTour(grid) ? grid : null;
+    }
+
+    // ****************************************************
+    // Method: readTour
+    //
+    // Purpose: Decodes the next tour into the grid, which
+    // gets the move number of every square,
+    // starting at 1, and 0 on squares the tour
+    // skipped. Returns false at the end of the
+    // file.
+    // ****************************************************
+    public boolean readTour(int[][] grid) throws IOException {
+        int row = startRow, col = startCol, bits = 0, pending = 0;
+
+        if (!fill(recordSize)) {
+            return false;
+        }
+        for (int[] gridRow : grid) {
+            Arrays.fill(gridRow, 0);
+        }
+        grid[row][col] = 1;
+        for (int move = 0; move < moveCount; move++) {
+            if (bits < 3) {
+                pending |= (buffer.get() & 0xFF) << bits;
+                bits += 8;
+            }
+            row += rowOffsets[pending & 7];
+            col += colOffsets[pending & 7];
+            pending >>>= 3;
+            bits -= 3;
+            grid[row][col] = move + 2;
+        }
+
+        return true;
+    }
+
+    // ****************************************************
+    // Method: close
+    //
+    // Purpose: Closes the file.
+    // ****************************************************
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ****************************************************
+    // Method: fill
+    //
+    // Purpose: Reads from the file until the buffer holds
+    // at least the number of bytes. Returns false
+    // at a clean end of the file.
+    // ****************************************************
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("Tour file ends inside a tour");
+                }
+                return false;
+            }
+        }
+        buffer.flip();
+
+        return true;
+    }
+}
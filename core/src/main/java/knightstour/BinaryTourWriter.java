@@ -0,0 +1,220 @@
+package knightstour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Writes tours as 3-bit move codes. The file starts with a header of the
+// magic number, the board size, the start row and column and the moves per
+// tour. Every tour follows as a fixed-size record of its move codes, packed
+// from the low bits of each byte up and padded to a whole byte.
+public class BinaryTourWriter implements TourSink, Closeable {
+    static final int MAGIC = 0x4B545331; // "KTS1" at the start of the file
+    static final int HEADER_SIZE = 16; // Bytes before the first tour
+    static final int BUFFER_SIZE = 1 << 20; // Bytes written to the channel at
+    // once
+    private static final ByteBuffer END_OF_TOURS = ByteBuffer.allocate(0); //
+    // Tells the writer thread to stop
+
+    private final FileChannel channel; // File being written
+    private final BlockingQueue<ByteBuffer> fullBuffers; // Buffers waiting for
+    // the writer thread, or null when writing on the caller's thread
+    private final BlockingQueue<ByteBuffer> freeBuffers; // Buffers the writer
+    // thread has emptied
+    private final Thread writerThread; // Background writer, or null
+    private volatile IOException writeError; // First failure of the writer
+    // thread
+    private ByteBuffer buffer; // Buffer being filled
+    private int moveCount = -1; // Moves in every tour, -1 before start
+    private int recordSize; // Bytes in every tour record
+    private long tourCount; // Tours written so far
+
+    // ****************************************************
+    // Method: BinaryTourWriter
+    //
+    // Purpose: Constructor. Creates or truncates the
+    // file. With isBackground set the file is
+    // written by a separate thread while the
+    // search fills the next buffer.
+    // ****************************************************
+    public BinaryTourWriter(Path file, boolean isBackground) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        if (isBackground) {
+            fullBuffers = new ArrayBlockingQueue<>(2);
+            freeBuffers = new ArrayBlockingQueue<>(2);
+            freeBuffers.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+            writerThread = new Thread(this::writeBuffers, "tour-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            fullBuffers = null;
+            freeBuffers = null;
+            writerThread = null;
+        }
+    }
+
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Writes the header. A file holds the tours
+    // of one start square only.
+    // ****************************************************
+    @Override
+    public void start(int boardSize, int startRow, int startCol, int moveCount) {
+        if (this.moveCount >= 0) {
+            throw new IllegalStateException("Tours of a second search cannot share the file");
+        }
+        this.moveCount = moveCount;
+        recordSize = (moveCount * 3 + 7) / 8;
+        if (recordSize > BUFFER_SIZE) {
+            throw new IllegalArgumentException("Tours of " + moveCount + " moves do not fit the buffer");
+        }
+        buffer.putInt(MAGIC).putInt(boardSize).putShort((short) startRow).putShort((short) startCol)
+                .putInt(moveCount);
+    }
+
+    // ****************************************************
+    // Method: acceptTour
+    //
+    // Purpose: Packs the move codes of a tour into the
+    // buffer and hands the buffer on when full.
+    // ****************************************************
+    @Override
+    public void acceptTour(byte[] moveCodes) {
+        int bits = 0, pending = 0;
+
+        if (buffer.remaining() < recordSize) {
+            dispatch();
+        }
+        for (int move = 0; move < moveCount; move++) {
+            pending |= moveCodes[move] << bits;
+            bits += 3;
+            if (bits >= 8) {
+                buffer.put((byte) pending);
+                pending >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0) {
+            buffer.put((byte) pending);
+        }
+        tourCount++;
+    }
+
+    // ****************************************************
+    // Method: getTourCount
+    //
+    // Purpose: Returns the number of tours written.
+    // ****************************************************
+    public long getTourCount() {
+        return tourCount;
+    }
+
+    // ****************************************************
+    // Method: close
+    //
+    // Purpose: Writes the rest of the buffer, stops the
+    // writer thread and closes the file. The
+    // thread is stopped and the file closed even
+    // when writing the last buffer fails.
+    // ****************************************************
+    @Override
+    public void close() throws IOException {
+        try {
+            dispatch();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            try {
+                if (writerThread != null) {
+                    fullBuffers.put(END_OF_TOURS);
+                    writerThread.join();
+                }
+            } catch (InterruptedException e) {
+                writerThread.interrupt();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while closing the tour file");
+            } finally {
+                channel.close();
+            }
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    // ****************************************************
+    // Method: dispatch
+    //
+    // Purpose: Writes the buffer, or passes it to the
+    // writer thread and takes an empty one.
+    // ****************************************************
+    private void dispatch() {
+        buffer.flip();
+        try {
+            if (writerThread == null) {
+                writeFully(buffer);
+                buffer.clear();
+            } else {
+                if (writeError != null) {
+                    throw writeError;
+                }
+                fullBuffers.put(buffer);
+                buffer = freeBuffers.take();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while writing tours"));
+        }
+    }
+
+    // ****************************************************
+    // Method: writeBuffers
+    //
+    // Purpose: Body of the writer thread. Writes full
+    // buffers until the end marker arrives. After
+    // a failure it keeps returning buffers so the
+    // search never blocks, and the error is
+    // reported on the next dispatch.
+    // ****************************************************
+    private void writeBuffers() {
+        try {
+            for (ByteBuffer full = fullBuffers.take(); full != END_OF_TOURS; full = fullBuffers.take()) {
+                try {
+                    if (writeError == null) {
+                        writeFully(full);
+                    }
+                } catch (IOException e) {
+                    writeError = e;
+                }
+                full.clear();
+                freeBuffers.put(full);
+            }
+        } catch (InterruptedException e) {
+            writeError = new InterruptedIOException("Tour writer interrupted");
+        }
+    }
+
+    // ****************************************************
+    // Method: writeFully
+    //
+    // Purpose: Writes every remaining byte of the
+    // buffer to the file.
+    // ****************************************************
+    private void writeFully(ByteBuffer full) throws IOException {
+        while (full.hasRemaining()) {
+            channel.write(full);
+        }
+    }
+}
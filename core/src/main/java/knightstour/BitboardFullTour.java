@@ -0,0 +1,141 @@
+package knightstour;
+
+// Counts every open tour from a square of a board of up to 16 x 16, keeping
+// the visited squares in a bitboard of one or more longs. Candidate moves are
+// the knight's attacks from the head square with the visited bits masked off.
+public class BitboardFullTour {
+    private final KnightBitboards bitboards; // Attack tables for the board size
+    private final int boardSize; // Dimension of the board
+    private final int squares; // Number of squares on the board
+    private final long[] visited; // Bitboard of the visited squares, used by
+    // boards larger than 8 x 8
+    private final int[] path; // Squares of the current path in visiting order
+    private final boolean isPrinting; // Flag: true if every tour found is
+    // printed
+
+    // ****************************************************
+    // Method: BitboardFullTour
+    //
+    // Purpose: Constructor. Creates an exhaustive tour
+    // search on a board of at most 16 x 16 that
+    // keeps the visited squares in a bitboard.
+    // ****************************************************
+    public BitboardFullTour(int dimension, boolean isPrinting) {
+        bitboards = KnightBitboards.forBoardSize(dimension);
+        boardSize = dimension;
+        squares = dimension * dimension;
+        visited = new long[bitboards.getWords()];
+        path = new int[squares];
+        this.isPrinting = isPrinting;
+    }
+
+    // ****************************************************
+    // Method: countTours
+    //
+    // Purpose: Returns the number of open tours that
+    // start on the row and column supplied by
+    // the parameters.
+    // ****************************************************
+    public long countTours(int startRow, int startCol) {
+        int start = startRow * boardSize + startCol;
+
+        path[0] = start;
+        if (bitboards.getWords() == 1) {
+            return knightTour(start, 1L << start, 1);
+        }
+
+        visited[start >>> 6] |= 1L << start;
+        try {
+            return knightTour(start, 1);
+        } finally {
+            visited[start >>> 6] &= ~(1L << start);
+        }
+    }
+
+    // ****************************************************
+    // Method: knightTour
+    //
+    // Purpose: Counts the tours that extend the path on
+    // a board that fits in one long. The
+    // unvisited targets of the current square
+    // are one and-not away, and each one is
+    // taken off with a bit operation.
+    // ****************************************************
+    private long knightTour(int square, long visitedSquares, int pos) {
+        long count = 0, moves;
+        int target;
+
+        if (pos >= squares) {
+            print();
+            return 1;
+        }
+
+        moves = bitboards.getAttacks()[square] & ~visitedSquares;
+        while (moves != 0) {
+            target = Long.numberOfTrailingZeros(moves);
+            moves &= moves - 1;
+            path[pos] = target;
+            count += knightTour(target, visitedSquares | (1L << target), pos + 1);
+        }
+
+        return count;
+    }
+
+    // ****************************************************
+    // Method: knightTour
+    //
+    // Purpose: Counts the tours that extend the path on
+    // a board that needs several longs, one
+    // word of the target bitboard at a time.
+    // ****************************************************
+    private long knightTour(int square, int pos) {
+        long[] attacks = bitboards.getAttacks();
+        int words = visited.length, target;
+        long count = 0, moves;
+
+        if (pos >= squares) {
+            print();
+            return 1;
+        }
+
+        for (int word = 0; word < words; word++) {
+            moves = attacks[square * words + word] & ~visited[word];
+            while (moves != 0) {
+                target = (word << 6) + Long.numberOfTrailingZeros(moves);
+                moves &= moves - 1;
+                path[pos] = target;
+                visited[word] |= 1L << target;
+                count += knightTour(target, pos + 1);
+                visited[word] &= ~(1L << target);
+            }
+        }
+
+        return count;
+    }
+
+    // ****************************************************
+    // Method: print
+    //
+    // Purpose: Prints the move number of every square
+    // of the current path, if printing is on.
+    // ****************************************************
+    private void print() {
+        if (!isPrinting) {
+            return;
+        }
+
+        int[] moveNumbers = new int[squares];
+        StringBuilder builder = new StringBuilder();
+
+        for (int pos = 0; pos < squares; pos++) {
+            moveNumbers[path[pos]] = pos + 1;
+        }
+        for (int sq = 0; sq < squares; sq++) {
+            builder.append(moveNumbers[sq]).append(' ');
+            if (sq % boardSize == boardSize - 1) {
+                builder.append('\n');
+            }
+        }
+        System.out.println(builder);
+    }
+}
@@ -0,0 +1,176 @@
+package knightstour;
+
+// Plays the heuristic tour on a board of up to 16 x 16 with the visited
+// squares kept in a bitboard. A square's accessibility is the number of bits
+// in its attacks outside the visited set, and ties are broken as
+// Knight.findBestMove does, so it plays the same tours as Tour.
+public class BitboardTour {
+    private final KnightBitboards bitboards; // Attack tables for the board size
+    private final int boardSize; // Dimension of the board
+    private final long[] visited; // Bitboard of the visited squares
+    private final int[] moveNumbers; // Move number of every square
+    private int currentSquare; // Square the knight is on
+    private int moveCounter; // Move number of the current square
+    private int visitedSquares; // Number of squares visited so far
+    private boolean foundMove = false; // Flag: true if the knight has a move
+    // available, otherwise false
+    private TourListener tourListener = TourListener.NONE; // Receives move,
+    // dead-end and completion events
+
+    // ****************************************************
+    // Method: BitboardTour
+    //
+    // Purpose: Constructor. Creates a tour on a board of
+    // at most 16 x 16 that keeps the visited
+    // squares in a bitboard, with the knight on
+    // the start row and column.
+    // ****************************************************
+    public BitboardTour(int startRow, int startCol, int dimension) {
+        bitboards = KnightBitboards.forBoardSize(dimension);
+        boardSize = dimension;
+        visited = new long[bitboards.getWords()];
+        moveNumbers = new int[dimension * dimension];
+        currentSquare = startRow * dimension + startCol;
+        moveCounter = 1;
+    }
+
+    // ****************************************************
+    // Method: setTourListener
+    //
+    // Purpose: Sets the listener that receives the
+    // events of the tour. Passing null
+    // removes the current listener.
+    // ****************************************************
+    public void setTourListener(TourListener listener) {
+        tourListener = listener == null ? TourListener.NONE : listener;
+    }
+
+    // ****************************************************
+    // Method: hasMove
+    //
+    // Purpose: Returns true if the knight had a move
+    // available after the last call to move.
+    // ****************************************************
+    public boolean hasMove() {
+        return foundMove;
+    }
+
+    // ****************************************************
+    // Method: getMoveCounter
+    //
+    // Purpose: Returns the move number of the square
+    // the knight is on.
+    // ****************************************************
+    public int getMoveCounter() {
+        return moveCounter;
+    }
+
+    // ****************************************************
+    // Method: getCurrentRow
+    //
+    // Purpose: Returns the row the knight is on.
+    // ****************************************************
+    public int getCurrentRow() {
+        return currentSquare / boardSize;
+    }
+
+    // ****************************************************
+    // Method: getCurrentCol
+    //
+    // Purpose: Returns the column the knight is on.
+    // ****************************************************
+    public int getCurrentCol() {
+        return currentSquare % boardSize;
+    }
+
+    // ****************************************************
+    // Method: getSquareMoveNumber
+    //
+    // Purpose: Returns the move number of the square at
+    // the row and column, or 0 if the square has
+    // not been visited.
+    // ****************************************************
+    public int getSquareMoveNumber(int row, int col) {
+        return moveNumbers[row * boardSize + col];
+    }
+
+    // ****************************************************
+    // Method: isFull
+    //
+    // Purpose: Returns true if every square on the
+    // board has been visited.
+    // ****************************************************
+    public boolean isFull() {
+        return visitedSquares == boardSize * boardSize;
+    }
+
+    // ****************************************************
+    // Method: playGame
+    //
+    // Purpose: Moves the knight until it has no move
+    // left.
+    // ****************************************************
+    public void playGame() {
+        do {
+            move();
+        } while (foundMove);
+    }
+
+    // ****************************************************
+    // Method: move
+    //
+    // Purpose: Marks the current square and moves the
+    // knight to the unvisited target with the
+    // fewest unvisited targets of its own. The
+    // candidates are compared in knight move
+    // number order with the same tie rules as
+    // Knight.findBestMove, so tours match the
+    // ones of Tour move for move.
+    // ****************************************************
+    public void move() {
+        long[] attacks = bitboards.getAttacks();
+        short[] targets = bitboards.getTargets();
+        int words = visited.length, curSquare = currentSquare, bestSquare = -1,
+                lowestAccessibility = 0, testAccessibility, target;
+
+        visited[curSquare >>> 6] |= 1L << curSquare;
+        moveNumbers[curSquare] = moveCounter;
+        visitedSquares++;
+        tourListener.onMove(moveCounter, curSquare / boardSize, curSquare % boardSize);
+
+        for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+            target = targets[curSquare * Knight.NUM_ALLOWED_MOVES + moveNum];
+            if (target < 0 || (visited[target >>> 6] & (1L << target)) != 0) {
+                continue;
+            }
+
+            // Accessibility is the number of unvisited squares the target
+            // attacks
+            if (words == 1) {
+                testAccessibility = Long.bitCount(attacks[target] & ~visited[0]);
+            } else {
+                testAccessibility = 0;
+                for (int word = 0; word < words; word++) {
+                    testAccessibility += Long.bitCount(attacks[target * words + word]
+                            & ~visited[word]);
+                }
+            }
+
+            if (bestSquare < 0 || testAccessibility < lowestAccessibility
+                    || lowestAccessibility < 1) {
+                lowestAccessibility = testAccessibility;
+                bestSquare = target;
+            }
+        }
+
+        foundMove = bestSquare >= 0;
+        if (foundMove) {
+            currentSquare = bestSquare;
+            moveCounter++;
+        } else if (isFull()) {
+            tourListener.onComplete(moveCounter, curSquare / boardSize, curSquare % boardSize);
+        } else {
+            tourListener.onDeadEnd(moveCounter, curSquare / boardSize, curSquare % boardSize);
+        }
+    }
+}
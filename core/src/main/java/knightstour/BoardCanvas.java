@@ -0,0 +1,552 @@
+package knightstour;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import javax.swing.*;
+
+// Paints the whole board in one component, showing a TourRecording as it was
+// after any of its moves. Its owner records moves and moves the position on
+// the event dispatch thread; changes are collected and repainted together by
+// repaintChanged. The view can be zoomed with the mouse wheel and panned by
+// dragging. Only the squares inside the visible region are drawn; when
+// squares are smaller than a few pixels, every pixel shows the share of
+// visited squares under it. Since a square is visited at a position when its
+// recorded move number is no greater, a jump to any position only repaints
+// the view, whatever the distance.
+public class BoardCanvas extends JComponent {
+    private static final Color LIGHT_COLOR = Color.pink; // Unvisited light squares
+    private static final Color DARK_COLOR = Color.MAGENTA; // Unvisited dark squares
+    private static final Color VISITED_COLOR = Color.green; // Visited or blocked
+    private static final Color KNIGHT_COLOR = Color.red; // Square of the knight
+    private static final int MIN_TEXT_CELL = 12; // Smallest square, in pixels,
+    // that shows its number
+    private static final double MIN_SQUARE_CELL = 3; // Smallest square, in
+    // pixels, drawn on its own rather than summarized
+    private static final double MAX_CELL = 64; // Largest zoom, in pixels per
+    // square
+    private static final double ZOOM_STEP = 1.25; // Zoom per wheel notch
+    private static final int KNIGHT_MARKER = 3; // Smallest size, in pixels, of
+    // the knight's square
+    private static final int GAP = 1; // Pixels between squares
+
+    private static final int MAX_MARKED_MOVES = 4096; // Most moves a position
+    // change marks square by square rather than repainting the view
+
+    private int boardSize = 0; // Dimension of the board, 0 before the first
+    private TourRecording recording; // Tour shown, or null before the first
+    private int position = 0; // Moves of the recording shown
+    private MoveGrid labels; // Numbers shown instead of the move numbers, or
+    // null
+    private int knightRow = -1, knightCol = -1; // Square shown as the knight's,
+    // or -1 for none
+    private int firstChangedRow, lastChangedRow, firstChangedCol, lastChangedCol;
+    // Squares changed since the last repaint, an empty range if none
+    private double cellSize = 1; // Pixels per square
+    private double viewX, viewY; // Board pixel shown at the top left corner
+    private boolean isFitted = true; // Flag: true while the whole board is
+    // shown, so resizing the window fits it again
+    private BufferedImage summaryImage; // Pixels of a summarized region
+    private int dragX, dragY; // Last mouse position of a drag
+
+    // ****************************************************
+    // Method: BoardCanvas
+    //
+    // Purpose: Constructor. Creates an empty canvas and
+    // listens to the mouse for zoom and pan.
+    // ****************************************************
+    public BoardCanvas() {
+        MouseAdapter viewHandler = new ViewHandler();
+
+        setOpaque(true);
+        setBackground(Color.lightGray);
+        setFont(new Font(Font.SANS_SERIF, Font.PLAIN, MIN_TEXT_CELL));
+        addMouseListener(viewHandler);
+        addMouseMotionListener(viewHandler);
+        addMouseWheelListener(viewHandler);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent event) {
+                if (isFitted) {
+                    zoomToFit();
+                } else {
+                    setView(cellSize, viewX, viewY);
+                }
+            }
+        });
+    }
+
+    // ****************************************************
+    // Method: setRecording
+    //
+    // Purpose: Starts showing the recording before its
+    // first move and fits the whole board in
+    // view.
+    // ****************************************************
+    public void setRecording(TourRecording recording) {
+        this.recording = recording;
+        boardSize = recording.getBoardSize();
+        position = 0;
+        labels = null;
+        knightRow = -1;
+        knightCol = -1;
+        clearChanged();
+        zoomToFit();
+    }
+
+    // ****************************************************
+    // Method: getRecording
+    //
+    // Purpose: Returns the recording shown.
+    // ****************************************************
+    public TourRecording getRecording() {
+        return recording;
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board shown.
+    // ****************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: setPosition
+    //
+    // Purpose: Shows the board after the number of moves
+    // of the recording, with the knight on the
+    // square of the last one. A few moves away
+    // only their squares are marked changed,
+    // farther the whole view is.
+    // ****************************************************
+    public void setPosition(int position) {
+        int square = position == 0 ? -1 : recording.getSquare(position);
+
+        if (Math.abs(position - this.position) > MAX_MARKED_MOVES) {
+            markChanged(0, 0);
+            markChanged(boardSize - 1, boardSize - 1);
+        } else if (position != this.position) {
+            int[] changed = new int[Math.abs(position - this.position)];
+
+            recording.getSquares(Math.min(position, this.position) + 1, changed);
+            for (int changedSquare : changed) {
+                markChanged(changedSquare / boardSize, changedSquare % boardSize);
+            }
+        }
+        this.position = position;
+        markChanged(knightRow, knightCol);
+        knightRow = square < 0 ? -1 : square / boardSize;
+        knightCol = square < 0 ? -1 : square % boardSize;
+        markChanged(knightRow, knightCol);
+    }
+
+    // ****************************************************
+    // Method: getPosition
+    //
+    // Purpose: Returns the number of moves shown.
+    // ****************************************************
+    public int getPosition() {
+        return position;
+    }
+
+    // ****************************************************
+    // Method: setBlocked
+    //
+    // Purpose: Records the square as blocked or open and
+    // marks it changed.
+    // ****************************************************
+    public void setBlocked(int row, int col, boolean isBlocked) {
+        recording.setBlocked(row, col, isBlocked);
+        markChanged(row, col);
+    }
+
+    // ****************************************************
+    // Method: setLabels
+    //
+    // Purpose: Shows the numbers of the grid on every
+    // square instead of the move numbers, for
+    // example the accessibility. Passing null
+    // shows the move numbers again.
+    // ****************************************************
+    public void setLabels(MoveGrid labels) {
+        this.labels = labels;
+        repaint();
+    }
+
+    // ****************************************************
+    // Method: repaintChanged
+    //
+    // Purpose: Asks Swing to repaint the squares changed
+    // since the last call, as one region.
+    // ****************************************************
+    public void repaintChanged() {
+        // Summarized squares may be drawn larger as the knight's marker
+        int margin = cellSize < KNIGHT_MARKER ? KNIGHT_MARKER : 0, x0, y0;
+
+        if (firstChangedRow > lastChangedRow) {
+            return;
+        }
+        x0 = (int) Math.floor(firstChangedCol * cellSize - viewX);
+        y0 = (int) Math.floor(firstChangedRow * cellSize - viewY);
+        repaint(x0 - margin, y0 - margin,
+                (int) Math.ceil((lastChangedCol + 1) * cellSize - viewX) - x0 + 1 + 2 * margin,
+                (int) Math.ceil((lastChangedRow + 1) * cellSize - viewY) - y0 + 1 + 2 * margin);
+        clearChanged();
+    }
+
+    // ****************************************************
+    // Method: markChanged
+    //
+    // Purpose: Adds the square to the region repainted by
+    // the next repaintChanged. Squares off the
+    // board are ignored.
+    // ****************************************************
+    private void markChanged(int row, int col) {
+        if (row < 0 || col < 0 || row >= boardSize || col >= boardSize) {
+            return;
+        }
+        firstChangedRow = Math.min(firstChangedRow, row);
+        lastChangedRow = Math.max(lastChangedRow, row);
+        firstChangedCol = Math.min(firstChangedCol, col);
+        lastChangedCol = Math.max(lastChangedCol, col);
+    }
+
+    // ****************************************************
+    // Method: clearChanged
+    //
+    // Purpose: Empties the region of changed squares.
+    // ****************************************************
+    private void clearChanged() {
+        firstChangedRow = Integer.MAX_VALUE;
+        firstChangedCol = Integer.MAX_VALUE;
+        lastChangedRow = -1;
+        lastChangedCol = -1;
+    }
+
+    // ****************************************************
+    // Method: isSquareVisited
+    //
+    // Purpose: Returns true if the square is blocked or
+    // visited by one of the moves shown.
+    // ****************************************************
+    private boolean isSquareVisited(int row, int col) {
+        return recording.isVisited(row, col, position);
+    }
+
+    // ****************************************************
+    // Method: zoomToFit
+    //
+    // Purpose: Zooms and pans so the whole board fits in
+    // the canvas.
+    // ****************************************************
+    public void zoomToFit() {
+        setView(getFitCellSize(), 0, 0);
+        isFitted = true;
+        repaint();
+    }
+
+    // ****************************************************
+    // Method: zoom
+    //
+    // Purpose: Multiplies the zoom by the factor, keeping
+    // the board point under the pixel in place.
+    // ****************************************************
+    public void zoom(double factor, int x, int y) {
+        double newCellSize = Math.max(getFitCellSize(),
+                Math.min(Math.max(MAX_CELL, getFitCellSize()), cellSize * factor)),
+                scale = newCellSize / cellSize;
+
+        setView(newCellSize, (viewX + x) * scale - x, (viewY + y) * scale - y);
+        isFitted = false;
+        repaint();
+    }
+
+    // ****************************************************
+    // Method: pan
+    //
+    // Purpose: Moves the view by the number of pixels.
+    // ****************************************************
+    public void pan(int dx, int dy) {
+        setView(cellSize, viewX - dx, viewY - dy);
+        isFitted = false;
+        repaint();
+    }
+
+    // ****************************************************
+    // Method: getRowAt
+    //
+    // Purpose: Returns the row of the square under the
+    // pixel, or -1 if it is off the board.
+    // ****************************************************
+    public int getRowAt(int y) {
+        return toSquare(y + viewY);
+    }
+
+    // ****************************************************
+    // Method: getColAt
+    //
+    // Purpose: Returns the column of the square under the
+    // pixel, or -1 if it is off the board.
+    // ****************************************************
+    public int getColAt(int x) {
+        return toSquare(x + viewX);
+    }
+
+    // ****************************************************
+    // Method: toSquare
+    //
+    // Purpose: Converts a board pixel coordinate to a row
+    // or column, or -1 if it is off the board.
+    // ****************************************************
+    private int toSquare(double boardPixel) {
+        int square;
+
+        if (boardSize == 0 || boardPixel < 0) {
+            return -1;
+        }
+        square = (int) (boardPixel / cellSize);
+
+        return square < boardSize ? square : -1;
+    }
+
+    // ****************************************************
+    // Method: getFitCellSize
+    //
+    // Purpose: Returns the size in pixels of one square
+    // when the whole board fits the canvas.
+    // ****************************************************
+    private double getFitCellSize() {
+        int pixels = Math.min(getWidth(), getHeight());
+
+        return pixels <= 0 || boardSize == 0 ? 1 : (double) pixels / boardSize;
+    }
+
+    // ****************************************************
+    // Method: setView
+    //
+    // Purpose: Sets the zoom and the top left board pixel
+    // of the view, keeping as much of the board
+    // in view as fits.
+    // ****************************************************
+    private void setView(double cellSize, double viewX, double viewY) {
+        double boardPixels = boardSize * cellSize;
+
+        this.cellSize = cellSize;
+        this.viewX = clampView(viewX, boardPixels, getWidth());
+        this.viewY = clampView(viewY, boardPixels, getHeight());
+    }
+
+    // ****************************************************
+    // Method: clampView
+    //
+    // Purpose: Returns the view offset on one axis moved
+    // so the board covers the canvas, or is
+    // centered when it is smaller than the canvas.
+    // ****************************************************
+    private static double clampView(double view, double boardPixels, int canvasPixels) {
+        if (boardPixels <= canvasPixels) {
+            return (boardPixels - canvasPixels) / 2;
+        }
+
+        return Math.max(0, Math.min(boardPixels - canvasPixels, view));
+    }
+
+    // ****************************************************
+    // Method: paintComponent
+    //
+    // Purpose: Paints the part of the board inside the
+    // clip, square by square when zoomed in and
+    // summarized per pixel when zoomed out.
+    // ****************************************************
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Rectangle clip = graphics.getClipBounds();
+
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        graphics.setColor(getBackground());
+        graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (boardSize == 0 || clip.isEmpty()) {
+            return;
+        }
+
+        if (cellSize >= MIN_SQUARE_CELL) {
+            paintSquares(graphics, clip);
+        } else {
+            paintSummary(graphics, clip);
+        }
+    }
+
+    // ****************************************************
+    // Method: paintSquares
+    //
+    // Purpose: Paints every square inside the clip, with
+    // its label when it is large enough.
+    // ****************************************************
+    private void paintSquares(Graphics graphics, Rectangle clip) {
+        int gap = cellSize > 4 * GAP ? GAP : 0,
+                firstRow = Math.max(0, (int) Math.floor((clip.y + viewY) / cellSize)),
+                lastRow = Math.min(boardSize - 1, (int) Math.floor((clip.y + clip.height - 1 + viewY) / cellSize)),
+                firstCol = Math.max(0, (int) Math.floor((clip.x + viewX) / cellSize)),
+                lastCol = Math.min(boardSize - 1, (int) Math.floor((clip.x + clip.width - 1 + viewX) / cellSize));
+        FontMetrics metrics;
+
+        graphics.setFont(getFont().deriveFont(Font.PLAIN, (float) Math.max(8, cellSize / 3)));
+        metrics = graphics.getFontMetrics();
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = (int) Math.floor(row * cellSize - viewY),
+                    height = (int) Math.floor((row + 1) * cellSize - viewY) - y - gap;
+
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = (int) Math.floor(col * cellSize - viewX),
+                        width = (int) Math.floor((col + 1) * cellSize - viewX) - x - gap,
+                        moveNumber;
+                String label;
+
+                graphics.setColor(getSquareColor(row, col));
+                graphics.fillRect(x, y, width, height);
+
+                if (cellSize < MIN_TEXT_CELL) {
+                    continue;
+                }
+                moveNumber = recording.getMoveNumber(row, col);
+                if (labels != null) {
+                    label = Integer.toString(labels.getMoveNumber(row, col));
+                } else if (moveNumber > 0 && moveNumber <= position) {
+                    label = Integer.toString(moveNumber);
+                } else {
+                    continue;
+                }
+                graphics.setColor(Color.white);
+                graphics.drawString(label, x + (width - metrics.stringWidth(label)) / 2,
+                        y + (height + metrics.getAscent() - metrics.getDescent()) / 2);
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: paintSummary
+    //
+    // Purpose: Paints the clip one pixel at a time. Each
+    // pixel is colored by the share of visited
+    // squares under it, so painting reads every
+    // square in the clip once.
+    // ****************************************************
+    private void paintSummary(Graphics graphics, Rectangle clip) {
+        int knightX, knightY,
+                background = getBackground().getRGB(),
+                unvisited = blend(LIGHT_COLOR.getRGB(), DARK_COLOR.getRGB(), 0.5);
+        int[] pixels, firstCols = new int[clip.width], endCols = new int[clip.width];
+
+        if (summaryImage == null || summaryImage.getWidth() < clip.width
+                || summaryImage.getHeight() < clip.height) {
+            summaryImage = new BufferedImage(Math.max(clip.width, getWidth()),
+                    Math.max(clip.height, getHeight()), BufferedImage.TYPE_INT_RGB);
+        }
+        pixels = ((DataBufferInt) summaryImage.getRaster().getDataBuffer()).getData();
+
+        // Every pixel row covers the same columns, so they are found once
+        for (int px = 0; px < clip.width; px++) {
+            firstCols[px] = (int) Math.floor((clip.x + px + viewX) / cellSize);
+            endCols[px] = Math.min(boardSize, Math.max(firstCols[px] + 1,
+                    (int) Math.floor((clip.x + px + 1 + viewX) / cellSize)));
+        }
+
+        for (int py = 0; py < clip.height; py++) {
+            int firstRow = (int) Math.floor((clip.y + py + viewY) / cellSize),
+                    endRow = Math.min(boardSize, Math.max(firstRow + 1,
+                            (int) Math.floor((clip.y + py + 1 + viewY) / cellSize))),
+                    offset = py * summaryImage.getWidth();
+
+            for (int px = 0; px < clip.width; px++) {
+                int firstCol = firstCols[px], endCol = endCols[px], visited = 0, squares = 0;
+
+                if (firstRow < 0 || firstCol < 0 || firstRow >= boardSize || firstCol >= boardSize) {
+                    pixels[offset + px] = background;
+                    continue;
+                }
+                for (int row = firstRow; row < endRow; row++) {
+                    visited += recording.countVisited(row, firstCol, endCol, position);
+                    squares += endCol - firstCol;
+                }
+                pixels[offset + px] = blend(unvisited, VISITED_COLOR.getRGB(), (double) visited / squares);
+            }
+        }
+        graphics.drawImage(summaryImage, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                0, 0, clip.width, clip.height, null);
+
+        // The knight stays visible however far the view is zoomed out
+        if (knightRow >= 0) {
+            knightX = (int) Math.floor((knightCol + 0.5) * cellSize - viewX) - KNIGHT_MARKER / 2;
+            knightY = (int) Math.floor((knightRow + 0.5) * cellSize - viewY) - KNIGHT_MARKER / 2;
+            graphics.setColor(KNIGHT_COLOR);
+            graphics.fillRect(knightX, knightY, KNIGHT_MARKER, KNIGHT_MARKER);
+        }
+    }
+
+    // ****************************************************
+    // Method: blend
+    //
+    // Purpose: Returns the RGB color the share of the way
+    // from the first RGB color to the second.
+    // ****************************************************
+    private static int blend(int from, int to, double share) {
+        int rgb = 0;
+
+        for (int shift = 0; shift < 24; shift += 8) {
+            int fromChannel = from >> shift & 0xff, toChannel = to >> shift & 0xff;
+
+            rgb |= (int) Math.round(fromChannel + (toChannel - fromChannel) * share) << shift;
+        }
+
+        return rgb;
+    }
+
+    // ****************************************************
+    // Method: getSquareColor
+    //
+    // Purpose: Returns the color of the square: red under
+    // the knight, green once visited or blocked,
+    // and alternating pink and magenta otherwise.
+    // ****************************************************
+    private Color getSquareColor(int row, int col) {
+        if (row == knightRow && col == knightCol) {
+            return KNIGHT_COLOR;
+        }
+        if (isSquareVisited(row, col)) {
+            return VISITED_COLOR;
+        }
+
+        return (row + col) % 2 == 0 ? LIGHT_COLOR : DARK_COLOR;
+    }
+
+    // ****************************************************
+    // Class: ViewHandler
+    //
+    // Purpose: Zooms the view with the mouse wheel and
+    // pans it while the mouse is dragged.
+    // ****************************************************
+    private class ViewHandler extends MouseAdapter {
+        @Override
+        public void mousePressed(MouseEvent event) {
+            dragX = event.getX();
+            dragY = event.getY();
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent event) {
+            pan(event.getX() - dragX, event.getY() - dragY);
+            dragX = event.getX();
+            dragY = event.getY();
+        }
+
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent event) {
+            zoom(Math.pow(ZOOM_STEP, -event.getPreciseWheelRotation()), event.getX(), event.getY());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package knightstour;
+
+// Lets one thread ask a search running on another to stop. The search polls
+// the token between checks of its budget.
+public class CancellationToken {
+    private volatile boolean isCancelled; // Set once the job should stop
+
+    // ****************************************************
+    // Method: cancel
+    //
+    // Purpose: Asks every search holding the token to
+    // stop. Safe to call from any thread.
+    // ****************************************************
+    public void cancel() {
+        isCancelled = true;
+    }
+
+    // ****************************************************
+    // Method: isCancelled
+    //
+    // Purpose: Returns true once cancel was called.
+    // ****************************************************
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+}
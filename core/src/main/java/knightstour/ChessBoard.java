@@ -0,0 +1,1125 @@
+package knightstour;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntUnaryOperator;
+
+public class ChessBoard {
+    public static final int BORDER = 2; // Width of the sentinel border around
+    // the board. A knight never jumps more than two squares, so every target
+    // square lands either on the board or inside the border.
+    private static final int NOT_SCORED = -1; // Lookahead score of a candidate
+    // not searched yet
+    private byte[] visited; // Visited flags, one per padded cell. Border cells
+    // are permanently marked as visited
+    private MoveGrid moveGrid; // Move number of every square
+    private byte[] accessibility; // Number of possible moves from every padded
+    // cell
+    private NeighborTable neighborTable; // Knight targets of every square,
+    // shared by all boards of the same size
+    private Knight currentKnight; // Reference to the knight currently on the
+    // board
+    private final int BOARD_SIZE; // Dimension of the board, e.g., 8 x 8
+    private final int STRIDE; // Length of a padded row, BOARD_SIZE + 2 * BORDER
+    private int visitedSquares; // Number of squares on the board that have
+    // been visited
+    private TieBreak tieBreak = TieBreak.LEGACY; // Rule choosing between moves
+    // with the same accessibility
+    private int[] moveRanks = {0, 1, 2, 3, 4, 5, 6, 7}; // Rank of every move
+    // number for TieBreak.MOVE_ORDER, lower ranks are preferred
+    private int lookaheadDepth = 3; // Moves looked ahead by TieBreak.LOOKAHEAD
+    private int[] degreeSums; // Sum of the accessibility of the unvisited
+    // targets of every padded cell. Only kept up to date for
+    // TieBreak.DEGREE_SUM, otherwise null
+    private final int[] candidateTargets = new int[Knight.NUM_ALLOWED_MOVES];
+    // Linear indexes of the candidate moves being compared
+    private final int[] candidateMoves = new int[Knight.NUM_ALLOWED_MOVES];
+    // Move numbers of the candidate moves being compared
+    private final int[] candidateLookaheads = new int[Knight.NUM_ALLOWED_MOVES];
+    // Lookahead score of every candidate, NOT_SCORED until a tie needs it
+
+    // ************************************************
+    // Method: ChessBoard(Knight)
+    //
+    // Purpose: Constructor
+    // ************************************************
+    public ChessBoard(Knight knight) {
+        this(knight, 8);
+    }
+
+    // ************************************************
+    // Method: ChessBoard(Knight)
+    //
+    // Purpose: Constructor
+    // ************************************************
+    public ChessBoard(Knight knight, int dimension) {
+        this(knight, new ArrayMoveGrid(dimension));
+    }
+
+    // ************************************************
+    // Method: ChessBoard(Knight, MoveGrid)
+    //
+    // Purpose: Constructor. Creates a board with the
+    // size of the move grid, which stores the
+    // move numbers, for example in a
+    // memory-mapped file.
+    // ************************************************
+    public ChessBoard(Knight knight, MoveGrid moveGrid) {
+        BOARD_SIZE = moveGrid.getBoardSize();
+        STRIDE = BOARD_SIZE + 2 * BORDER;
+        currentKnight = knight;
+        neighborTable = NeighborTable.forBoardSize(BOARD_SIZE);
+        this.moveGrid = moveGrid;
+        createSquares();
+        createHeuristics();
+    }
+
+    // ************************************************
+    // Method: createSquares()
+    //
+    // Purpose: Allocates the padded arrays that hold
+    // the state of every square and marks the
+    // sentinel border as visited.
+    // ************************************************
+    public void createSquares() {
+        int cells = STRIDE * STRIDE;
+
+        visited = new byte[cells];
+        accessibility = new byte[cells];
+
+        // Mark every cell visited, then clear the cells that are on the board
+        Arrays.fill(visited, (byte) 1);
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            int first = getIndex(row, 0);
+            Arrays.fill(visited, first, first + BOARD_SIZE, (byte) 0);
+        }
+    }
+
+    // ************************************************
+    // Method: addKnight()
+    //
+    // Purpose: Returns the number of rows on the board.
+    // ************************************************
+    public void addKnight(Knight knight) {
+        currentKnight = knight;
+    }
+
+    // ************************************************
+    // Method: getBoardSize()
+    //
+    // Purpose: Returns the number of rows on the board.
+    // ************************************************
+    public int getBoardSize() {
+        return BOARD_SIZE;
+    }
+
+    // ************************************************
+    // Method: getMoveGrid()
+    //
+    // Purpose: Returns the grid that stores the move
+    // number of every square.
+    // ************************************************
+    public MoveGrid getMoveGrid() {
+        return moveGrid;
+    }
+
+    // ************************************************
+    // Method: getNumVisitedSquares()
+    //
+    // Purpose: Returns the number of squares on the
+    // board that have been visited or blocked.
+    // ************************************************
+    public int getNumVisitedSquares() {
+        return visitedSquares;
+    }
+
+    // ************************************************
+    // Method: isFull()
+    //
+    // Purpose: Returns true if every square on the
+    // board has been visited or blocked.
+    // ************************************************
+    public boolean isFull() {
+        return visitedSquares == BOARD_SIZE * BOARD_SIZE;
+    }
+
+    // ************************************************
+    // Method: setTieBreak(TieBreak)
+    //
+    // Purpose: Sets the rule that chooses between
+    // moves with the same accessibility.
+    // ************************************************
+    public void setTieBreak(TieBreak tieBreak) {
+        this.tieBreak = tieBreak;
+        if (tieBreak == TieBreak.DEGREE_SUM) {
+            createDegreeSums();
+        } else {
+            degreeSums = null;
+        }
+    }
+
+    // ************************************************
+    // Method: getTieBreak()
+    //
+    // Purpose: Returns the rule that chooses between
+    // moves with the same accessibility.
+    // ************************************************
+    public TieBreak getTieBreak() {
+        return tieBreak;
+    }
+
+    // ************************************************
+    // Method: setMoveOrder(int[])
+    //
+    // Purpose: Sets the order in which TieBreak.MOVE_ORDER
+    // prefers the knight's move numbers. The
+    // parameter lists all eight move numbers,
+    // most preferred first.
+    // ************************************************
+    public void setMoveOrder(int[] moveOrder) {
+        int[] ranks = new int[Knight.NUM_ALLOWED_MOVES];
+
+        if (moveOrder.length != Knight.NUM_ALLOWED_MOVES) {
+            throw new IllegalArgumentException("Move order must list "
+                    + Knight.NUM_ALLOWED_MOVES + " moves");
+        }
+        Arrays.fill(ranks, -1);
+        for (int rank = 0; rank < moveOrder.length; rank++) {
+            if (moveOrder[rank] < 0 || moveOrder[rank] >= Knight.NUM_ALLOWED_MOVES
+                    || ranks[moveOrder[rank]] >= 0) {
+                throw new IllegalArgumentException("Invalid move order entry: "
+                        + moveOrder[rank]);
+            }
+            ranks[moveOrder[rank]] = rank;
+        }
+        moveRanks = ranks;
+    }
+
+    // ************************************************
+    // Method: getMoveOrder()
+    //
+    // Purpose: Returns the eight move numbers in the
+    // order TieBreak.MOVE_ORDER prefers them.
+    // ************************************************
+    public int[] getMoveOrder() {
+        int[] moveOrder = new int[Knight.NUM_ALLOWED_MOVES];
+
+        for (int moveNum = 0; moveNum < moveRanks.length; moveNum++) {
+            moveOrder[moveRanks[moveNum]] = moveNum;
+        }
+
+        return moveOrder;
+    }
+
+    // ************************************************
+    // Method: setLookaheadDepth(int)
+    //
+    // Purpose: Sets the number of moves looked ahead
+    // by TieBreak.LOOKAHEAD.
+    // ************************************************
+    public void setLookaheadDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Lookahead depth must be positive: " + depth);
+        }
+        lookaheadDepth = depth;
+    }
+
+    // ************************************************
+    // Method: getLookaheadDepth()
+    //
+    // Purpose: Returns the number of moves looked ahead
+    // by TieBreak.LOOKAHEAD.
+    // ************************************************
+    public int getLookaheadDepth() {
+        return lookaheadDepth;
+    }
+
+    // ************************************************
+    // Method: getIndex(int, int)
+    //
+    // Purpose: Returns the linear index of the padded
+    // cell at the row and column specified
+    // by the parameters. Rows and columns may
+    // lie up to BORDER squares off the board.
+    // ************************************************
+    public int getIndex(int row, int col) {
+        return (row + BORDER) * STRIDE + col + BORDER;
+    }
+
+    // ************************************************
+    // Method: getRowOf(int)
+    //
+    // Purpose: Returns the row of a linear index.
+    // ************************************************
+    public int getRowOf(int index) {
+        return index / STRIDE - BORDER;
+    }
+
+    // ************************************************
+    // Method: getColOf(int)
+    //
+    // Purpose: Returns the column of a linear index.
+    // ************************************************
+    public int getColOf(int index) {
+        return index % STRIDE - BORDER;
+    }
+
+    // ************************************************
+    // Method: getStride()
+    //
+    // Purpose: Returns the length of a padded row.
+    // ************************************************
+    public int getStride() {
+        return STRIDE;
+    }
+
+    // ************************************************
+    // Method: getNeighborTable()
+    //
+    // Purpose: Returns the table of knight targets
+    // for the size of this board.
+    // ************************************************
+    public NeighborTable getNeighborTable() {
+        return neighborTable;
+    }
+
+    // ************************************************
+    // Method: getSquareAt()
+    //
+    // Purpose: Returns a square object that views the
+    // state stored at a specified row and
+    // column
+    // ************************************************
+    public Square getSquareAt(int row, int col) {
+        return new Square(this, getIndex(row, col));
+    }
+
+    // ************************************************
+    // Method: setSquareVisited(int, int)
+    //
+    // Purpose: Sets the boolean value true on a square
+    // to indicate that it has been visited. The
+    // accessibility of its targets is left as
+    // it is; blockSquare also updates it.
+    // ************************************************
+    public void setSquareVisited(int row, int col) {
+        setVisitedAt(getIndex(row, col), true);
+    }
+
+    // ************************************************
+    // Method: blockSquare(int, int)
+    //
+    // Purpose: Blocks the square so the knight never
+    // visits it, and lowers the accessibility
+    // of its unvisited targets. Squares that
+    // are already visited are left as they are.
+    // ************************************************
+    public void blockSquare(int row, int col) {
+        int index = getIndex(row, col);
+
+        if (visited[index] != 0) {
+            return;
+        }
+        setVisitedAt(index, true);
+        if (degreeSums != null) {
+            lowerDegreeSums(index);
+        }
+        lowerAccessibilityAround(index);
+    }
+
+    // ************************************************
+    // Method: unblockSquare(int, int)
+    //
+    // Purpose: Opens a blocked square again. Its
+    // accessibility is counted from its
+    // unvisited targets, which each gain one
+    // unit of accessibility.
+    // ************************************************
+    public void unblockSquare(int row, int col) {
+        int index = getIndex(row, col);
+
+        if (visited[index] != 0) {
+            openSquare(index);
+        }
+    }
+
+    // ************************************************
+    // Method: unmarkBoardSquare(int, int)
+    //
+    // Purpose: Takes back markBoardSquare or
+    // visitAndFindBestMove on the square the
+    // tour visited last: clears its move
+    // number and visited status and gives its
+    // unvisited targets back their unit of
+    // accessibility, in O(8). Squares must be
+    // taken back in the reverse order of their
+    // visits.
+    // ************************************************
+    public void unmarkBoardSquare(int row, int col) {
+        int index = getIndex(row, col);
+
+        if (visited[index] == 0) {
+            throw new IllegalStateException("Square not visited: " + row + ", " + col);
+        }
+        openSquare(index);
+    }
+
+    // ************************************************
+    // Method: openSquare(int)
+    //
+    // Purpose: Marks the visited padded cell at the
+    // linear index unvisited again, raising the
+    // accessibility of its unvisited targets
+    // and counting its own from them.
+    // ************************************************
+    private void openSquare(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int changeIndex, count = 0;
+
+        setVisitedAt(index, false);
+        moveGrid.setMoveNumberAt(index, 0);
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+            if (visited[changeIndex] == 0) {
+                accessibility[changeIndex]++;
+                count++;
+            }
+        }
+        accessibility[index] = (byte) count;
+        if (degreeSums != null) {
+            raiseDegreeSums(index);
+        }
+    }
+
+    // ************************************************
+    // Method: blockSquares(BitSet)
+    //
+    // Purpose: Blocks every square of the set, given
+    // as row * size + col, in one pass. All the
+    // squares are marked first, so only targets
+    // left unvisited have their accessibility
+    // lowered.
+    // ************************************************
+    public void blockSquares(BitSet squares) {
+        BitSet newlyBlocked = new BitSet(squares.length()); // Squares that
+        // were unvisited before this call
+        int index;
+
+        if (squares.length() > BOARD_SIZE * BOARD_SIZE) {
+            throw new IllegalArgumentException("Square off the board: " + (squares.length() - 1));
+        }
+        for (int square = squares.nextSetBit(0); square >= 0; square = squares.nextSetBit(square + 1)) {
+            index = getIndex(square / BOARD_SIZE, square % BOARD_SIZE);
+            if (visited[index] == 0) {
+                setVisitedAt(index, true);
+                newlyBlocked.set(square);
+            }
+        }
+        for (int square = newlyBlocked.nextSetBit(0); square >= 0; square = newlyBlocked.nextSetBit(square + 1)) {
+            lowerAccessibilityAround(getIndex(square / BOARD_SIZE, square % BOARD_SIZE));
+        }
+        if (degreeSums != null) {
+            createDegreeSums();
+        }
+    }
+
+    // ************************************************
+    // Method: lowerAccessibilityAround(int)
+    //
+    // Purpose: Lowers the accessibility of the
+    // unvisited targets of the padded cell at
+    // the linear index by 1.
+    // ************************************************
+    private void lowerAccessibilityAround(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int changeIndex;
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[changeIndex] == 0) {
+                accessibility[changeIndex]--;
+            }
+        }
+    }
+
+    // ************************************************
+    // Method: isSquareVisited(int, int)
+    //
+    // Purpose: Returns true if the square specified
+    // by the parameters has been visited.
+    // ************************************************
+    public boolean isSquareVisited(int row, int col) {
+        return visited[getIndex(row, col)] != 0;
+    }
+
+    // ************************************************
+    // Method: setSquareAccessibility(int, int, int)
+    //
+    // Purpose: Sets the accessibility level of
+    // a square located at iRow and iCol
+    // ************************************************
+    public void setSquareAccessibility(int row, int col, int accessibility) {
+        this.accessibility[getIndex(row, col)] = (byte) accessibility;
+    }
+
+    // ************************************************
+    // Method: getSquareAccessibility(int, int)
+    //
+    // Purpose: Returns the accessibility level of
+    // a square located at the row and column
+    // specified by the parameters
+    // ************************************************
+    public int getSquareAccessibility(int row, int col) {
+        return accessibility[getIndex(row, col)];
+    }
+
+    // ************************************************
+    // Method: decrSquareAccessibility(int, int)
+    //
+    // Purpose: Decreases the accessibility of the
+    // square by 1 at the row and column
+    // specified by the parameters.
+    // ************************************************
+    public void decrSquareAccessibility(int row, int col) {
+        accessibility[getIndex(row, col)]--;
+    }
+
+    // ************************************************
+    // Method: setSquareMoveNumber(int, int, int)
+    //
+    // Purpose: Sets a square to the knight's current
+    // move counter value at the location
+    // specified by the parameters.
+    // ************************************************
+    public void setSquareMoveNumber(int row, int col, int moveCounter) {
+        moveGrid.setMoveNumber(row, col, moveCounter);
+    }
+
+    // ************************************************
+    // Method: getSquareMoveNumber(int, int)
+    //
+    // Purpose: Returns the move counter value at the
+    // location specified by the parameters.
+    // ************************************************
+    public int getSquareMoveNumber(int row, int col) {
+        return moveGrid.getMoveNumber(row, col);
+    }
+
+    // ************************************************
+    // Method: getVisitedCells()
+    //
+    // Purpose: Returns the visited flags of every
+    // padded cell, border cells set, as
+    // PruningRule.start expects them. Later
+    // changes to the board show through.
+    // ************************************************
+    byte[] getVisitedCells() {
+        return visited;
+    }
+
+    // ************************************************
+    // Method: isVisitedAt(int)
+    //
+    // Purpose: Returns true if the padded cell at the
+    // linear index has been visited. Border
+    // cells always read as visited.
+    // ************************************************
+    boolean isVisitedAt(int index) {
+        return visited[index] != 0;
+    }
+
+    // ************************************************
+    // Method: setVisitedAt(int, boolean)
+    //
+    // Purpose: Sets the visited flag of the padded
+    // cell at the linear index.
+    // ************************************************
+    void setVisitedAt(int index, boolean isVisited) {
+        visitedSquares += (isVisited ? 1 : 0) - visited[index];
+        visited[index] = (byte) (isVisited ? 1 : 0);
+    }
+
+    // ************************************************
+    // Method: getAccessibilityAt(int)
+    //
+    // Purpose: Returns the accessibility of the padded
+    // cell at the linear index.
+    // ************************************************
+    int getAccessibilityAt(int index) {
+        return accessibility[index];
+    }
+
+    // ************************************************
+    // Method: setAccessibilityAt(int, int)
+    //
+    // Purpose: Sets the accessibility of the padded
+    // cell at the linear index.
+    // ************************************************
+    void setAccessibilityAt(int index, int accessibility) {
+        this.accessibility[index] = (byte) accessibility;
+    }
+
+    // ************************************************
+    // Method: decrAccessibilityAt(int)
+    //
+    // Purpose: Decreases the accessibility of the
+    // padded cell at the linear index by 1.
+    // ************************************************
+    void decrAccessibilityAt(int index) {
+        accessibility[index]--;
+    }
+
+    // ************************************************
+    // Method: getMoveNumberAt(int)
+    //
+    // Purpose: Returns the move number of the padded
+    // cell at the linear index.
+    // ************************************************
+    int getMoveNumberAt(int index) {
+        return moveGrid.getMoveNumberAt(index);
+    }
+
+    // ************************************************
+    // Method: setMoveNumberAt(int, int)
+    //
+    // Purpose: Sets the move number of the padded cell
+    // at the linear index.
+    // ************************************************
+    void setMoveNumberAt(int index, int moveNumber) {
+        moveGrid.setMoveNumberAt(index, moveNumber);
+    }
+
+    // ************************************************
+    // Method: markBoardSquare(int, int, int)
+    //
+    // Purpose: Marks the board square located at the
+    // row and column supplied by the parameters
+    // with the number of the knight's
+    // move counter variable, and sets the
+    // visited status to true.
+    // ************************************************
+    public void markBoardSquare(int curRow, int curCol, int moveCounter) {
+        int index = getIndex(curRow, curCol);
+
+        setVisitedAt(index, true);
+        moveGrid.setMoveNumberAt(index, moveCounter);
+    }
+
+    // ************************************************
+    // Method: showGameBoard()
+    //
+    // Purpose: Prints the game board after all
+    // possible moves have been exhausted.
+    // ************************************************
+    public void showGameBoard() {
+        PrintWriter out = createConsoleWriter();
+
+        writeGameBoard(out);
+        out.flush();
+    }
+
+    // ************************************************
+    // Method: writeGameBoard(PrintWriter)
+    //
+    // Purpose: Writes the move number of every square
+    // to the writer, one row per line.
+    // ************************************************
+    public void writeGameBoard(PrintWriter out) {
+        writeGrid(out, moveGrid::getMoveNumberAt);
+    }
+
+    // ************************************************
+    // Method: showHeuristics()
+    //
+    // Purpose: Prints the accessibility heuristics
+    // ************************************************
+    public void showHeuristics() {
+        PrintWriter out = createConsoleWriter();
+
+        writeGrid(out, index -> accessibility[index]);
+        out.flush();
+    }
+
+    // ************************************************
+    // Method: createConsoleWriter()
+    //
+    // Purpose: Returns a writer that buffers output to
+    // the console, so a board is written in a
+    // few large blocks instead of one call per
+    // square. The caller must flush it.
+    // ************************************************
+    static PrintWriter createConsoleWriter() {
+        return new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                System.out), 1 << 16));
+    }
+
+    // ************************************************
+    // Method: writeGrid(PrintWriter, IntUnaryOperator)
+    //
+    // Purpose: Writes the value of every square on the
+    // board right-aligned in three columns,
+    // one row per line.
+    // ************************************************
+    private void writeGrid(PrintWriter out, IntUnaryOperator values) {
+        StringBuilder builder = new StringBuilder(BOARD_SIZE * 3);
+
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            int index = getIndex(row, 0);
+
+            builder.setLength(0);
+            for (int col = 0; col < BOARD_SIZE; col++, index++) {
+                String value = Integer.toString(values.applyAsInt(index));
+
+                for (int pad = value.length(); pad < 3; pad++) {
+                    builder.append(' ');
+                }
+                builder.append(value);
+            }
+            out.println(builder);
+        }
+    }
+
+    // ************************************************
+    // Method: createHeuristics(Knight)
+    //
+    // Purpose: Records the number of possible moves
+    // from every square on the game board in
+    // the accessibility array.
+    // ************************************************
+    private void createHeuristics() {
+        int index; // Linear index of the square being scored
+
+        // Nothing has been visited yet, so the number of linking squares is
+        // the number of targets the neighbor table holds for the square
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            index = getIndex(row, 0);
+            for (int col = 0; col < BOARD_SIZE; col++, index++) {
+                accessibility[index] = (byte) neighborTable.getDegree(index);
+            }
+        }
+    }
+
+    // ************************************************
+    // Method: getMoveOffset(int)
+    //
+    // Purpose: Returns the difference between the
+    // linear indexes of a square and the
+    // square reached from it with the move
+    // number supplied by the parameter.
+    // ************************************************
+    public int getMoveOffset(int moveNumber) {
+        return currentKnight.getVerticalMoveValue(moveNumber) * STRIDE
+                + currentKnight.getHorizontalMoveValue(moveNumber);
+    }
+
+    // ************************************************
+    // Method: checkSquareExistsAndIsUnVisted(int, int)
+    //
+    // Purpose: Uses a row, column and current instance
+    // of the chess board to determine if the
+    // row and column are within the bounds
+    // of the chess board and has not been
+    // visited. Returns true, if the space is
+    // valid, otherwise returns false.
+    // ************************************************
+    public boolean checkSquareExistsAndIsUnVisted(int testRow, int testCol) {
+        return testRow >= 0 && testRow < BOARD_SIZE && testCol >= 0 && testCol < BOARD_SIZE
+                && visited[getIndex(testRow, testCol)] == 0;
+    }
+
+    // ************************************************
+    // Method: lowerAccessibility(Knight)
+    //
+    // Purpose: Checks all the squares that are
+    // accessible from the current square
+    // and reduces their accessibility by 1.
+    // ************************************************
+    public void lowerAccessibility() {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int curIndex = getIndex(currentKnight.getCurrentRow(),
+                currentKnight.getCurrentCol()), changeIndex;
+
+        for (int mask = moveMasks[curIndex] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = curIndex + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+            if (visited[changeIndex] == 0) {
+                accessibility[changeIndex]--;
+            }
+        }
+    }
+
+    // ************************************************
+    // Method: visitAndFindBestMove(int, int, int)
+    //
+    // Purpose: Performs one step of the tour in a
+    // single pass over the targets of the
+    // square at the row and column supplied by
+    // the parameters. Marks the square with the
+    // move counter, lowers the accessibility of
+    // its unvisited targets and returns the
+    // move number of the target with the lowest
+    // accessibility, using the same tie rules
+    // as Knight.findBestMove. Returns -1 if
+    // every target has been visited.
+    // ************************************************
+    public int visitAndFindBestMove(int curRow, int curCol, int moveCounter) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int curIndex = getIndex(curRow, curCol), changeIndex, moveNum,
+                testAccessibility, lowestAccessibility = 0, bestMove = -1;
+
+        if (tieBreak != TieBreak.LEGACY) {
+            return visitAndSelectMove(curIndex, moveCounter);
+        }
+
+        visitedSquares += 1 - visited[curIndex];
+        visited[curIndex] = 1;
+        moveGrid.setMoveNumberAt(curIndex, moveCounter);
+
+        for (int mask = moveMasks[curIndex] & 0xFF; mask != 0; mask &= mask - 1) {
+            moveNum = Integer.numberOfTrailingZeros(mask);
+            changeIndex = curIndex + moveOffsets[moveNum];
+
+            if (visited[changeIndex] == 0) {
+                testAccessibility = --accessibility[changeIndex];
+
+                if (bestMove < 0 || testAccessibility < lowestAccessibility
+                        || lowestAccessibility < 1) {
+                    lowestAccessibility = testAccessibility;
+                    bestMove = moveNum;
+                }
+            }
+        }
+
+        return bestMove;
+    }
+
+    // ************************************************
+    // Method: visitAndSelectMove(int, int)
+    //
+    // Purpose: Performs one step of the tour like
+    // visitAndFindBestMove, choosing between
+    // moves with the same accessibility with
+    // the board's tie break rule.
+    // ************************************************
+    private int visitAndSelectMove(int curIndex, int moveCounter) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int changeIndex, moveNum, count = 0;
+
+        visitedSquares += 1 - visited[curIndex];
+        visited[curIndex] = 1;
+        moveGrid.setMoveNumberAt(curIndex, moveCounter);
+
+        if (degreeSums != null) {
+            lowerDegreeSums(curIndex);
+        }
+
+        for (int mask = moveMasks[curIndex] & 0xFF; mask != 0; mask &= mask - 1) {
+            moveNum = Integer.numberOfTrailingZeros(mask);
+            changeIndex = curIndex + moveOffsets[moveNum];
+
+            if (visited[changeIndex] == 0) {
+                accessibility[changeIndex]--;
+                candidateTargets[count] = changeIndex;
+                candidateMoves[count] = moveNum;
+                count++;
+            }
+        }
+
+        return selectCandidate(count);
+    }
+
+    // ************************************************
+    // Method: selectBestMove(int, int[])
+    //
+    // Purpose: Returns the move number of the best of
+    // the possible moves from the square at the
+    // linear index, using the board's tie
+    // break rule.
+    // ************************************************
+    public int selectBestMove(int curIndex, int[] possibleMoves) {
+        return selectBestMove(curIndex, possibleMoves, possibleMoves.length);
+    }
+
+    // ************************************************
+    // Method: selectBestMove(int, int[], int)
+    //
+    // Purpose: Returns the move number of the best of
+    // the first count possible moves, so callers
+    // can reuse one array for every square.
+    // ************************************************
+    public int selectBestMove(int curIndex, int[] possibleMoves, int count) {
+        for (int moveNum = 0; moveNum < count; moveNum++) {
+            candidateTargets[moveNum] = curIndex + getMoveOffset(possibleMoves[moveNum]);
+            candidateMoves[moveNum] = possibleMoves[moveNum];
+        }
+
+        return selectCandidate(count);
+    }
+
+    // ************************************************
+    // Method: selectCandidate(int)
+    //
+    // Purpose: Returns the move number of the best of
+    // the first count candidates, or -1 if
+    // there are none. Candidates with lower
+    // accessibility win; ties go to the tie
+    // break rule, then to the earliest
+    // candidate.
+    // ************************************************
+    private int selectCandidate(int count) {
+        int best = -1, bestScore = 0, testScore;
+
+        for (int candidate = 0; candidate < count; candidate++) {
+            testScore = getMoveScore(candidateTargets[candidate]);
+            candidateLookaheads[candidate] = NOT_SCORED;
+
+            if (best < 0 || testScore < bestScore || (testScore == bestScore
+                    && compareTies(candidate, best) < 0)) {
+                best = candidate;
+                bestScore = testScore;
+            }
+        }
+
+        return best < 0 ? -1 : candidateMoves[best];
+    }
+
+    // ************************************************
+    // Method: getMoveScore(int)
+    //
+    // Purpose: Returns the accessibility of the square
+    // at the linear index, ranking a square
+    // with no onward move after all others
+    // unless it is the last unvisited square.
+    // ************************************************
+    private int getMoveScore(int index) {
+        int score = accessibility[index];
+
+        if (score == 0 && visitedSquares < BOARD_SIZE * BOARD_SIZE - 1) {
+            score = Knight.NUM_ALLOWED_MOVES + 1;
+        }
+
+        return score;
+    }
+
+    // ************************************************
+    // Method: compareTies(int, int)
+    //
+    // Purpose: Compares two candidates with the same
+    // accessibility using the tie break rule.
+    // Returns a negative value if the first
+    // candidate is preferred.
+    // ************************************************
+    private int compareTies(int first, int second) {
+        int firstIndex = candidateTargets[first],
+                secondIndex = candidateTargets[second], result;
+
+        switch (tieBreak) {
+            case MOVE_ORDER:
+                return moveRanks[candidateMoves[first]] - moveRanks[candidateMoves[second]];
+            case DEGREE_SUM:
+                result = degreeSums[firstIndex] - degreeSums[secondIndex];
+                break;
+            case LOOKAHEAD:
+                result = Integer.compare(getLookahead(first), getLookahead(second));
+                break;
+            case CENTRE_DISTANCE:
+                result = 0;
+                break;
+            default:
+                return 0;
+        }
+
+        // Remaining ties go to the candidate farthest from the centre
+        return result != 0 ? result
+                : getCentreDistance(secondIndex) - getCentreDistance(firstIndex);
+    }
+
+    // ************************************************
+    // Method: getCentreDistance(int)
+    //
+    // Purpose: Returns four times the squared distance
+    // between the square at the linear index
+    // and the centre of the board.
+    // ************************************************
+    private int getCentreDistance(int index) {
+        int rowDistance = 2 * getRowOf(index) - (BOARD_SIZE - 1),
+                colDistance = 2 * getColOf(index) - (BOARD_SIZE - 1);
+
+        return rowDistance * rowDistance + colDistance * colDistance;
+    }
+
+    // ************************************************
+    // Method: getLookahead(int)
+    //
+    // Purpose: Returns the lookahead score of the
+    // candidate, searching only the first time
+    // a tie asks for it in this step.
+    // ************************************************
+    private int getLookahead(int candidate) {
+        if (candidateLookaheads[candidate] == NOT_SCORED) {
+            candidateLookaheads[candidate] = lookahead(candidateTargets[candidate],
+                    lookaheadDepth, 1);
+        }
+
+        return candidateLookaheads[candidate];
+    }
+
+    // ************************************************
+    // Method: lookahead(int, int, int)
+    //
+    // Purpose: Returns the lowest accessibility the
+    // knight can reach depth - 1 moves after
+    // moving to the unvisited square at the
+    // linear index. The squares on the way are
+    // visited temporarily and restored before
+    // returning. Paths that get stuck before
+    // the board is full score worst.
+    // ************************************************
+    private int lookahead(int index, int depth, int pathLength) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int lowest = Integer.MAX_VALUE, changeIndex;
+
+        if (depth <= 1) {
+            return accessibility[index];
+        }
+        if (visitedSquares + pathLength == BOARD_SIZE * BOARD_SIZE) {
+            return 0;
+        }
+        if (depth == 2) {
+            // Visiting the square takes exactly one move from each of its
+            // targets, so the last ply needs no temporary visit
+            for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+                changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+                if (visited[changeIndex] == 0) {
+                    lowest = Math.min(lowest, accessibility[changeIndex] - 1);
+                }
+            }
+            return lowest;
+        }
+
+        visited[index] = 1;
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[changeIndex] == 0) {
+                accessibility[changeIndex]--;
+            }
+        }
+
+        // No square scores below 0, so the search can stop at the first 0
+        for (int mask = moveMasks[index] & 0xFF; mask != 0 && lowest > 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[changeIndex] == 0) {
+                lowest = Math.min(lowest, lookahead(changeIndex, depth - 1,
+                        pathLength + 1));
+            }
+        }
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[changeIndex] == 0) {
+                accessibility[changeIndex]++;
+            }
+        }
+        visited[index] = 0;
+
+        return lowest;
+    }
+
+    // ************************************************
+    // Method: createDegreeSums()
+    //
+    // Purpose: Computes the sum of the accessibility
+    // of the unvisited targets of every square.
+    // ************************************************
+    private void createDegreeSums() {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int sum, changeIndex;
+
+        degreeSums = new int[visited.length];
+        for (int index = 0; index < visited.length; index++) {
+            sum = 0;
+            for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+                changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+                if (visited[changeIndex] == 0) {
+                    sum += accessibility[changeIndex];
+                }
+            }
+            degreeSums[index] = sum;
+        }
+    }
+
+    // ************************************************
+    // Method: lowerDegreeSums(int)
+    //
+    // Purpose: Updates the degree sums for the square
+    // at the linear index becoming visited,
+    // before the accessibility of its targets
+    // is lowered. The square leaves the sums of
+    // its unvisited targets, and every target
+    // losing one unit of accessibility lowers
+    // the sums of its own unvisited targets.
+    // ************************************************
+    private void lowerDegreeSums(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int changeIndex, nextIndex;
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[changeIndex] != 0) {
+                continue;
+            }
+
+            degreeSums[changeIndex] -= accessibility[index];
+            for (int nextMask = moveMasks[changeIndex] & 0xFF; nextMask != 0; nextMask &= nextMask - 1) {
+                nextIndex = changeIndex + moveOffsets[Integer.numberOfTrailingZeros(nextMask)];
+                if (visited[nextIndex] == 0) {
+                    degreeSums[nextIndex]--;
+                }
+            }
+        }
+    }
+
+    // ************************************************
+    // Method: raiseDegreeSums(int)
+    //
+    // Purpose: Updates the degree sums for the square
+    // at the linear index becoming unvisited,
+    // after the accessibility of its targets
+    // is raised. This undoes lowerDegreeSums.
+    // ************************************************
+    private void raiseDegreeSums(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int changeIndex, nextIndex, sum = 0;
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            changeIndex = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[changeIndex] != 0) {
+                continue;
+            }
+
+            sum += accessibility[changeIndex];
+            degreeSums[changeIndex] += accessibility[index];
+            for (int nextMask = moveMasks[changeIndex] & 0xFF; nextMask != 0; nextMask &= nextMask - 1) {
+                nextIndex = changeIndex + moveOffsets[Integer.numberOfTrailingZeros(nextMask)];
+                if (visited[nextIndex] == 0 && nextIndex != index) {
+                    degreeSums[nextIndex]++;
+                }
+            }
+        }
+        degreeSums[index] = sum;
+    }
+}
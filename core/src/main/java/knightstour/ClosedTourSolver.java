@@ -0,0 +1,378 @@
+package knightstour;
+
+import java.util.Arrays;
+
+// Finds a closed knight's tour on an even board of at least 6 x 6. Each
+// attempt searches depth first, without recursion and in Warnsdorff order, for
+// a path from an anchor square to a target of it that is reserved as the last
+// square. A node budget per attempt that grows with the board limits the
+// search, and the attempts vary the anchor, the last square and the order of
+// tied moves.
+public class ClosedTourSolver {
+    public static final long DEFAULT_NODE_BUDGET = 100000; // Fewest search
+    // nodes per attempt before giving up on it
+    public static final long NODES_PER_SQUARE = 4; // Search nodes per attempt
+    // for every square. A tour visits every square once, so a budget that
+    // did not grow with the board could never finish a large one
+    private static final int ATTEMPTS = 16; // Attempts, each with another
+    // anchor, end square or move order, before the solver reports failure
+
+    private final NeighborTable neighborTable; // Knight targets of every square
+    private final int boardSize; // Dimension of the board
+    private final int stride; // Length of a padded row
+    private final int squares; // Number of squares on the board
+    private final byte[] visited; // Padded board, border squares set
+    private final int[] degrees; // Unvisited targets of every square
+    private final boolean[] isEndTarget; // True for targets of the end square
+    private final int[] path; // Linear index of the square at every move
+    private final int[] candidates; // Ordered candidates, 8 per path position
+    private final int[] candidateCounts; // Candidates at every path position
+    private final int[] cursors; // Next candidate to try at every position
+    private final long[] keys; // Sort keys of the candidates being ordered
+    private final long maxDistance; // Bound on getDistance
+    private long nodeBudget; // Nodes per attempt
+    private long nodesVisited; // Nodes visited by the last solve
+    private int freeEndTargets; // Unvisited targets of the end square
+    private int moveRotation; // Move number that ranks first among ties
+
+    // ****************************************************
+    // Method: ClosedTourSolver
+    //
+    // Purpose: Constructor. Creates a closed tour solver
+    // for a board with the size supplied by the
+    // parameter.
+    // ****************************************************
+    public ClosedTourSolver(int dimension) {
+        neighborTable = NeighborTable.forBoardSize(dimension);
+        boardSize = dimension;
+        stride = dimension + 2 * ChessBoard.BORDER;
+        squares = dimension * dimension;
+        visited = new byte[stride * stride];
+        degrees = new int[stride * stride];
+        isEndTarget = new boolean[stride * stride];
+        path = new int[squares];
+        candidates = new int[squares * Knight.NUM_ALLOWED_MOVES];
+        candidateCounts = new int[squares];
+        cursors = new int[squares];
+        keys = new long[Knight.NUM_ALLOWED_MOVES];
+        maxDistance = 2L * dimension * dimension;
+        nodeBudget = Math.max(DEFAULT_NODE_BUDGET, NODES_PER_SQUARE * squares);
+    }
+
+    // ****************************************************
+    // Method: setNodeBudget
+    //
+    // Purpose: Sets how many search nodes one attempt may
+    // visit before the solver starts the next.
+    // By default this is NODES_PER_SQUARE for
+    // every square of the board, and at least
+    // DEFAULT_NODE_BUDGET.
+    // ****************************************************
+    public void setNodeBudget(long nodeBudget) {
+        if (nodeBudget < 1) {
+            throw new IllegalArgumentException("Node budget must be positive: " + nodeBudget);
+        }
+        this.nodeBudget = nodeBudget;
+    }
+
+    // ****************************************************
+    // Method: getNodesVisited
+    //
+    // Purpose: Returns the search nodes the last solve
+    // visited over all its attempts.
+    // ****************************************************
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    // ****************************************************
+    // Method: solve
+    //
+    // Purpose: Returns the knight move numbers of a
+    // closed tour from the row and column, the
+    // last of them leading back to the start, or
+    // null if no tour was found within the
+    // budget. Closed tours only exist on boards
+    // of even size from 6 up.
+    // ****************************************************
+    public int[] solve(int startRow, int startCol) {
+        int start = (startRow + ChessBoard.BORDER) * stride + startCol + ChessBoard.BORDER;
+
+        nodesVisited = 0;
+        if (boardSize % 2 != 0 || boardSize < 6) {
+            return null;
+        }
+        // A closed tour is a cycle, so a tour found from any anchor square
+        // can be rotated to begin at the start. The first half of the
+        // attempts anchor the search on the start, the rest on the corners,
+        // where Warnsdorff's rule works best. Each attempt reserves another
+        // target of the anchor as the last square, which closes the tour
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            int anchor = attempt < ATTEMPTS / 2 ? start : getCorner(attempt),
+                    degree = neighborTable.getDegree(anchor);
+
+            moveRotation = attempt % Knight.NUM_ALLOWED_MOVES;
+            if (search(anchor, neighborTable.getTarget(anchor, attempt / 2 % degree))) {
+                return toMoves(start);
+            }
+        }
+
+        return null;
+    }
+
+    // ****************************************************
+    // Method: getCorner
+    //
+    // Purpose: Returns the linear index of one of the
+    // four corners, chosen by the attempt.
+    // ****************************************************
+    private int getCorner(int attempt) {
+        int row = (attempt & 1) == 0 ? 0 : boardSize - 1,
+                col = (attempt & 2) == 0 ? 0 : boardSize - 1;
+
+        return (row + ChessBoard.BORDER) * stride + col + ChessBoard.BORDER;
+    }
+
+    // ****************************************************
+    // Method: getDistance
+    //
+    // Purpose: Returns the squared distance between the
+    // squares at the two linear indexes.
+    // ****************************************************
+    private long getDistance(int first, int second) {
+        long rowDistance = first / stride - second / stride,
+                colDistance = first % stride - second % stride;
+
+        return rowDistance * rowDistance + colDistance * colDistance;
+    }
+
+    // ****************************************************
+    // Method: search
+    //
+    // Purpose: Runs one Warnsdorff-ordered depth-first
+    // search, without recursion, for a path from
+    // the anchor over every other square to the
+    // end square, a target of the anchor. Stops
+    // when it finds one or runs out of budget.
+    // ****************************************************
+    private boolean search(int anchor, int end) {
+        long budget = nodesVisited + nodeBudget;
+        int pos = 0, last = squares - 2, next;
+
+        reset(anchor, end);
+        path[0] = anchor;
+        expand(0);
+
+        while (true) {
+            if (pos == last) {
+                if (isEndTarget[path[pos]]) {
+                    path[squares - 1] = end;
+                    return true;
+                }
+                candidateCounts[pos] = 0;
+            }
+            if (cursors[pos] < candidateCounts[pos]) {
+                if (++nodesVisited > budget) {
+                    return false;
+                }
+                next = candidates[pos * Knight.NUM_ALLOWED_MOVES + cursors[pos]++];
+                visit(next);
+                path[++pos] = next;
+                expand(pos);
+            } else {
+                if (pos == 0) {
+                    return false;
+                }
+                unvisit(path[pos--]);
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: expand
+    //
+    // Purpose: Orders the unvisited targets of the
+    // square at the path position. Moves with
+    // fewer onward moves come first, and among
+    // those a target of the end square comes
+    // after the others, so the way to the end
+    // stays open. Remaining ties go to squares
+    // far from the anchor, which leaves the
+    // area around the end square for last. The
+    // position gets no
+    // candidates when the path can no longer
+    // reach the end: no target of the end is
+    // left, or a target of the square is
+    // stranded.
+    // ****************************************************
+    private void expand(int pos) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int square = path[pos], base = pos * Knight.NUM_ALLOWED_MOVES,
+                remaining = squares - 2 - pos, count = 0;
+
+        cursors[pos] = 0;
+        candidateCounts[pos] = 0;
+        if (remaining > 0 && freeEndTargets == 0) {
+            return;
+        }
+
+        for (int mask = moveMasks[square] & 0xFF; mask != 0; mask &= mask - 1) {
+            int move = Integer.numberOfTrailingZeros(mask), target = square + moveOffsets[move], slot;
+            long key;
+
+            if (visited[target] != 0) {
+                continue;
+            }
+            // A target with no other unvisited neighbor can only be the last
+            // square before the end, so if squares are left after it the
+            // branch is dead
+            if (degrees[target] == 0 && remaining > 1) {
+                return;
+            }
+            key = ((degrees[target] * 2 + (isEndTarget[target] ? 1 : 0)) * maxDistance
+                    + maxDistance - 1 - getDistance(target, path[0])) * Knight.NUM_ALLOWED_MOVES
+                    + (move - moveRotation + Knight.NUM_ALLOWED_MOVES) % Knight.NUM_ALLOWED_MOVES;
+
+            // Insertion sort, there are at most 8 candidates
+            for (slot = count; slot > 0 && keys[slot - 1] > key; slot--) {
+                keys[slot] = keys[slot - 1];
+                candidates[base + slot] = candidates[base + slot - 1];
+            }
+            keys[slot] = key;
+            candidates[base + slot] = target;
+            count++;
+        }
+        candidateCounts[pos] = count;
+    }
+
+    // ****************************************************
+    // Method: reset
+    //
+    // Purpose: Clears the board, counts the targets of
+    // every square, marks the targets of the end
+    // square and visits the anchor and the end
+    // square, which is kept out of the search
+    // until the last move.
+    // ****************************************************
+    private void reset(int anchor, int end) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+
+        Arrays.fill(visited, (byte) 1);
+        Arrays.fill(isEndTarget, false);
+        for (int row = 0; row < boardSize; row++) {
+            int first = (row + ChessBoard.BORDER) * stride + ChessBoard.BORDER;
+
+            Arrays.fill(visited, first, first + boardSize, (byte) 0);
+        }
+        for (int index = 0; index < visited.length; index++) {
+            degrees[index] = neighborTable.getDegree(index);
+        }
+        freeEndTargets = 0;
+        for (int mask = moveMasks[end] & 0xFF; mask != 0; mask &= mask - 1) {
+            isEndTarget[end + moveOffsets[Integer.numberOfTrailingZeros(mask)]] = true;
+            freeEndTargets++;
+        }
+        visit(end);
+        visit(anchor);
+    }
+
+    // ****************************************************
+    // Method: visit
+    //
+    // Purpose: Marks the square visited and lowers the
+    // degree of its targets.
+    // ****************************************************
+    private void visit(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+
+        visited[index] = 1;
+        if (isEndTarget[index]) {
+            freeEndTargets--;
+        }
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            degrees[index + moveOffsets[Integer.numberOfTrailingZeros(mask)]]--;
+        }
+    }
+
+    // ****************************************************
+    // Method: unvisit
+    //
+    // Purpose: Reverses visit.
+    // ****************************************************
+    private void unvisit(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+
+        visited[index] = 0;
+        if (isEndTarget[index]) {
+            freeEndTargets++;
+        }
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            degrees[index + moveOffsets[Integer.numberOfTrailingZeros(mask)]]++;
+        }
+    }
+
+    // ****************************************************
+    // Method: toMoves
+    //
+    // Purpose: Converts the cycle on the path into
+    // knight move numbers, beginning at the
+    // start and ending with the move back to it.
+    // ****************************************************
+    private int[] toMoves(int start) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets(), tourMoves = new int[squares];
+        int offset = 0;
+
+        while (path[offset] != start) {
+            offset++;
+        }
+        for (int pos = 0; pos < squares; pos++) {
+            int from = path[(offset + pos) % squares], to = path[(offset + pos + 1) % squares];
+
+            for (int mask = moveMasks[from] & 0xFF; mask != 0; mask &= mask - 1) {
+                if (from + moveOffsets[Integer.numberOfTrailingZeros(mask)] == to) {
+                    tourMoves[pos] = Integer.numberOfTrailingZeros(mask);
+                }
+            }
+        }
+
+        return tourMoves;
+    }
+
+    // ****************************************************
+    // Method: main
+    //
+    // Purpose: Solves a closed tour from every square of
+    // every even board size in the range given
+    // by the arguments, 6 to 40 by default, and
+    // prints the success rate and the time per
+    // tour of each size.
+    // ****************************************************
+    public static void main(String[] args) {
+        int minSize = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int maxSize = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+        System.out.println("size,starts,closed,success_rate,ms_per_tour,nodes_per_tour");
+        for (int size = minSize + minSize % 2; size <= maxSize; size += 2) {
+            ClosedTourSolver solver = new ClosedTourSolver(size);
+            long startNanos = System.nanoTime(), nodes = 0;
+            int closed = 0;
+
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (solver.solve(row, col) != null) {
+                        closed++;
+                    }
+                    nodes += solver.getNodesVisited();
+                }
+            }
+            System.out.printf("%d,%d,%d,%.4f,%.3f,%d%n", size, size * size, closed,
+                    closed / (double) (size * size),
+                    (System.nanoTime() - startNanos) / 1e6 / (size * size), nodes / (size * size));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package knightstour;
+
+import java.util.Arrays;
+
+// Prunes partial tours whose unvisited squares fall apart. The rest of the
+// tour is a path from the head through every unvisited square, so every
+// unvisited square must be reachable from the head over unvisited squares. The
+// check floods the board from the head, which costs O(squares), so it only
+// runs every few moves and while enough squares are left to make it pay.
+public class ConnectivityPruning implements PruningRule {
+    private final int interval; // Number of moves between checks
+    private final int minRemaining; // Fewest unvisited squares worth checking
+    private byte[] visited; // Padded board being searched
+    private NeighborTable neighborTable; // Knight targets of every square
+    private int[] reachedStamps; // Stamp of the last flood that reached every
+    // square
+    private int[] queue; // Squares waiting to be flooded
+    private int stamp; // Stamp of the current flood
+    private int pathLength; // Number of squares visited since the start
+
+    // ****************************************************
+    // Method: ConnectivityPruning
+    //
+    // Purpose: Constructor. Checks connectivity every
+    // interval moves while at least minRemaining
+    // squares are unvisited.
+    // ****************************************************
+    public ConnectivityPruning(int interval, int minRemaining) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        this.minRemaining = minRemaining;
+    }
+
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Allocates the flood buffers.
+    // ****************************************************
+    @Override
+    public void start(byte[] visited, NeighborTable neighborTable) {
+        this.visited = visited;
+        this.neighborTable = neighborTable;
+        reachedStamps = new int[visited.length];
+        queue = new int[visited.length];
+        stamp = 0;
+        pathLength = 0;
+    }
+
+    // ****************************************************
+    // Method: squareVisited
+    //
+    // Purpose: Counts the move.
+    // ****************************************************
+    @Override
+    public void squareVisited(int index) {
+        pathLength++;
+    }
+
+    // ****************************************************
+    // Method: squareUnvisited
+    //
+    // Purpose: Counts the move taken back.
+    // ****************************************************
+    @Override
+    public void squareUnvisited(int index) {
+        pathLength--;
+    }
+
+    // ****************************************************
+    // Method: canPrune
+    //
+    // Purpose: Floods the unvisited squares from the
+    // head and returns true if some were not
+    // reached.
+    // ****************************************************
+    @Override
+    public boolean canPrune(int head, int remaining) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int queueHead = 0, queueTail = 0, reached = 0;
+
+        if (remaining < minRemaining || pathLength % interval != 0) {
+            return false;
+        }
+
+        if (++stamp == 0) {
+            Arrays.fill(reachedStamps, 0);
+            stamp = 1;
+        }
+        queue[queueTail++] = head;
+        while (queueHead < queueTail) {
+            int square = queue[queueHead++];
+
+            for (int mask = moveMasks[square] & 0xFF; mask != 0; mask &= mask - 1) {
+                int target = square + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+                if (visited[target] == 0 && reachedStamps[target] != stamp) {
+                    reachedStamps[target] = stamp;
+                    queue[queueTail++] = target;
+                    reached++;
+                }
+            }
+        }
+
+        return reached < remaining;
+    }
+}
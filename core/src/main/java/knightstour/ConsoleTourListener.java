@@ -0,0 +1,69 @@
+package knightstour;
+
+import java.io.PrintWriter;
+
+// Prints the events of a tour to the console through one large buffer, so
+// printing a tour does not flush on every move.
+public class ConsoleTourListener implements TourListener {
+    private final PrintWriter out; // Buffered writer to the console
+
+    // ****************************************************
+    // Method: ConsoleTourListener
+    //
+    // Purpose: Constructor. Creates a listener that
+    // prints every event to the console through
+    // a large buffer. The buffer is flushed
+    // when the tour ends.
+    // ****************************************************
+    public ConsoleTourListener() {
+        out = ChessBoard.createConsoleWriter();
+    }
+
+    // ****************************************************
+    // Method: onMove
+    //
+    // Purpose: Prints the move number and the square.
+    // ****************************************************
+    @Override
+    public void onMove(int moveNumber, int row, int col) {
+        out.print(moveNumber);
+        out.print(": ");
+        out.print(row);
+        out.print(' ');
+        out.println(col);
+    }
+
+    // ****************************************************
+    // Method: onUndo
+    //
+    // Purpose: Prints the move taken back.
+    // ****************************************************
+    @Override
+    public void onUndo(int moveNumber, int row, int col) {
+        out.printf("Undo %d: %d %d%n", moveNumber, row, col);
+    }
+
+    // ****************************************************
+    // Method: onDeadEnd
+    //
+    // Purpose: Prints the dead end and flushes the
+    // buffer.
+    // ****************************************************
+    @Override
+    public void onDeadEnd(int moveNumber, int row, int col) {
+        out.printf("Dead end after %d moves at %d %d%n", moveNumber, row, col);
+        out.flush();
+    }
+
+    // ****************************************************
+    // Method: onComplete
+    //
+    // Purpose: Prints the completed tour and flushes
+    // the buffer.
+    // ****************************************************
+    @Override
+    public void onComplete(int moveNumber, int row, int col) {
+        out.printf("Tour completed after %d moves at %d %d%n", moveNumber, row, col);
+        out.flush();
+    }
+}
@@ -0,0 +1,139 @@
+package knightstour;
+
+// Prunes partial tours that strand a square. Count, for every unvisited
+// square, its unvisited neighbors plus one if the head is a neighbor. The rest
+// of the tour runs head, v1, ..., vm over all unvisited squares, so every vi
+// except the last has two such links and vm has one. A square with no link, or
+// two squares with a single link, therefore prove that no tour is left. The
+// counts are kept up to date in O(8) per visit.
+public class DeadEndPruning implements PruningRule {
+    private byte[] visited; // Padded board being searched
+    private NeighborTable neighborTable; // Knight targets of every square
+    private int[] degrees; // Unvisited neighbors of every square
+    private int isolatedSquares; // Unvisited squares with no unvisited
+    // neighbor
+    private int endSquares; // Unvisited squares with one unvisited neighbor
+
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Counts the unvisited neighbors of every
+    // unvisited square.
+    // ****************************************************
+    @Override
+    public void start(byte[] visited, NeighborTable neighborTable) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+
+        this.visited = visited;
+        this.neighborTable = neighborTable;
+        degrees = new int[visited.length];
+        isolatedSquares = 0;
+        endSquares = 0;
+
+        for (int index = 0; index < visited.length; index++) {
+            if (visited[index] != 0) {
+                continue;
+            }
+            for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+                if (visited[index + moveOffsets[Integer.numberOfTrailingZeros(mask)]] == 0) {
+                    degrees[index]++;
+                }
+            }
+            countSquare(index, 1);
+        }
+    }
+
+    // ****************************************************
+    // Method: squareVisited
+    //
+    // Purpose: Takes the square out of the counts and
+    // lowers the degree of its unvisited
+    // neighbors.
+    // ****************************************************
+    @Override
+    public void squareVisited(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+
+        countSquare(index, -1);
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            int target = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+            if (visited[target] == 0) {
+                countSquare(target, -1);
+                degrees[target]--;
+                countSquare(target, 1);
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: squareUnvisited
+    //
+    // Purpose: Reverses squareVisited.
+    // ****************************************************
+    @Override
+    public void squareUnvisited(int index) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            int target = index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+            if (visited[target] == 0) {
+                countSquare(target, -1);
+                degrees[target]++;
+                countSquare(target, 1);
+            }
+        }
+        countSquare(index, 1);
+    }
+
+    // ****************************************************
+    // Method: canPrune
+    //
+    // Purpose: Adds the head's link to its unvisited
+    // neighbors and applies the rule.
+    // ****************************************************
+    @Override
+    public boolean canPrune(int head, int remaining) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int isolated = isolatedSquares, ends = endSquares;
+
+        if (remaining == 0) {
+            return false;
+        }
+
+        for (int mask = moveMasks[head] & 0xFF; mask != 0; mask &= mask - 1) {
+            int target = head + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+            if (visited[target] == 0) {
+                if (degrees[target] == 0) {
+                    isolated--;
+                    ends++;
+                } else if (degrees[target] == 1) {
+                    ends--;
+                }
+            }
+        }
+
+        return isolated > 0 || ends > 1;
+    }
+
+    // ****************************************************
+    // Method: countSquare
+    //
+    // Purpose: Adds a square to, or with a negative
+    // amount removes it from, the counter for
+    // its degree.
+    // ****************************************************
+    private void countSquare(int index, int amount) {
+        if (degrees[index] == 0) {
+            isolatedSquares += amount;
+        } else if (degrees[index] == 1) {
+            endSquares += amount;
+        }
+    }
+}
@@ -0,0 +1,714 @@
+package knightstour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds knight's tours of boards far too large to search whole. The board is
+// split into blocks of about 8 x 8 squares, the blocks are chained into a
+// path, or a cycle for closed tours, and each block gets a knight path from
+// the square it is entered on to the square it is left from. Block paths of
+// the same shape, entry and exit are solved once and shared, so the work grows
+// linearly with the number of squares, and the tour is streamed to a listener
+// rather than stored.
+public class DivideAndConquerTour {
+    private static final int TARGET_BLOCK_SIZE = 8; // Preferred block dimension
+    private static final int MIN_BLOCK_SIZE = 6; // Smallest block dimension
+    private static final int MIN_SPLIT_SIZE = 12; // Smallest board that is
+    // split into blocks, smaller boards are solved as a single block
+    private static final long NODE_BUDGET = 2000000; // Search nodes allowed for
+    // one block path before the block is given up
+    private static final int[] NO_PATH = new int[0]; // Cached marker for block
+    // paths that do not exist or were not found within the budget
+    private static final int MAX_CACHED_PATHS = 4096; // Most block paths kept
+    // for reuse, about 100 squares each
+    private static final Map<Long, int[]> blockPaths = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+    // Solved block paths, keyed by block shape, entry and exit, least
+    // recently used first. Guarded by its own lock
+
+    private final int boardSize; // Dimension of the board
+    private final boolean isClosed; // Flag: true if the last square must be a
+    // knight's move from the first
+    private final int[] rowStarts; // First row of every band of blocks, plus
+    // the board size
+    private final int[] colStarts; // First column of every column of blocks,
+    // plus the board size
+    private final int[] blockOrder; // Blocks in visiting order, as
+    // bandIndex * blocks per side + columnIndex
+    private final int[] entries; // Global square the path enters each block
+    // on, in visiting order, as row * boardSize + col
+    private final int[] exits; // Global square the path leaves each block
+    // from, or -1 if the exit is free
+
+    // ****************************************************
+    // Method: DivideAndConquerTour
+    //
+    // Purpose: Constructor. Splits the board into blocks
+    // of about 8 x 8 squares, chains the blocks
+    // into a path (or a cycle for closed tours)
+    // and solves a knight path through every
+    // block. Distinct block paths are solved in
+    // parallel and shared between boards, so the
+    // work is linear in the number of squares.
+    // ****************************************************
+    public DivideAndConquerTour(int dimension, boolean isClosed) {
+        int blocksPerSide;
+
+        if (dimension < 5) {
+            throw new IllegalArgumentException("Knight's tours need a board of at least 5 x 5: "
+                    + dimension);
+        }
+        if (isClosed && dimension % 2 != 0) {
+            throw new IllegalArgumentException("Closed tours need an even board size: "
+                    + dimension);
+        }
+
+        boardSize = dimension;
+        this.isClosed = isClosed;
+        blocksPerSide = chooseBlocksPerSide();
+        // The snake ends in the bottom band, on its right end when the
+        // number of bands is odd and on its left end otherwise
+        rowStarts = splitSide(blocksPerSide, true);
+        colStarts = splitSide(blocksPerSide, blocksPerSide % 2 == 1);
+        blockOrder = isClosed ? createCycleOrder(blocksPerSide) : createSnakeOrder(blocksPerSide);
+        entries = new int[blockOrder.length];
+        exits = new int[blockOrder.length];
+
+        planCrossings();
+        solveBlocks();
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: isClosed
+    //
+    // Purpose: Returns true if the tour is closed.
+    // ****************************************************
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    // ****************************************************
+    // Method: forEachMove
+    //
+    // Purpose: Streams the tour to the listener, one
+    // onMove event per square in visiting order
+    // followed by onComplete. Nothing but the
+    // block plan is kept in memory, so boards
+    // far larger than a ChessBoard fits can be
+    // toured.
+    // ****************************************************
+    public void forEachMove(TourListener listener) {
+        int moveNumber = 0, row = 0, col = 0;
+
+        for (int position = 0; position < blockOrder.length; position++) {
+            int block = blockOrder[position], blocksPerSide = rowStarts.length - 1,
+                    firstRow = rowStarts[block / blocksPerSide],
+                    firstCol = colStarts[block % blocksPerSide],
+                    width = colStarts[block % blocksPerSide + 1] - firstCol;
+            int[] path = getBlockPath(position);
+
+            for (int step = 0; step < path.length; step++) {
+                row = firstRow + path[step] / width;
+                col = firstCol + path[step] % width;
+                listener.onMove(++moveNumber, row, col);
+            }
+        }
+
+        listener.onComplete(moveNumber, row, col);
+    }
+
+    // ****************************************************
+    // Method: chooseBlocksPerSide
+    //
+    // Purpose: Returns the number of blocks along each
+    // side of the board. Closed tours chain the
+    // blocks into a cycle, which needs an even
+    // number of blocks per side.
+    // ****************************************************
+    private int chooseBlocksPerSide() {
+        int blocks;
+
+        if (boardSize < MIN_SPLIT_SIZE) {
+            return 1;
+        }
+
+        blocks = Math.max(1, Math.round(boardSize / (float) TARGET_BLOCK_SIZE));
+        while (boardSize / blocks < MIN_BLOCK_SIZE) {
+            blocks--;
+        }
+        if (isClosed && blocks % 2 != 0) {
+            blocks = boardSize / (blocks + 1) >= MIN_BLOCK_SIZE ? blocks + 1 : blocks - 1;
+        }
+
+        return Math.max(1, blocks);
+    }
+
+    // ****************************************************
+    // Method: splitSide
+    //
+    // Purpose: Splits a side of the board into blocks of
+    // even size and returns the first row or
+    // column of every block, plus the board
+    // size. On odd boards one block is one
+    // square larger: the last block if the flag
+    // is true, otherwise the first. That puts the
+    // only odd-area block last in the snake
+    // order, where its free exit can absorb the
+    // colour imbalance.
+    // ****************************************************
+    private int[] splitSide(int blocks, boolean isOddBlockLast) {
+        int[] starts = new int[blocks + 1];
+        int halfSquares = boardSize / 2, // Side measured in pairs of squares
+                oddBlock = boardSize % 2 == 0 ? -1 : (isOddBlockLast ? blocks - 1 : 0);
+
+        for (int block = 0; block < blocks; block++) {
+            int size = 2 * (halfSquares / blocks + (block < halfSquares % blocks ? 1 : 0));
+
+            starts[block + 1] = starts[block] + size + (block == oddBlock ? 1 : 0);
+        }
+
+        return starts;
+    }
+
+    // ****************************************************
+    // Method: createSnakeOrder
+    //
+    // Purpose: Returns the blocks band by band, left to
+    // right on even bands and right to left on
+    // odd bands.
+    // ****************************************************
+    private static int[] createSnakeOrder(int blocksPerSide) {
+        int[] order = new int[blocksPerSide * blocksPerSide];
+        int position = 0;
+
+        for (int band = 0; band < blocksPerSide; band++) {
+            for (int step = 0; step < blocksPerSide; step++) {
+                int column = band % 2 == 0 ? step : blocksPerSide - 1 - step;
+
+                order[position++] = band * blocksPerSide + column;
+            }
+        }
+
+        return order;
+    }
+
+    // ****************************************************
+    // Method: createCycleOrder
+    //
+    // Purpose: Returns the blocks in a cycle: along the
+    // top band, snaking through the remaining
+    // bands without the first column, then back
+    // up the first column. The number of blocks
+    // per side must be even (or one).
+    // ****************************************************
+    private static int[] createCycleOrder(int blocksPerSide) {
+        int[] order = new int[blocksPerSide * blocksPerSide];
+        int position = 0;
+
+        for (int column = 0; column < blocksPerSide; column++) {
+            order[position++] = column;
+        }
+        for (int band = 1; band < blocksPerSide; band++) {
+            for (int step = 1; step < blocksPerSide; step++) {
+                int column = band % 2 == 1 ? blocksPerSide - step : step;
+
+                order[position++] = band * blocksPerSide + column;
+            }
+        }
+        for (int band = blocksPerSide - 1; band >= 1; band--) {
+            order[position++] = band * blocksPerSide;
+        }
+
+        return order;
+    }
+
+    // ****************************************************
+    // Method: planCrossings
+    //
+    // Purpose: Chooses the knight's move that crosses
+    // from every block to the next one, which
+    // fixes the entry and exit of every block.
+    // Every block of even area leaves on the
+    // colour opposite to its entry, so every
+    // crossing is chosen to keep that true.
+    // ****************************************************
+    private void planCrossings() {
+        int last = blockOrder.length - 1;
+
+        if (blockOrder.length == 1) {
+            entries[0] = 0;
+            exits[0] = -1;
+            return;
+        }
+
+        if (isClosed) {
+            // The crossing back to the first block fixes the first entry and
+            // the last exit
+            int[] crossing = findCrossings(last, 0, -1).get(0);
+
+            exits[last] = crossing[0];
+            entries[0] = crossing[1];
+        } else {
+            entries[0] = chooseOpenStart();
+            exits[last] = -1;
+        }
+
+        for (int position = 0; position < last; position++) {
+            int[] crossing = findCrossings(position, position + 1,
+                    entries[position]).get(0);
+
+            exits[position] = crossing[0];
+            entries[position + 1] = crossing[1];
+        }
+    }
+
+    // ****************************************************
+    // Method: chooseOpenStart
+    //
+    // Purpose: Returns the start square of an open tour.
+    // Every block entry has the colour of the
+    // start square, so on odd boards the start
+    // is chosen with the majority colour of the
+    // odd-area block that comes last.
+    // ****************************************************
+    private int chooseOpenStart() {
+        int lastBlock = blockOrder[blockOrder.length - 1],
+                blocksPerSide = rowStarts.length - 1,
+                lastColour = (rowStarts[lastBlock / blocksPerSide]
+                        + colStarts[lastBlock % blocksPerSide]) % 2;
+
+        // Square (0, 0) has colour 0, square (0, 1) colour 1
+        return boardSize % 2 == 0 || lastColour == 0 ? 0 : 1;
+    }
+
+    // ****************************************************
+    // Method: findCrossings
+    //
+    // Purpose: Returns every knight's move from a square
+    // of one block to a square of the next,
+    // as {from, to} pairs of global squares.
+    // If the entry of the first block is known,
+    // only moves that leave the block on the
+    // colour its path must end on are returned.
+    // ****************************************************
+    private List<int[]> findCrossings(int fromPosition, int toPosition, int fromEntry) {
+        Knight knight = new Knight(); // Dummy knight supplying the move values
+        List<int[]> crossings = new ArrayList<>();
+        int blocksPerSide = rowStarts.length - 1,
+                fromBlock = blockOrder[fromPosition], toBlock = blockOrder[toPosition];
+        int fromTop = rowStarts[fromBlock / blocksPerSide],
+                fromBottom = rowStarts[fromBlock / blocksPerSide + 1],
+                fromLeft = colStarts[fromBlock % blocksPerSide],
+                fromRight = colStarts[fromBlock % blocksPerSide + 1],
+                toTop = rowStarts[toBlock / blocksPerSide],
+                toBottom = rowStarts[toBlock / blocksPerSide + 1],
+                toLeft = colStarts[toBlock % blocksPerSide],
+                toRight = colStarts[toBlock % blocksPerSide + 1];
+
+        for (int row = fromTop; row < fromBottom; row++) {
+            for (int col = fromLeft; col < fromRight; col++) {
+                int from = row * boardSize + col;
+
+                if (from == fromEntry || (fromEntry >= 0 && !isValidExit(fromPosition,
+                        fromEntry, from))) {
+                    continue;
+                }
+
+                for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+                    int testRow = row + knight.getVerticalMoveValue(moveNum),
+                            testCol = col + knight.getHorizontalMoveValue(moveNum);
+
+                    if (testRow >= toTop && testRow < toBottom && testCol >= toLeft
+                            && testCol < toRight) {
+                        crossings.add(new int[] {from, testRow * boardSize + testCol});
+                    }
+                }
+            }
+        }
+
+        if (crossings.isEmpty()) {
+            throw new IllegalStateException("No knight's move joins block " + fromBlock
+                    + " to block " + toBlock);
+        }
+
+        return crossings;
+    }
+
+    // ****************************************************
+    // Method: isValidExit
+    //
+    // Purpose: Returns true if a path through the block
+    // at the position can run from the entry to
+    // the exit as far as square colours go.
+    // ****************************************************
+    private boolean isValidExit(int position, int entry, int exit) {
+        int blocksPerSide = rowStarts.length - 1, block = blockOrder[position],
+                area = (rowStarts[block / blocksPerSide + 1] - rowStarts[block / blocksPerSide])
+                        * (colStarts[block % blocksPerSide + 1] - colStarts[block % blocksPerSide]),
+                entryColour = (entry / boardSize + entry % boardSize) % 2,
+                exitColour = (exit / boardSize + exit % boardSize) % 2;
+
+        // A path over an even area changes colour, over an odd area it keeps it
+        return (entryColour != exitColour) == (area % 2 == 0);
+    }
+
+    // ****************************************************
+    // Method: solveBlocks
+    //
+    // Purpose: Solves the path of every distinct block
+    // in parallel, then repairs the blocks whose
+    // path was not found by trying other
+    // crossings towards the next block.
+    // ****************************************************
+    private void solveBlocks() {
+        int last = blockOrder.length - 1;
+        Map<Long, Integer> distinctBlocks = new HashMap<>(); // First position of
+        // every distinct block path
+
+        for (int position = 0; position < blockOrder.length; position++) {
+            distinctBlocks.putIfAbsent(getBlockKey(position), position);
+        }
+        distinctBlocks.values().parallelStream().forEach(this::getBlockPath);
+
+        for (int position = 0; position < blockOrder.length; position++) {
+            if (getBlockPath(position) != NO_PATH) {
+                continue;
+            }
+            if (position == last) {
+                // The last block is repaired from the crossing into it
+                if (position == 0 || !repairCrossing(position - 1)) {
+                    throw new IllegalStateException("No knight's path found through the last block of a "
+                            + boardSize + " x " + boardSize + " board");
+                }
+            } else if (!repairCrossing(position)) {
+                throw new IllegalStateException("No knight's path found through block "
+                        + blockOrder[position] + " of a " + boardSize + " x " + boardSize + " board");
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: repairCrossing
+    //
+    // Purpose: Tries the other crossings from the block
+    // at the position to the next one until both
+    // blocks have a path. Returns true if one
+    // was found.
+    // ****************************************************
+    private boolean repairCrossing(int position) {
+        int oldExit = exits[position], oldEntry = entries[position + 1];
+
+        for (int[] crossing : findCrossings(position, position + 1, entries[position])) {
+            exits[position] = crossing[0];
+            entries[position + 1] = crossing[1];
+            if (entries[position + 1] != exits[position + 1]
+                    && getBlockPath(position) != NO_PATH
+                    && (position + 1 < blockOrder.length - 1 || getBlockPath(position + 1) != NO_PATH)) {
+                return true;
+            }
+        }
+
+        exits[position] = oldExit;
+        entries[position + 1] = oldEntry;
+        return false;
+    }
+
+    // ****************************************************
+    // Method: getBlockPath
+    //
+    // Purpose: Returns the path through the block at the
+    // position as local squares, row * width +
+    // col, or NO_PATH. Paths are cached by block
+    // shape, entry and exit, and the least
+    // recently used are dropped once
+    // MAX_CACHED_PATHS are kept.
+    // ****************************************************
+    private int[] getBlockPath(int position) {
+        long key = getBlockKey(position);
+        int[] path, cached;
+
+        synchronized (blockPaths) {
+            path = blockPaths.get(key);
+        }
+        if (path == null) {
+            int blocksPerSide = rowStarts.length - 1, block = blockOrder[position],
+                    height = rowStarts[block / blocksPerSide + 1] - rowStarts[block / blocksPerSide],
+                    width = colStarts[block % blocksPerSide + 1] - colStarts[block % blocksPerSide];
+
+            path = new BlockSearch(height, width, toLocalSquare(position, entries[position]),
+                    toLocalSquare(position, exits[position]), isClosed && blockOrder.length == 1)
+                    .solve();
+            if (path == null) {
+                path = NO_PATH;
+            }
+            synchronized (blockPaths) {
+                cached = blockPaths.putIfAbsent(key, path);
+            }
+            if (cached != null) {
+                path = cached;
+            }
+        }
+
+        return path;
+    }
+
+    // ****************************************************
+    // Method: getBlockKey
+    //
+    // Purpose: Returns the cache key of the path through
+    // the block at the position: its shape, its
+    // local entry and exit, and whether it must
+    // close on itself.
+    // ****************************************************
+    private long getBlockKey(int position) {
+        int blocksPerSide = rowStarts.length - 1, block = blockOrder[position],
+                height = rowStarts[block / blocksPerSide + 1] - rowStarts[block / blocksPerSide],
+                width = colStarts[block % blocksPerSide + 1] - colStarts[block % blocksPerSide];
+        boolean isClosedBlock = isClosed && blockOrder.length == 1;
+
+        return ((((long) height << 12 | width) << 16 | toLocalSquare(position, entries[position]))
+                << 16 | (toLocalSquare(position, exits[position]) & 0xFFFF)) << 1
+                | (isClosedBlock ? 1 : 0);
+    }
+
+    // ****************************************************
+    // Method: toLocalSquare
+    //
+    // Purpose: Converts a global square to a square of
+    // the block at the position, row * width +
+    // col. Returns -1 for -1.
+    // ****************************************************
+    private int toLocalSquare(int position, int square) {
+        int blocksPerSide = rowStarts.length - 1, block = blockOrder[position],
+                firstRow = rowStarts[block / blocksPerSide],
+                firstCol = colStarts[block % blocksPerSide],
+                width = colStarts[block % blocksPerSide + 1] - firstCol;
+
+        return square < 0 ? -1
+                : (square / boardSize - firstRow) * width + square % boardSize - firstCol;
+    }
+
+    // ****************************************************
+    // Class: BlockSearch
+    //
+    // Purpose: Depth-first search for a knight's path
+    // that visits every square of a block once,
+    // from a given entry to a given exit (or to
+    // any square, or back next to the entry).
+    // Moves are tried in Warnsdorff order, and a
+    // branch is cut as soon as an unvisited
+    // square can no longer be part of the path.
+    // ****************************************************
+    private static class BlockSearch {
+        private final int height; // Number of rows in the block
+        private final int width; // Number of columns in the block
+        private final int squares; // Number of squares in the block
+        private final int exit; // Square the path must end on, or -1
+        private final boolean isClosedPath; // Flag: true if the path must end a
+        // knight's move from its entry
+        private final int[][] neighbors; // Knight targets of every square
+        private final boolean[] visited; // Visited flag of every square
+        private final int[] accessibility; // Unvisited targets of every square
+        private final int[] path; // Squares of the path in visiting order
+        private final int[][] candidates; // Candidate moves at every depth
+        private final int[] centreDistances; // Distance of every square from
+        // the centre, used to break ties
+        private long nodes; // Search nodes used so far
+
+        // ****************************************************
+        // Method: BlockSearch
+        //
+        // Purpose: Constructor. Builds the neighbor lists
+        // of the block.
+        // ****************************************************
+        BlockSearch(int height, int width, int entry, int exit, boolean isClosedPath) {
+            Knight knight = new Knight(); // Dummy knight supplying the move values
+
+            this.height = height;
+            this.width = width;
+            squares = height * width;
+            this.exit = exit;
+            this.isClosedPath = isClosedPath;
+            neighbors = new int[squares][];
+            visited = new boolean[squares];
+            accessibility = new int[squares];
+            path = new int[squares];
+            candidates = new int[squares][Knight.NUM_ALLOWED_MOVES];
+            centreDistances = new int[squares];
+            path[0] = entry;
+
+            for (int sq = 0; sq < squares; sq++) {
+                int row = sq / width, col = sq % width, count = 0;
+                int[] targets = new int[Knight.NUM_ALLOWED_MOVES];
+
+                for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+                    int testRow = row + knight.getVerticalMoveValue(moveNum),
+                            testCol = col + knight.getHorizontalMoveValue(moveNum);
+
+                    if (testRow >= 0 && testRow < height && testCol >= 0 && testCol < width) {
+                        targets[count++] = testRow * width + testCol;
+                    }
+                }
+                neighbors[sq] = Arrays.copyOf(targets, count);
+                accessibility[sq] = count;
+                centreDistances[sq] = (2 * row - height + 1) * (2 * row - height + 1)
+                        + (2 * col - width + 1) * (2 * col - width + 1);
+            }
+        }
+
+        // ****************************************************
+        // Method: solve
+        //
+        // Purpose: Returns the path, or null if there is
+        // none or the node budget ran out. A closed
+        // path is searched as a path to each square
+        // next to the entry in turn.
+        // ****************************************************
+        int[] solve() {
+            if (isClosedPath) {
+                for (int exitSquare : neighbors[path[0]]) {
+                    int[] closedPath = new BlockSearch(height, width, path[0], exitSquare,
+                            false).solve();
+
+                    if (closedPath != null) {
+                        return closedPath;
+                    }
+                }
+                return null;
+            }
+            if (exit == path[0] && squares > 1) {
+                return null;
+            }
+            visit(path[0]);
+            return search(1) ? path : null;
+        }
+
+        // ****************************************************
+        // Method: search
+        //
+        // Purpose: Extends the path from its last square.
+        // Returns true once the path is complete.
+        // ****************************************************
+        private boolean search(int pos) {
+            int head = path[pos - 1], count = 0;
+            int[] moves;
+
+            if (pos == squares) {
+                return exit < 0 || head == exit;
+            }
+            moves = candidates[pos];
+            if (++nodes > NODE_BUDGET) {
+                return false;
+            }
+
+            // Collect the unvisited targets, keeping the exit for last
+            for (int target : neighbors[head]) {
+                if (!visited[target] && (target != exit || pos == squares - 1)) {
+                    int slot = count++;
+
+                    // Insertion sort by accessibility, farthest from the
+                    // centre first on ties
+                    while (slot > 0 && (accessibility[moves[slot - 1]] > accessibility[target]
+                            || (accessibility[moves[slot - 1]] == accessibility[target]
+                            && centreDistances[moves[slot - 1]] < centreDistances[target]))) {
+                        moves[slot] = moves[slot - 1];
+                        slot--;
+                    }
+                    moves[slot] = target;
+                }
+            }
+
+            for (int candidate = 0; candidate < count; candidate++) {
+                int target = moves[candidate];
+
+                visit(target);
+                path[pos] = target;
+                if (isStillCoverable(head, target, pos + 1) && search(pos + 1)) {
+                    return true;
+                }
+                unvisit(target);
+                if (nodes > NODE_BUDGET) {
+                    return false;
+                }
+            }
+
+            return false;
+        }
+
+        // ****************************************************
+        // Method: isStillCoverable
+        //
+        // Purpose: Returns false if an unvisited target of
+        // the previous head has too few unvisited
+        // neighbors left to lie on the rest of the
+        // path. Only those squares lost a neighbor
+        // with the last move.
+        // ****************************************************
+        private boolean isStillCoverable(int previousHead, int head, int pathLength) {
+            for (int square : neighbors[previousHead]) {
+                if (visited[square]) {
+                    continue;
+                }
+
+                int links = accessibility[square];
+                for (int target : neighbors[head]) {
+                    if (target == square) {
+                        links++;
+                        break;
+                    }
+                }
+
+                // The last square of the path needs one link, every other
+                // square needs two
+                boolean mayBeLast = exit < 0 ? true : square == exit;
+                if (links == 0 || (links == 1 && !mayBeLast && pathLength < squares - 1)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        // ****************************************************
+        // Method: visit
+        //
+        // Purpose: Marks the square visited and lowers the
+        // accessibility of its unvisited targets.
+        // ****************************************************
+        private void visit(int square) {
+            visited[square] = true;
+            for (int target : neighbors[square]) {
+                accessibility[target]--;
+            }
+        }
+
+        // ****************************************************
+        // Method: unvisit
+        //
+        // Purpose: Reverses visit.
+        // ****************************************************
+        private void unvisit(int square) {
+            visited[square] = false;
+            for (int target : neighbors[square]) {
+                accessibility[target]++;
+            }
+        }
+    }
+}
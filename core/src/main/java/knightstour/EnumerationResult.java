@@ -0,0 +1,121 @@
+package knightstour;
+
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of one TourEnumerator search: the tours found, the first ones kept
+// as grids, the nodes visited, the time taken and why the search stopped.
+public class EnumerationResult {
+    // ****************************************************
+    // Enum: StopReason
+    //
+    // Purpose: Why the search ended.
+    // ****************************************************
+    public enum StopReason {
+        COMPLETE, // Whole search tree explored, the count is exact
+        SOLUTION_LIMIT, // Maximum number of tours found
+        DEADLINE, // Wall-clock deadline passed
+        CANCELLED // Cancellation token was set
+    }
+
+    private final long tourCount; // Tours found before the search ended
+    private final List<int[][]> tours; // First tours found, as move-number grids
+    private final long nodesVisited; // Nodes of the search tree visited
+    private final long elapsedNanos; // Wall-clock time of the search
+    private final StopReason stopReason; // Why the search ended
+
+    // ****************************************************
+    // Method: EnumerationResult
+    //
+    // Purpose: Constructor. Holds the outcome of one
+    // TourEnumerator search.
+    // ****************************************************
+    public EnumerationResult(long tourCount, List<int[][]> tours, long nodesVisited,
+            long elapsedNanos, StopReason stopReason) {
+        this.tourCount = tourCount;
+        this.tours = Collections.unmodifiableList(tours);
+        this.nodesVisited = nodesVisited;
+        this.elapsedNanos = elapsedNanos;
+        this.stopReason = stopReason;
+    }
+
+    // ****************************************************
+    // Method: getTourCount
+    //
+    // Purpose: Returns the number of tours found. Exact
+    // only if the search is complete.
+    // ****************************************************
+    public long getTourCount() {
+        return tourCount;
+    }
+
+    // ****************************************************
+    // Method: getTours
+    //
+    // Purpose: Returns the first tours found. Every grid
+    // holds the move number of each square,
+    // starting at 1, and 0 on blocked squares.
+    // ****************************************************
+    public List<int[][]> getTours() {
+        return tours;
+    }
+
+    // ****************************************************
+    // Method: getNodesVisited
+    //
+    // Purpose: Returns the number of search nodes
+    // visited.
+    // ****************************************************
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    // ****************************************************
+    // Method: getElapsedNanos
+    //
+    // Purpose: Returns the wall-clock time of the search
+    // in nanoseconds.
+    // ****************************************************
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // ****************************************************
+    // Method: getNodesPerSecond
+    //
+    // Purpose: Returns the search speed.
+    // ****************************************************
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodesVisited * 1e9 / elapsedNanos;
+    }
+
+    // ****************************************************
+    // Method: getStopReason
+    //
+    // Purpose: Returns why the search ended.
+    // ****************************************************
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    // ****************************************************
+    // Method: isComplete
+    //
+    // Purpose: Returns true if the whole search tree was
+    // explored.
+    // ****************************************************
+    public boolean isComplete() {
+        return stopReason == StopReason.COMPLETE;
+    }
+
+    // ****************************************************
+    // Method: toString
+    //
+    // Purpose: Summarises the result on one line.
+    // ****************************************************
+    @Override
+    public String toString() {
+        return String.format("%d tours (%s), %d nodes in %.3f s, %.0f nodes/s",
+                tourCount, stopReason, nodesVisited, elapsedNanos / 1e9, getNodesPerSecond());
+    }
+}
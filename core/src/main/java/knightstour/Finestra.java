@@ -0,0 +1,640 @@
+package knightstour;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import javax.swing.*;
+
+public class Finestra extends JFrame {
+    private Tour knightsTour; // Tour object
+    private int boardSize; // Board dimension
+    private final BoardCanvas boardCanvas = new BoardCanvas(); // Component
+    // that paints every square of the board
+    private boolean isTourRunning = false; // Flag: true if tour is running,
+    // false if tour is not running
+    private boolean isTourFinished = false; // Flag: true if tour completed run,
+    // false if tour did not finish
+    private boolean useNewGameParams = true; // Flag: true if user wants new
+    // game parameters, false if
+    // user wants the same as
+    // previous game
+    private Timer timer; // Shows the moves of the running tour once per frame
+    private TourWorker tourWorker; // Plays the running tour off the event
+    // dispatch thread, or null before the first tour
+    private MoveRingBuffer moveBuffer; // Squares of the running tour waiting
+    // to be shown
+    private final long[] drainedMoves = new long[4096]; // Squares taken from
+    // the buffer at once
+    private final int FRAME_DELAY = 16; // Milliseconds between frames
+    private final long FRAME_DRAIN_NANOS = 10000000; // Time a frame may spend
+    // taking squares from the buffer
+    private final int MOVE_BUFFER_SIZE = 1 << 18; // Squares the buffer holds
+    private final int PAGE_MOVES = 1000; // Moves skipped by Page Up and Down
+    private final int MAX_BOARD_SIZE = 5000; // Maximum board size
+    private final int MAX_WINDOW_SIZE = 900; // Largest window side, in pixels,
+    // given to a new board. Larger boards are zoomed and panned
+    private int DELAY = 0;
+    private final TourCache tourCache = createTourCache(); // Tours already
+    // played, shared by every game of the window
+    private final int BACKTRACK_LIMIT = Integer.getInteger("knightstour.backtrackLimit", 0);
+    // Moves a tour may take back to get out of dead ends, from the
+    // knightstour.backtrackLimit system property
+    private boolean space = false;
+
+    // ****************************************************
+    // Method: Finestra
+    //
+    // Purpose: Constructor. Set default close operation
+    // for the window and launches a new game.
+    // ****************************************************
+    public Finestra() {
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        this.addKeyListener(new keyboardHandler());
+        boardCanvas.addMouseListener(new SquareClickHandler());
+        add(boardCanvas, BorderLayout.CENTER);
+        createTimer();
+        newGame();
+        prompttimerkey();
+    }
+
+    // ****************************************************
+    // Method: createTourCache
+    //
+    // Purpose: Creates the cache of played tours. When the
+    // knightstour.cacheDir system property names a
+    // directory, the tours are also kept there
+    // across restarts.
+    // ****************************************************
+    private static TourCache createTourCache() {
+        TourCache cache = new TourCache(64L << 20);
+        String directory = System.getProperty("knightstour.cacheDir");
+
+        if (directory != null) {
+            try {
+                cache.setDirectory(Paths.get(directory));
+            } catch (IOException e) {
+                System.err.println("Tour cache directory unavailable: " + e.getMessage());
+            }
+        }
+
+        return cache;
+    }
+
+    private void prompttimerkey() {
+        if (JOptionPane.showConfirmDialog(null, "Do you want move the knight step by step? (pressing space)", "WARNING",
+                JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+            space = true;
+        } else {
+            DELAY = Integer.parseInt(JOptionPane.showInputDialog("Enter an integer to set the delay between moves in ms"));
+            space = false;
+        }
+    }
+
+    // ****************************************************
+    // Method: newGame
+    //
+    // Purpose: Sets parameters for a new knight's tour game.
+    // ****************************************************
+    private void newGame() {
+        // A tour still being played belongs to the old game
+        stopTour();
+
+        // If user selected to enter new game parameters
+        // prompt the user for the new board size and set
+        // the board size member
+        if (useNewGameParams == true) {
+            // Prompt user for board size and set member
+            boardSize = promptBoardSize();
+        }
+
+        // If user wants new game parameter, resize window
+        // otherwise leave window the same size
+        if (useNewGameParams == true) {
+            // Set size of window
+            setSize(Math.min(boardSize * 35, MAX_WINDOW_SIZE),
+                    Math.min(boardSize * 35, MAX_WINDOW_SIZE));
+        }
+
+        // Create new tour object with board size
+        knightsTour = new Tour(boardSize);
+        knightsTour.setTourCache(tourCache);
+        knightsTour.setBacktrackLimit(BACKTRACK_LIMIT);
+        // Show the empty new board
+        boardCanvas.setRecording(new TourRecording(boardSize));
+        showPosition();
+        validate();
+    }
+
+    // ****************************************************
+    // Method: promptBoardSize
+    //
+    // Purpose: Prompts user to enter desired board size.
+    // Validates input and returns a valid number.
+    // ****************************************************
+    private int promptBoardSize() {
+        String userBoardSize; // String value to hold user input
+        int boardSize = 0; // Integer value to be returned
+        boolean isUserInputInvalid = true; // True indicates that the input is
+        // invalid
+
+        // Do the following while user input is invalid
+        do {
+            // Prompt user for input and store in String variable
+            userBoardSize = JOptionPane
+                    .showInputDialog("Enter an integer to set the number of rows and columns on the board:");
+
+            // If user input is a null value, user clicked cancel or closed the
+            // window,
+            // so exit the program.
+            if (userBoardSize == null) {
+                System.exit(0);
+            } else {
+                try {
+                    // Test if string is empty and assign boolean value to
+                    // bInvalidString
+                    isUserInputInvalid = userBoardSize.isEmpty();
+
+                    // parseInt throws NumberFormatException if the String is
+                    // empty or equal to ""
+                    boardSize = Integer.parseInt(userBoardSize);
+
+                    // If parseInt did not throw an exception, program will
+                    // continue here.
+                    // If board size is zero, string is still invalid, so
+                    // display error
+                    if (boardSize <= 0 || boardSize > MAX_BOARD_SIZE) {
+                        String message;
+
+                        isUserInputInvalid = true;
+
+                        message = boardSize <= 0 ? "You must enter a valid integer value."
+                                : String.format("Board size can not exceed %d",
+                                MAX_BOARD_SIZE);
+
+                        JOptionPane.showMessageDialog(this, message,
+                                "Invalid Number", JOptionPane.WARNING_MESSAGE);
+                    }
+                }
+                // Handle NumberFormatException thrown from parseInt
+                catch (NumberFormatException numberFormatException) {
+                    // Display error message
+                    JOptionPane.showMessageDialog(this,
+                            "You must enter a valid integer value.",
+                            "Invalid Number", JOptionPane.WARNING_MESSAGE);
+                }
+            }
+
+        } while (isUserInputInvalid == true);
+
+        // At this point the input is valid, so set board size and return
+        boardSize = Integer.parseInt(userBoardSize);
+
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: createTimer
+    //
+    // Purpose: Create action listener that shows the
+    // moves of the running tour once per frame.
+    // ****************************************************
+    private void createTimer() {
+        // Create anonymous action listener variable and
+        // override it's actionPerformed method to call
+        // drainMoves
+        ActionListener taskPerformer = new ActionListener() {
+            public void actionPerformed(ActionEvent evt) {
+                // Show the moves made since the last frame
+                drainMoves();
+            }
+        };
+
+        // Set class timer member to a timer instance
+        // and pass the frame delay, and taskPerformer as the action listener
+        timer = new Timer(FRAME_DELAY, taskPerformer);
+    }
+
+    // ****************************************************
+    // Method: startTour
+    //
+    // Purpose: Starts playing the tour on a worker thread
+    // and starts the timer that shows its moves.
+    // In step mode the worker waits for the space
+    // bar before every move.
+    // ****************************************************
+    private void startTour() {
+        moveBuffer = new MoveRingBuffer(MOVE_BUFFER_SIZE);
+        isTourFinished = false;
+        tourWorker = new TourWorker(knightsTour, moveBuffer, DELAY, space);
+        tourWorker.start();
+        timer.start();
+    }
+
+    // ****************************************************
+    // Method: stopTour
+    //
+    // Purpose: Stops the worker and the timer of the
+    // running tour, if any, and waits until the
+    // worker no longer uses the tour.
+    // ****************************************************
+    private void stopTour() {
+        timer.stop();
+        if (tourWorker != null) {
+            tourWorker.cancel();
+            tourWorker.join();
+            tourWorker = null;
+        }
+    }
+
+    // ****************************************************
+    // Method: drainMoves
+    //
+    // Purpose: Records the squares the worker visited
+    // since the last frame. Unless the user moved
+    // back in the tour, the board follows to the
+    // last recorded move and all the squares are
+    // repainted at once. Stops the timer when the
+    // worker finished and every square has been
+    // recorded.
+    // ****************************************************
+    private void drainMoves() {
+        long frameEnd = System.nanoTime() + FRAME_DRAIN_NANOS;
+        TourRecording recording = boardCanvas.getRecording();
+        boolean isWorkerFinished, // Read before draining, so no square
+                // offered before the worker finished is missed
+                isFollowing = boardCanvas.getPosition() == recording.getMoveCount();
+        int count;
+
+        if (tourWorker == null) {
+            return;
+        }
+        isWorkerFinished = tourWorker.isFinished();
+        do {
+            count = moveBuffer.drain(drainedMoves);
+            for (int entry = 0; entry < count; entry++) {
+                if (drainedMoves[entry] != MoveRingBuffer.UNDO) {
+                    recording.addMove(MoveRingBuffer.getRow(drainedMoves[entry]),
+                            MoveRingBuffer.getCol(drainedMoves[entry]));
+                    continue;
+                }
+                // The board may not show a move that no longer exists
+                if (boardCanvas.getPosition() == recording.getMoveCount()) {
+                    boardCanvas.setPosition(recording.getMoveCount() - 1);
+                }
+                recording.removeMove();
+            }
+        } while (count > 0 && System.nanoTime() < frameEnd);
+        if (isFollowing) {
+            boardCanvas.setPosition(recording.getMoveCount());
+            boardCanvas.repaintChanged();
+        }
+        showPosition();
+
+        // If the knight has no more moves and all were shown,
+        // stop the timer, set running flag to false
+        // and tour finished flag to true.
+        if (isWorkerFinished && count == 0) {
+            timer.stop();
+            tourWorker = null;
+            isTourRunning = false;
+            isTourFinished = true;
+        }
+    }
+
+    // ****************************************************
+    // Method: seek
+    //
+    // Purpose: Shows the board after the number of moves,
+    // limited to the moves recorded so far. Takes
+    // the same time for any number of moves.
+    // ****************************************************
+    private void seek(int position) {
+        TourRecording recording = boardCanvas.getRecording();
+
+        boardCanvas.setPosition(Math.max(0, Math.min(recording.getMoveCount(), position)));
+        boardCanvas.repaintChanged();
+        showPosition();
+    }
+
+    // ****************************************************
+    // Method: promptSeek
+    //
+    // Purpose: Asks the user for a move number and shows
+    // the board after it.
+    // ****************************************************
+    private void promptSeek() {
+        String userMoveNumber = JOptionPane.showInputDialog(this, "Go to move:");
+
+        // Cancel keeps the move shown
+        if (userMoveNumber == null) {
+            return;
+        }
+        try {
+            seek(Integer.parseInt(userMoveNumber.trim()));
+        } catch (NumberFormatException numberFormatException) {
+            JOptionPane.showMessageDialog(this,
+                    "You must enter a valid integer value.",
+                    "Invalid Number", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    // ****************************************************
+    // Method: showPosition
+    //
+    // Purpose: Shows the move shown and the number of
+    // moves recorded in the window title.
+    // ****************************************************
+    private void showPosition() {
+        setTitle(String.format("Knight's tour - move %d of %d", boardCanvas.getPosition(),
+                boardCanvas.getRecording().getMoveCount()));
+    }
+
+    // ****************************************************
+    // Method: saveTour
+    //
+    // Purpose: Asks the user for a file and writes the
+    // moves recorded so far to it.
+    // ****************************************************
+    private void saveTour() {
+        JFileChooser chooser = new JFileChooser();
+        TourRecording recording = boardCanvas.getRecording();
+
+        if (recording.getMoveCount() == 0) {
+            JOptionPane.showMessageDialog(this, "There is no tour to save yet.",
+                    "Save Tour", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            recording.write(chooser.getSelectedFile().toPath(), true);
+        } catch (IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(this, "The tour could not be saved: " + e.getMessage(),
+                    "Save Tour", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    // ****************************************************
+    // Method: loadTour
+    //
+    // Purpose: Asks the user for a tour file and shows
+    // its tour for playback, ending the running
+    // tour. The loaded tour is treated as a
+    // finished one, so the next click starts a
+    // new game.
+    // ****************************************************
+    private void loadTour() {
+        JFileChooser chooser = new JFileChooser();
+        TourRecording recording;
+
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            recording = TourRecording.read(chooser.getSelectedFile().toPath());
+        } catch (IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(this, "The tour could not be loaded: " + e.getMessage(),
+                    "Load Tour", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        if (recording.getBoardSize() > MAX_BOARD_SIZE) {
+            JOptionPane.showMessageDialog(this, String.format("Board size can not exceed %d",
+                    MAX_BOARD_SIZE), "Load Tour", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        stopTour();
+        boardSize = recording.getBoardSize();
+        knightsTour = new Tour(boardSize);
+        knightsTour.setTourCache(tourCache);
+        knightsTour.setBacktrackLimit(BACKTRACK_LIMIT);
+        isTourRunning = false;
+        isTourFinished = true;
+        boardCanvas.setRecording(recording);
+        seek(recording.getMoveCount());
+    }
+
+    // ****************************************************
+    // Method: askNewParam
+    //
+    // Purpose: Asks the user if they want new parameters
+    // for the next game.
+    // ****************************************************
+    public void askNewParam() {
+        int newParamAnswer; // Integer value of dialog response (Yes = 0, No =
+        // 1, Cancel = 3)
+
+        // Store response from dialog
+        newParamAnswer = JOptionPane.showConfirmDialog(this,
+                "Do you want to use the same board?", "Paused",
+                JOptionPane.YES_NO_CANCEL_OPTION);
+
+        // If yes, user does not get new game parameters
+        if (newParamAnswer == 0) {
+            useNewGameParams = false;
+        }
+        // If no, user gets new game parameters
+        else if (newParamAnswer == 1) {
+            useNewGameParams = true;
+        }
+        // If cancel, program exits
+        else {
+            System.exit(0);
+        }
+    }
+
+    // ****************************************************
+    // Method: askNewGame
+    //
+    // Purpose: Asks the user if they want a new game
+    // this method is called if the user clicks on
+    // a square while the tour is running.
+    // ****************************************************
+    public void tourPaused() {
+        int newGameAnswer; // Integer value of dialog response (Yes = 0, No = 1,
+        // Cancel = 3)
+
+        // Pause the worker, which pauses the tour
+        if (tourWorker != null) {
+            tourWorker.setPaused(true);
+        }
+
+        // Set tour running flag to false
+        isTourRunning = false;
+
+        // Store response from dialog
+        newGameAnswer = JOptionPane
+                .showConfirmDialog(this, "Start a new tour?", "Paused",
+                        JOptionPane.YES_NO_CANCEL_OPTION);
+
+        // If yes
+        if (newGameAnswer == 0) {
+            // User is asked if they want new game parameters.
+            // Preferences are stored in class member variables
+            askNewParam();
+
+            // Stop the worker, then call resetTour on the knight,
+            // to clear current state
+            stopTour();
+            knightsTour.resetTour();
+
+            // Setup a new game
+            newGame();
+        }
+        // If no, set running to true
+        // and resume the worker
+        else if (newGameAnswer == 1) {
+            // If user does not want a new game
+            // set tour running flag back to true
+            // and resume the worker, unless the tour
+            // finished while the dialog was open.
+            if (tourWorker != null) {
+                isTourRunning = true;
+                tourWorker.setPaused(false);
+            }
+        }
+        // If cancel, program exits
+        else {
+            System.exit(0);
+        }
+    }
+
+    // ************************************************
+    // Method: showHeuristics()
+    //
+    // Purpose: Displays the accessibility heuristics.
+    // Only reads the board while no worker
+    // is playing the tour.
+    // ************************************************
+    public void showHeuristics() {
+        MoveGrid accessibility = new ArrayMoveGrid(boardSize);
+
+        if (tourWorker != null) {
+            return;
+        }
+        for (int rowNumber = 0; rowNumber < boardSize; rowNumber++) {
+            for (int columnNumber = 0; columnNumber < boardSize; columnNumber++) {
+                accessibility.setMoveNumber(rowNumber, columnNumber,
+                        knightsTour.getSquare(rowNumber, columnNumber).getAccessibility());
+            }
+        }
+        boardCanvas.setLabels(accessibility);
+    }
+
+    // ****************************************************
+    // Class: SquareClickHandler
+    //
+    // Purpose: Mouse listener for the board. Listens for mouse
+    // clicks and finds the square clicked from the pixel position.
+    // ****************************************************
+    class SquareClickHandler extends MouseAdapter {
+        // ****************************************************
+        // Method: mouseClicked
+        //
+        // Purpose: Overrides MouseAdapter's mouseClicked
+        // method to handle mouse click events
+        // ****************************************************
+        @Override
+        public void mouseClicked(MouseEvent meEvent) {
+            boolean auxBlock;
+            int rowNumber = boardCanvas.getRowAt(meEvent.getY()),
+                    columnNumber = boardCanvas.getColAt(meEvent.getX());
+
+            // If the tour is NOT running when the mouse is clicked
+            // If the tour has finished, i.e., user has not interrupted the
+            // tour
+            // with subsequent clicks and the tour is allowed to complete
+            if (!isTourRunning) {
+                // Clicks beside the board select no square
+                if (rowNumber < 0 || columnNumber < 0) {
+                    return;
+                }
+                if (isTourFinished) {
+                    // Set tour finished back to false
+                    isTourFinished = false;
+
+                    // Ask the user if they want new game parameters
+                    askNewParam();
+
+                    // Setup a new game. The click belonged to the old
+                    // board, so it selects no square of the new one.
+                    newGame();
+                    return;
+                }
+                if (JOptionPane.showConfirmDialog(null, "Do you want to block the square?", "WARNING",
+                        JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+                    auxBlock = true;
+                } else {
+                    auxBlock = false;
+                }
+
+                // Set the start position
+                if (auxBlock) {
+                    knightsTour.getChessBoard().blockSquare(rowNumber, columnNumber);
+                    boardCanvas.setBlocked(rowNumber, columnNumber, true);
+                    boardCanvas.repaintChanged();
+                } else if (!knightsTour.getChessBoard().isSquareVisited(rowNumber, columnNumber)) {
+                    knightsTour.setStartPosition(rowNumber, columnNumber);
+
+                    // Set tour running flag to true
+                    isTourRunning = true;
+
+                    // Start the worker and the timer
+                    startTour();
+                }
+            }
+            // If the tour IS running when the mouse is clicked
+            else {
+                tourPaused();
+            }
+        }
+    }
+
+    class keyboardHandler implements KeyListener {
+
+        @Override
+        public void keyTyped(KeyEvent e) {
+
+        }
+
+        @Override
+        public void keyPressed(KeyEvent e) {
+            // Move through the recorded tour, repeating while held
+            int position = boardCanvas.getPosition();
+
+            if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
+                seek(position + 1);
+            } else if (e.getKeyCode() == KeyEvent.VK_LEFT) {
+                seek(position - 1);
+            } else if (e.getKeyCode() == KeyEvent.VK_PAGE_DOWN) {
+                seek(position + PAGE_MOVES);
+            } else if (e.getKeyCode() == KeyEvent.VK_PAGE_UP) {
+                seek(position - PAGE_MOVES);
+            } else if (e.getKeyCode() == KeyEvent.VK_END) {
+                // Back to the last move, following the running tour again
+                seek(Integer.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void keyReleased(KeyEvent e) {
+            if (e.getKeyCode() == 32) {
+                // Let the worker make one move in step mode
+                if (tourWorker != null) {
+                    tourWorker.step();
+                }
+            } else if (e.getKeyCode() == KeyEvent.VK_HOME) {
+                // Show the whole board again after zooming in
+                boardCanvas.zoomToFit();
+            } else if (e.getKeyCode() == KeyEvent.VK_G) {
+                promptSeek();
+            } else if (e.getKeyCode() == KeyEvent.VK_S) {
+                saveTour();
+            } else if (e.getKeyCode() == KeyEvent.VK_L) {
+                loadTour();
+            }
+        }
+    }
+}
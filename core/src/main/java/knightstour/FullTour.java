@@ -0,0 +1,114 @@
+package knightstour;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class FullTour {
+    public static final int N = 5;
+
+    // Below arrays details all 8 possible movements for a knight.
+    // Don't change the sequence of below arrays
+    public static final int row[] = {2, 1, -1, -2, -2, -1, 1, 2, 2};
+    public static final int col[] = {1, 2, 2, 1, -1, -2, -2, -1, 1};
+
+    // Check if (x, y) is valid chess board coordinates
+    // Note that a knight cannot go out of the chessboard
+    private static boolean isValid(int x, int y) {
+        if (x < 0 || y < 0 || x >= N || y >= N)
+            return false;
+
+        return true;
+    }
+
+    private static void print(int[][] visited) {
+        for (int i = 0; i < visited.length; i++) {
+            for (int j = 0; j < visited[i].length; j++) {
+                System.out.print(visited[i][j] + " ");
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    // Recursive function to perform the Knight's tour using backtracking
+    public static void knightTour(int visited[][], int x, int y, int pos) {
+        // mark current square as visited
+        visited[x][y] = pos;
+
+        // if all squares are visited, print the solution
+        if (pos >= N * N) {
+            print(visited);
+            // backtrack before returning
+            visited[x][y] = 0;
+            return;
+        }
+
+        // check for all 8 possible movements for a knight
+        // and recurse for each valid movement
+        for (int k = 0; k < 8; k++) {
+            // Get the new position of Knight from current
+            // position on chessboard
+            int newX = x + row[k];
+            int newY = y + col[k];
+
+            // if new position is a valid and not visited yet
+            if (isValid(newX, newY) && visited[newX][newY] == 0)
+                knightTour(visited, newX, newY, pos + 1);
+        }
+
+        // backtrack from current square and remove it from current path
+        visited[x][y] = 0;
+    }
+
+    // Usage: FullTour [--output file] [size [startRow startCol [maxSolutions
+    // [timeLimitMillis [printedTours [blockedRow blockedCol ...]]]]]]
+    // Every argument is optional. A maxSolutions or timeLimitMillis of 0 means
+    // no limit, and printedTours is how many tours are kept and printed. By
+    // default a 5x5 board is searched from the corner with no limits and every
+    // tour found is printed. With --output every tour is written to the file
+    // as 3-bit move codes instead, and none is kept or printed unless
+    // printedTours asks for some.
+    public static void main(String[] args) throws IOException {
+        Path output = null;
+
+        if (args.length > 1 && args[0].equals("--output")) {
+            output = Paths.get(args[1]);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : N;
+        int startRow = args.length > 2 ? Integer.parseInt(args[1]) : 0;
+        int startCol = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long maxSolutions = args.length > 3 ? Long.parseLong(args[3]) : Long.MAX_VALUE;
+        long timeLimit = args.length > 4 ? Long.parseLong(args[4]) : 0;
+        int printedTours = args.length > 5 ? Integer.parseInt(args[5])
+                : output == null ? Integer.MAX_VALUE : 0;
+        TourEnumerator enumerator = new TourEnumerator(size);
+        EnumerationResult result;
+
+        for (int arg = 6; arg + 1 < args.length; arg += 2) {
+            enumerator.setBlockedSquare(Integer.parseInt(args[arg]), Integer.parseInt(args[arg + 1]), true);
+        }
+        enumerator.addPruningRule(new DeadEndPruning());
+        enumerator.addPruningRule(new ConnectivityPruning(4, 16));
+        if (maxSolutions > 0) {
+            enumerator.setMaxSolutions(maxSolutions);
+        }
+        enumerator.setMaxKeptTours(printedTours);
+        enumerator.setTimeLimit(timeLimit);
+
+        if (output == null) {
+            result = enumerator.enumerate(startRow, startCol);
+        } else {
+            try (BinaryTourWriter writer = new BinaryTourWriter(output, true)) {
+                enumerator.setTourSink(writer);
+                result = enumerator.enumerate(startRow, startCol);
+            }
+        }
+        for (int[][] tour : result.getTours()) {
+            print(tour);
+        }
+        System.out.println(result);
+    }
+}
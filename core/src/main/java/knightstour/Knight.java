@@ -1,3 +1,5 @@
+package knightstour;
+
 public class Knight {
     private int[] horizontalMovesAvail; // Horizontal move values that are
     // available to the knight
@@ -69,22 +71,20 @@ public class Knight {
     // Method: findNumOfPossibleMoves(ChessBoard)
     //
     // Purpose: Finds the number of possible moves on
-    // the game board from the starting row
-    // and column supplied by the parameters.
+    // the game board from the knight's
+    // current row and column.
     // ************************************************
     public int findNumOfPossibleMoves(ChessBoard chessBoard) {
+        NeighborTable neighborTable = chessBoard.getNeighborTable();
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
         int possibleMoveCounter = 0, // Counts the number of possible moves
-                startRow = getCurrentRow(), startCol = getCurrentCol(), testRow, testCol;
-
-        // Adds a move number value to the knight's current row and tests
-        // whether it is a move candidate.
-        // if the location is on the game board and unvisited, the possible move
-        // counter is incremented.
-        for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
-            testRow = startRow + getVerticalMoveValue(moveNum);
-            testCol = startCol + getHorizontalMoveValue(moveNum);
+                curIndex = chessBoard.getIndex(getCurrentRow(), getCurrentCol());
 
-            if (chessBoard.checkSquareExistsAndIsUnVisted(testRow, testCol) == true) {
+        // Walks the targets of the current square and counts the ones that
+        // have not been visited.
+        for (int mask = moveMasks[curIndex] & 0xFF; mask != 0; mask &= mask - 1) {
+            if (!chessBoard.isVisitedAt(curIndex + moveOffsets[Integer.numberOfTrailingZeros(mask)])) {
                 possibleMoveCounter++;
             }
         }
@@ -100,22 +100,20 @@ public class Knight {
     // an array of the possible moves.
     // ************************************************
     public int[] findPossibleMoves(ChessBoard chessBoard, int numPossibleMoves) {
-        int[] possibleMoves = new int[numPossibleMoves];
-        int storeCurRow = getCurrentRow(), // Stores the knight's current row
-                storeCurCol = getCurrentCol(), // Stores the knight's current column
-                testRow, // Knight's current row plus a move number value
-                testCol, // Knight's current column plus a move number value
-                goodMoveCount = 0; // Counts the number of actual moves
-
-        // Adds a move number value to the knight's current row and tests
-        // whether it is a move candidate.
-        // if the location is on the game board and unvisited, it is added to
-        // the array of possible moves.
-        for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
-            testRow = storeCurRow + getVerticalMoveValue(moveNum);
-            testCol = storeCurCol + getHorizontalMoveValue(moveNum);
-
-            if (chessBoard.checkSquareExistsAndIsUnVisted(testRow, testCol) == true) {
+        NeighborTable neighborTable = chessBoard.getNeighborTable();
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] possibleMoves = new int[numPossibleMoves],
+                moveOffsets = neighborTable.getMoveOffsets();
+        int curIndex = chessBoard.getIndex(getCurrentRow(), getCurrentCol()),
+                goodMoveCount = 0, // Counts the number of actual moves
+                moveNum; // Move number of the target being tested
+
+        // Walks the targets of the current square in move number order, and
+        // adds the move number of every unvisited target to the array of
+        // possible moves.
+        for (int mask = moveMasks[curIndex] & 0xFF; mask != 0; mask &= mask - 1) {
+            moveNum = Integer.numberOfTrailingZeros(mask);
+            if (!chessBoard.isVisitedAt(curIndex + moveOffsets[moveNum])) {
                 possibleMoves[goodMoveCount++] = moveNum;
             }
         }
@@ -131,21 +129,22 @@ public class Knight {
     // an array of the possible moves.
     // ************************************************
     public int findBestMove(ChessBoard chessBoard, int[] possibleMoves) {
-        int storeCurRow = getCurrentRow(), // Stores the knight's current row
-                storeCurCol = getCurrentCol(), // Stores the knight's current column
-                testRow, // Knight's current row plus a move number value
-                testCol, // Knight's current column plus a move number value
+        int curIndex = chessBoard.getIndex(getCurrentRow(), getCurrentCol()),
                 lowestAccessibility, testAccessibility, moveNumWithLowest;
 
+        // Boards with a tie break rule other than the original one choose
+        // the move themselves
+        if (chessBoard.getTieBreak() != TieBreak.LEGACY) {
+            return chessBoard.selectBestMove(curIndex, possibleMoves);
+        }
+
         // If the array of possible moves is greater than one, then there are at
         // least
         // two moves to compare accessibility with.
         if (possibleMoves.length > 1) {
             // Give iLowestAccessibility a starting value to compare the rest to
-            testRow = storeCurRow + getVerticalMoveValue(possibleMoves[0]);
-            testCol = storeCurCol + getHorizontalMoveValue(possibleMoves[0]);
-            lowestAccessibility = chessBoard.getSquareAccessibility(testRow,
-                    testCol);
+            lowestAccessibility = chessBoard.getAccessibilityAt(curIndex
+                    + chessBoard.getMoveOffset(possibleMoves[0]));
             moveNumWithLowest = possibleMoves[0];
 
             // Test each move in the array against the lowest value
@@ -156,13 +155,8 @@ public class Knight {
              * the loop
              */
             for (int moveNum = 1; moveNum < possibleMoves.length; moveNum++) {
-                testRow = storeCurRow
-                        + getVerticalMoveValue(possibleMoves[moveNum]);
-                testCol = storeCurCol
-                        + getHorizontalMoveValue(possibleMoves[moveNum]);
-
-                testAccessibility = chessBoard.getSquareAccessibility(testRow,
-                        testCol);
+                testAccessibility = chessBoard.getAccessibilityAt(curIndex
+                        + chessBoard.getMoveOffset(possibleMoves[moveNum]));
 
                 // If the tested value is lower than the current lowest value
                 // store the accessibility value and store the move number with
@@ -271,6 +265,16 @@ public class Knight {
         moveCounter++;
     }
 
+    // ************************************************
+    // Method: setMoveCounter(int)
+    //
+    // Purpose: Sets the move counter, for example to
+    // take moves back.
+    // ************************************************
+    public void setMoveCounter(int moveCounter) {
+        this.moveCounter = moveCounter;
+    }
+
     // ************************************************
     // Method: getMoveCounter()
     //
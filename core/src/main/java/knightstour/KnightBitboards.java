@@ -0,0 +1,164 @@
+package knightstour;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Attack tables for the bitboard engines: for every square of a board of up to
+// 16 x 16, the squares a knight attacks as a bitboard and the target of every
+// knight move number. Tables are built once per board size and shared.
+public class KnightBitboards {
+    public static final int MAX_SINGLE_WORD_SIZE = 8; // Largest board whose
+    // squares fit in one long
+    public static final int MAX_BOARD_SIZE = 16; // Largest board supported
+    private static final ConcurrentHashMap<Integer, KnightBitboards> tables = new ConcurrentHashMap<>();
+    // Tables already built, keyed by board size
+
+    private final int boardSize; // Dimension of the board
+    private final int words; // Number of longs in a bitboard
+    private final long[] attacks; // Squares a knight attacks from every square,
+    // words longs per square
+    private final short[] targets; // Target square of every knight move number
+    // from every square, or -1 if the move leaves the board. Eight entries
+    // per square
+
+    // ************************************************
+    // Method: KnightBitboards(int)
+    //
+    // Purpose: Constructor. Builds the attack tables
+    // for a board with the size supplied by
+    // the parameter. Square numbers run row by
+    // row, row * dimension + col.
+    // ************************************************
+    private KnightBitboards(int dimension) {
+        Knight knight = new Knight(); // Dummy knight supplying the move values
+        int squares = dimension * dimension;
+
+        if (dimension <= 0 || dimension > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Bitboards support board sizes 1 to "
+                    + MAX_BOARD_SIZE + ": " + dimension);
+        }
+
+        boardSize = dimension;
+        words = (squares + 63) >>> 6;
+        attacks = new long[squares * words];
+        targets = new short[squares * Knight.NUM_ALLOWED_MOVES];
+
+        for (int sq = 0; sq < squares; sq++) {
+            int row = sq / dimension, col = sq % dimension;
+
+            for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+                int testRow = row + knight.getVerticalMoveValue(moveNum),
+                        testCol = col + knight.getHorizontalMoveValue(moveNum);
+                boolean isOnBoard = testRow >= 0 && testRow < dimension
+                        && testCol >= 0 && testCol < dimension;
+
+                targets[sq * Knight.NUM_ALLOWED_MOVES + moveNum] = (short) (isOnBoard
+                        ? testRow * dimension + testCol : -1);
+            }
+
+            if (words == 1) {
+                // Single word boards use the shift-and-mask generator
+                attacks[sq] = knightAttacks(dimension, 1L << sq);
+            } else {
+                for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+                    int target = targets[sq * Knight.NUM_ALLOWED_MOVES + moveNum];
+
+                    if (target >= 0) {
+                        attacks[sq * words + (target >>> 6)] |= 1L << target;
+                    }
+                }
+            }
+        }
+    }
+
+    // ************************************************
+    // Method: forBoardSize(int)
+    //
+    // Purpose: Returns the bitboard tables for a board
+    // with the size supplied by the parameter.
+    // Tables are built once per board size.
+    // ************************************************
+    public static KnightBitboards forBoardSize(int dimension) {
+        return tables.computeIfAbsent(dimension, KnightBitboards::new);
+    }
+
+    // ************************************************
+    // Method: knightAttacks(int, long)
+    //
+    // Purpose: Returns every square a knight attacks
+    // from any of the squares in the bitboard,
+    // on a board of at most 8 x 8. Each move
+    // is a shift by its square offset, masked
+    // to drop the targets that wrapped around
+    // a board edge.
+    // ************************************************
+    public static long knightAttacks(int dimension, long squares) {
+        long notCol0 = 0, notCol01 = 0, notColLast = 0, notColLast2 = 0,
+                boardMask = dimension == 8 ? -1L : (1L << (dimension * dimension)) - 1;
+
+        // A knight has no moves on boards smaller than 3 x 3
+        if (dimension < 3) {
+            return 0;
+        }
+
+        for (int sq = 0; sq < dimension * dimension; sq++) {
+            int col = sq % dimension;
+
+            notCol0 |= col > 0 ? 1L << sq : 0;
+            notCol01 |= col > 1 ? 1L << sq : 0;
+            notColLast |= col < dimension - 1 ? 1L << sq : 0;
+            notColLast2 |= col < dimension - 2 ? 1L << sq : 0;
+        }
+
+        return ((squares << (2 * dimension + 1)) & notCol0
+                | (squares << (2 * dimension - 1)) & notColLast
+                | (squares << (dimension + 2)) & notCol01
+                | (squares << (dimension - 2)) & notColLast2
+                | (squares >>> (dimension - 2)) & notCol01
+                | (squares >>> (dimension + 2)) & notColLast2
+                | (squares >>> (2 * dimension - 1)) & notCol0
+                | (squares >>> (2 * dimension + 1)) & notColLast) & boardMask;
+    }
+
+    // ************************************************
+    // Method: getBoardSize()
+    //
+    // Purpose: Returns the dimension of the board.
+    // ************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ************************************************
+    // Method: getWords()
+    //
+    // Purpose: Returns the number of longs in a
+    // bitboard of this board size.
+    // ************************************************
+    public int getWords() {
+        return words;
+    }
+
+    // ************************************************
+    // Method: getAttacks()
+    //
+    // Purpose: Returns the attack table, getWords()
+    // longs per square. The array is shared
+    // and must not be modified.
+    // ************************************************
+    long[] getAttacks() {
+        return attacks;
+    }
+
+    // ************************************************
+    // Method: getTargets()
+    //
+    // Purpose: Returns the target of every knight move
+    // number from every square, eight entries
+    // per square, -1 for moves leaving the
+    // board. The array is shared and must not
+    // be modified.
+    // ************************************************
+    short[] getTargets() {
+        return targets;
+    }
+}
@@ -1,3 +1,5 @@
+package knightstour;
+
 public class Main {
     public static void main(String[] args) {
         Finestra application = new Finestra();
@@ -0,0 +1,206 @@
+package knightstour;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Keeps the move numbers in a memory-mapped file instead of on the heap, so
+// the operating system pages the grid of a huge board in and out. The file
+// starts with a header of the magic number and the board size, followed by
+// the move number of every square as a 32-bit int, row by row. Files over
+// 2 GB are mapped in chunks of 1 GB.
+public class MappedMoveGrid implements MoveGrid, Closeable {
+    static final int MAGIC = 0x4B544D47; // "KTMG" at the start of the file
+    static final int HEADER_SIZE = 16; // Bytes before the first square
+    private static final int CHUNK_SHIFT = 30; // Log2 of the bytes per mapping
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1; // Offset
+    // of a byte within its mapping
+
+    private final FileChannel channel; // File holding the grid
+    private final MappedByteBuffer[] chunks; // Mappings covering the file
+    private final int boardSize; // Dimension of the board
+    private final int stride; // Length of a padded row of ChessBoard
+
+    // ****************************************************
+    // Method: MappedMoveGrid
+    //
+    // Purpose: Constructor. Maps the whole file, which
+    // the factory methods have sized.
+    // ****************************************************
+    private MappedMoveGrid(FileChannel channel, FileChannel.MapMode mode, int boardSize) throws IOException {
+        long size = HEADER_SIZE + 4L * boardSize * boardSize;
+
+        this.channel = channel;
+        this.boardSize = boardSize;
+        stride = boardSize + 2 * ChessBoard.BORDER;
+        chunks = new MappedByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            long first = (long) chunk << CHUNK_SHIFT;
+
+            chunks[chunk] = channel.map(mode, first, Math.min(size - first, 1L << CHUNK_SHIFT));
+        }
+    }
+
+    // ****************************************************
+    // Method: create
+    //
+    // Purpose: Creates or truncates the file and maps an
+    // empty grid for a board of the size. The
+    // file is sparse where the file system
+    // allows it, so unvisited squares take no
+    // disk space.
+    // ****************************************************
+    public static MappedMoveGrid create(Path file, int boardSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedMoveGrid grid;
+
+        try {
+            grid = new MappedMoveGrid(channel, FileChannel.MapMode.READ_WRITE, boardSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        grid.chunks[0].putInt(0, MAGIC).putInt(4, boardSize);
+
+        return grid;
+    }
+
+    // ****************************************************
+    // Method: open
+    //
+    // Purpose: Maps the grid of an existing file without
+    // reading it in. With isReadOnly set, moves
+    // cannot be changed.
+    // ****************************************************
+    public static MappedMoveGrid open(Path file, boolean isReadOnly) throws IOException {
+        FileChannel channel = isReadOnly ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            int boardSize;
+
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a move grid file");
+            }
+            boardSize = header.getInt();
+            if (channel.size() < HEADER_SIZE + 4L * boardSize * boardSize) {
+                throw new IOException(file + " is shorter than a " + boardSize + " x " + boardSize + " grid");
+            }
+
+            return new MappedMoveGrid(channel,
+                    isReadOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE, boardSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    @Override
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: getMoveNumber
+    //
+    // Purpose: Returns the move number of the square at
+    // the row and column.
+    // ****************************************************
+    @Override
+    public int getMoveNumber(int row, int col) {
+        long offset = getOffset(row, col);
+
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    // ****************************************************
+    // Method: setMoveNumber
+    //
+    // Purpose: Sets the move number of the square at the
+    // row and column.
+    // ****************************************************
+    @Override
+    public void setMoveNumber(int row, int col, int moveNumber) {
+        long offset = getOffset(row, col);
+
+        chunks[(int) (offset >>> CHUNK_SHIFT)].putInt((int) (offset & CHUNK_MASK), moveNumber);
+    }
+
+    // ****************************************************
+    // Method: getMoveNumberAt
+    //
+    // Purpose: Returns the move number of the square at
+    // the linear index of ChessBoard's padded
+    // layout.
+    // ****************************************************
+    @Override
+    public int getMoveNumberAt(int index) {
+        return getMoveNumber(index / stride - ChessBoard.BORDER, index % stride - ChessBoard.BORDER);
+    }
+
+    // ****************************************************
+    // Method: setMoveNumberAt
+    //
+    // Purpose: Sets the move number of the square at the
+    // linear index of ChessBoard's padded
+    // layout.
+    // ****************************************************
+    @Override
+    public void setMoveNumberAt(int index, int moveNumber) {
+        setMoveNumber(index / stride - ChessBoard.BORDER, index % stride - ChessBoard.BORDER, moveNumber);
+    }
+
+    // ****************************************************
+    // Method: flush
+    //
+    // Purpose: Writes the changed pages of the grid to
+    // the file.
+    // ****************************************************
+    public void flush() {
+        for (MappedByteBuffer chunk : chunks) {
+            if (!chunk.isReadOnly()) {
+                chunk.force();
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: close
+    //
+    // Purpose: Flushes the grid and closes the file. The
+    // mappings stay valid until they are
+    // garbage collected, but must not be used.
+    // ****************************************************
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    // ****************************************************
+    // Method: getOffset
+    //
+    // Purpose: Returns the file offset of the move
+    // number of the square at the row and
+    // column. Squares are 4-byte aligned, so no
+    // move number crosses a chunk boundary.
+    // ****************************************************
+    private long getOffset(int row, int col) {
+        return HEADER_SIZE + 4L * ((long) row * boardSize + col);
+    }
+}
@@ -0,0 +1,55 @@
+package knightstour;
+
+// Storage for the move number of every square of a board. ChessBoard addresses
+// it with the linear indexes of its padded layout, everything else with rows
+// and columns.
+public interface MoveGrid {
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    int getBoardSize();
+
+    // ****************************************************
+    // Method: getMoveNumber
+    //
+    // Purpose: Returns the move number of the square at
+    // the row and column, 0 if not visited.
+    // ****************************************************
+    int getMoveNumber(int row, int col);
+
+    // ****************************************************
+    // Method: setMoveNumber
+    //
+    // Purpose: Sets the move number of the square at the
+    // row and column.
+    // ****************************************************
+    void setMoveNumber(int row, int col, int moveNumber);
+
+    // ****************************************************
+    // Method: getMoveNumberAt
+    //
+    // Purpose: Returns the move number of the square at
+    // the linear index of ChessBoard's padded
+    // layout.
+    // ****************************************************
+    default int getMoveNumberAt(int index) {
+        int stride = getBoardSize() + 2 * ChessBoard.BORDER;
+
+        return getMoveNumber(index / stride - ChessBoard.BORDER, index % stride - ChessBoard.BORDER);
+    }
+
+    // ****************************************************
+    // Method: setMoveNumberAt
+    //
+    // Purpose: Sets the move number of the square at the
+    // linear index of ChessBoard's padded
+    // layout.
+    // ****************************************************
+    default void setMoveNumberAt(int index, int moveNumber) {
+        int stride = getBoardSize() + 2 * ChessBoard.BORDER;
+
+        setMoveNumber(index / stride - ChessBoard.BORDER, index % stride - ChessBoard.BORDER, moveNumber);
+    }
+}
@@ -0,0 +1,37 @@
+package knightstour;
+
+// Records the move events of any tour in a MoveGrid. Together with a
+// MappedMoveGrid it lets DivideAndConquerTour write the tour of a board with
+// hundreds of millions of squares straight to disk.
+public class MoveGridListener implements TourListener {
+    private final MoveGrid moveGrid; // Grid receiving the move numbers
+
+    // ****************************************************
+    // Method: MoveGridListener
+    //
+    // Purpose: Constructor. Records moves in the grid.
+    // ****************************************************
+    public MoveGridListener(MoveGrid moveGrid) {
+        this.moveGrid = moveGrid;
+    }
+
+    // ****************************************************
+    // Method: onMove
+    //
+    // Purpose: Stores the move number of the square.
+    // ****************************************************
+    @Override
+    public void onMove(int moveNumber, int row, int col) {
+        moveGrid.setMoveNumber(row, col, moveNumber);
+    }
+
+    // ****************************************************
+    // Method: onUndo
+    //
+    // Purpose: Clears the move number of the square.
+    // ****************************************************
+    @Override
+    public void onUndo(int moveNumber, int row, int col) {
+        moveGrid.setMoveNumber(row, col, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package knightstour;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands the squares of a tour from the thread playing it to the thread showing
+// it without locks. Exactly one thread may offer and exactly one other thread
+// may drain. Each side publishes its position with a lazy set, which orders
+// the entries before the position without a full fence, and caches the other
+// side's position so it only reads it when the cached value runs out.
+public class MoveRingBuffer {
+    public static final long UNDO = pack(-1, -1); // Entry taking back the
+    // last square offered before it
+    private final long[] entries; // Squares, packed by pack
+    private final int mask; // Capacity - 1, the capacity being a power of two
+    private final AtomicLong head = new AtomicLong(); // Entries drained so far
+    private final AtomicLong tail = new AtomicLong(); // Entries offered so far
+    private long headSeenByProducer = 0; // Producer's copy of head
+    private long tailSeenByConsumer = 0; // Consumer's copy of tail
+
+    // ****************************************************
+    // Method: MoveRingBuffer
+    //
+    // Purpose: Constructor. Creates an empty buffer that
+    // holds up to capacity squares, which must
+    // be a power of two.
+    // ****************************************************
+    public MoveRingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        entries = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    // ****************************************************
+    // Method: offer
+    //
+    // Purpose: Adds the entry if there is room and returns
+    // true, or returns false if the buffer is
+    // full. Called by the producer only.
+    // ****************************************************
+    public boolean offer(long entry) {
+        long position = tail.get();
+
+        if (position - headSeenByProducer == entries.length) {
+            headSeenByProducer = head.get();
+            if (position - headSeenByProducer == entries.length) {
+                return false;
+            }
+        }
+        entries[(int) position & mask] = entry;
+        tail.lazySet(position + 1);
+
+        return true;
+    }
+
+    // ****************************************************
+    // Method: drain
+    //
+    // Purpose: Moves up to into.length entries, oldest
+    // first, into the array and returns how many
+    // were moved. Called by the consumer only.
+    // ****************************************************
+    public int drain(long[] into) {
+        long position = head.get();
+        int count;
+
+        if (position == tailSeenByConsumer) {
+            tailSeenByConsumer = tail.get();
+        }
+        count = (int) Math.min(into.length, tailSeenByConsumer - position);
+        for (int entry = 0; entry < count; entry++) {
+            into[entry] = entries[(int) (position + entry) & mask];
+        }
+        head.lazySet(position + count);
+
+        return count;
+    }
+
+    // ****************************************************
+    // Method: pack
+    //
+    // Purpose: Packs a row and column into one entry.
+    // ****************************************************
+    public static long pack(int row, int col) {
+        return (long) row << 32 | col & 0xFFFFFFFFL;
+    }
+
+    // ****************************************************
+    // Method: getRow
+    //
+    // Purpose: Returns the row of a packed entry.
+    // ****************************************************
+    public static int getRow(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    // ****************************************************
+    // Method: getCol
+    //
+    // Purpose: Returns the column of a packed entry.
+    // ****************************************************
+    public static int getCol(long entry) {
+        return (int) entry;
+    }
+}
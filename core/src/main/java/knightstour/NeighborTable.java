@@ -0,0 +1,186 @@
+package knightstour;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// For every square of ChessBoard's padded layout, the knight move numbers that
+// stay on the board as an 8-bit mask, and for every move number the offset it
+// adds to a linear index. Tables are built once per board size and shared,
+// within a memory bound.
+public class NeighborTable {
+    private static final long MAX_CACHED_BYTES = 64L << 20; // Most bytes of
+    // move masks kept for reuse. Larger tables are built for every board
+    private static final LinkedHashMap<Integer, NeighborTable> tables = new LinkedHashMap<>(16, 0.75f, true);
+    // Tables already built, keyed by board size, least recently used first
+    private static long cachedBytes = 0; // Bytes of move masks in tables
+
+    private final int boardSize; // Dimension of the board the table describes
+    private final byte[] moveMasks; // Knight move numbers that stay on the
+    // board from every padded cell, bit m set for move number m. Cells on
+    // the sentinel border have no moves
+    private final int[] moveOffsets; // Difference between the linear indexes
+    // of a square and the square each move number reaches from it
+
+    // ************************************************
+    // Method: NeighborTable(int)
+    //
+    // Purpose: Constructor. Uses a dummy Knight object
+    // to play through all possible moves for
+    // every square of a board with the size
+    // supplied by the parameter, and stores
+    // one bit for each move that stays on the
+    // board. On the padded board a move changes
+    // the linear index by the same offset from
+    // every square, so one byte per cell is
+    // all the table needs.
+    // ************************************************
+    private NeighborTable(int dimension) {
+        Knight knight = new Knight();
+        int stride = dimension + 2 * ChessBoard.BORDER, // Length of a padded
+                // row
+                testRow, // Square's row plus a move number value
+                testCol, // Square's column plus a move number value
+                mask; // Moves found so far from the square
+
+        boardSize = dimension;
+        moveMasks = new byte[stride * stride];
+        moveOffsets = new int[Knight.NUM_ALLOWED_MOVES];
+
+        for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+            moveOffsets[moveNum] = knight.getVerticalMoveValue(moveNum) * stride
+                    + knight.getHorizontalMoveValue(moveNum);
+        }
+        for (int row = 0; row < dimension; row++) {
+            for (int col = 0; col < dimension; col++) {
+                mask = 0;
+                for (int moveNum = 0; moveNum < Knight.NUM_ALLOWED_MOVES; moveNum++) {
+                    testRow = row + knight.getVerticalMoveValue(moveNum);
+                    testCol = col + knight.getHorizontalMoveValue(moveNum);
+
+                    if (testRow >= 0 && testRow < dimension && testCol >= 0
+                            && testCol < dimension) {
+                        mask |= 1 << moveNum;
+                    }
+                }
+                moveMasks[(row + ChessBoard.BORDER) * stride + col + ChessBoard.BORDER] = (byte) mask;
+            }
+        }
+    }
+
+    // ************************************************
+    // Method: forBoardSize(int)
+    //
+    // Purpose: Returns the neighbor table for a board
+    // with the size supplied by the parameter.
+    // Tables are shared by every tour on the
+    // same size while they stay in the cache,
+    // which drops the least recently used
+    // tables once it holds MAX_CACHED_BYTES.
+    // ************************************************
+    public static NeighborTable forBoardSize(int dimension) {
+        NeighborTable table;
+
+        synchronized (tables) {
+            table = tables.get(dimension);
+        }
+        if (table != null) {
+            return table;
+        }
+
+        table = new NeighborTable(dimension);
+        if (table.moveMasks.length <= MAX_CACHED_BYTES) {
+            synchronized (tables) {
+                NeighborTable cached = tables.putIfAbsent(dimension, table);
+
+                if (cached != null) {
+                    return cached;
+                }
+                cachedBytes += table.moveMasks.length;
+                evictTables();
+            }
+        }
+
+        return table;
+    }
+
+    // ************************************************
+    // Method: evictTables()
+    //
+    // Purpose: Drops the least recently used tables
+    // until the cache holds MAX_CACHED_BYTES or
+    // less. The caller holds the cache lock.
+    // ************************************************
+    private static void evictTables() {
+        Iterator<Map.Entry<Integer, NeighborTable>> eldest = tables.entrySet().iterator();
+
+        while (cachedBytes > MAX_CACHED_BYTES) {
+            cachedBytes -= eldest.next().getValue().moveMasks.length;
+            eldest.remove();
+        }
+    }
+
+    // ************************************************
+    // Method: getBoardSize()
+    //
+    // Purpose: Returns the dimension of the board.
+    // ************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ************************************************
+    // Method: getDegree(int)
+    //
+    // Purpose: Returns the number of squares on the
+    // board a knight can reach from the
+    // padded cell at the linear index.
+    // ************************************************
+    public int getDegree(int index) {
+        return Integer.bitCount(moveMasks[index] & 0xFF);
+    }
+
+    // ************************************************
+    // Method: getTarget(int, int)
+    //
+    // Purpose: Returns the linear index of target
+    // number k, counted from 0 in move number
+    // order, of the padded cell at the linear
+    // index.
+    // ************************************************
+    public int getTarget(int index, int k) {
+        int mask = moveMasks[index] & 0xFF;
+
+        for (int skipped = 0; skipped < k; skipped++) {
+            mask &= mask - 1;
+        }
+
+        return index + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    // ************************************************
+    // Method: getMoveMasks()
+    //
+    // Purpose: Returns the array of move masks of every
+    // padded cell. Bit m of a mask is set if
+    // move number m stays on the board, so the
+    // targets of a cell are visited in move
+    // number order by taking the lowest set bit
+    // first. The array is shared and must not
+    // be modified.
+    // ************************************************
+    byte[] getMoveMasks() {
+        return moveMasks;
+    }
+
+    // ************************************************
+    // Method: getMoveOffsets()
+    //
+    // Purpose: Returns the array of linear index
+    // offsets of every move number. The array
+    // is shared and must not be modified.
+    // ************************************************
+    int[] getMoveOffsets() {
+        return moveOffsets;
+    }
+}
@@ -0,0 +1,173 @@
+package knightstour;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Counts every open tour from a square on the fork/join pool. The search forks
+// one task per branch until the path reaches the split depth, and every task
+// searches the subtree below it on its own copy of the board.
+public class ParallelFullTour {
+    private final NeighborTable neighborTable; // Knight targets of every square
+    private final int boardSize; // Dimension of the board
+    private final int squares; // Number of squares on the board
+    private final int splitDepth; // Path length up to which the search is
+    // split into parallel tasks
+
+    // ****************************************************
+    // Method: ParallelFullTour
+    //
+    // Purpose: Constructor. Creates an exhaustive tour
+    // search that forks one task per branch of
+    // the search tree until the path reaches the
+    // split depth, and searches every deeper
+    // subtree sequentially inside its task.
+    // ****************************************************
+    public ParallelFullTour(int dimension, int splitDepth) {
+        if (splitDepth < 1) {
+            throw new IllegalArgumentException("Split depth must be positive: " + splitDepth);
+        }
+        neighborTable = NeighborTable.forBoardSize(dimension);
+        boardSize = dimension;
+        squares = dimension * dimension;
+        this.splitDepth = splitDepth;
+    }
+
+    // ****************************************************
+    // Method: countTours
+    //
+    // Purpose: Returns the number of open tours that
+    // start on the row and column, searched on
+    // the common fork/join pool.
+    // ****************************************************
+    public long countTours(int startRow, int startCol) {
+        return countTours(ForkJoinPool.commonPool(), startRow, startCol);
+    }
+
+    // ****************************************************
+    // Method: countTours
+    //
+    // Purpose: Returns the number of open tours that
+    // start on the row and column, searched on
+    // the pool supplied by the parameter.
+    // ****************************************************
+    public long countTours(ForkJoinPool pool, int startRow, int startCol) {
+        int stride = boardSize + 2 * ChessBoard.BORDER,
+                start = (startRow + ChessBoard.BORDER) * stride + startCol + ChessBoard.BORDER;
+        byte[] visited = new byte[stride * stride];
+
+        visited[start] = 1;
+
+        return countTours(pool, visited, start, 1);
+    }
+
+    // ****************************************************
+    // Method: countTours
+    //
+    // Purpose: Returns the number of open tours that
+    // extend a path of the given length ending
+    // on the square at the linear index. The
+    // padded board must have every square of the
+    // path marked visited, and is not modified.
+    // Every call sums the counts of its own
+    // tasks, so calls from several threads may
+    // share one instance.
+    // ****************************************************
+    long countTours(ForkJoinPool pool, byte[] visited, int square, int pathLength) {
+        return pool.invoke(new TourTask(visited.clone(), square, pathLength));
+    }
+
+    // ****************************************************
+    // Method: knightTour
+    //
+    // Purpose: Counts the tours that extend the path
+    // from the square at the linear index, on a
+    // board state owned by the calling task.
+    // ****************************************************
+    private long knightTour(byte[] visited, int square, int pos) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        long count = 0;
+        int target;
+
+        if (pos >= squares) {
+            return 1;
+        }
+
+        for (int mask = moveMasks[square] & 0xFF; mask != 0; mask &= mask - 1) {
+            target = square + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[target] == 0) {
+                visited[target] = 1;
+                count += knightTour(visited, target, pos + 1);
+                visited[target] = 0;
+            }
+        }
+
+        return count;
+    }
+
+    // ****************************************************
+    // Class: TourTask
+    //
+    // Purpose: Fork/join task that owns a copy of the
+    // board with the path so far marked visited,
+    // and returns the tours that extend it.
+    // ****************************************************
+    private class TourTask extends RecursiveTask<Long> {
+        private final byte[] visited; // Board state owned by this task
+        private final int square; // Last square of the path
+        private final int pos; // Length of the path
+
+        // ****************************************************
+        // Method: TourTask
+        //
+        // Purpose: Constructor.
+        // ****************************************************
+        TourTask(byte[] visited, int square, int pos) {
+            this.visited = visited;
+            this.square = square;
+            this.pos = pos;
+        }
+
+        // ****************************************************
+        // Method: compute
+        //
+        // Purpose: Forks one task per unvisited target
+        // while the path is shorter than the split
+        // depth and sums their tours, otherwise
+        // searches the subtree.
+        // ****************************************************
+        @Override
+        protected Long compute() {
+            byte[] moveMasks = neighborTable.getMoveMasks();
+            int[] moveOffsets = neighborTable.getMoveOffsets();
+            TourTask[] subtasks;
+            int count = 0;
+            long tours = 0;
+
+            if (pos >= splitDepth || pos >= squares) {
+                return knightTour(visited, square, pos);
+            }
+
+            subtasks = new TourTask[Knight.NUM_ALLOWED_MOVES];
+            for (int mask = moveMasks[square] & 0xFF; mask != 0; mask &= mask - 1) {
+                int target = square + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+
+                if (visited[target] == 0) {
+                    byte[] copy = visited.clone();
+
+                    copy[target] = 1;
+                    subtasks[count++] = new TourTask(copy, target, pos + 1);
+                }
+            }
+
+            for (int task = 0; task < count; task++) {
+                subtasks[task].fork();
+            }
+            for (int task = 0; task < count; task++) {
+                tours += subtasks[task].join();
+            }
+
+            return tours;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package knightstour;
+
+// Rule that lets TourEnumerator abandon a partial tour that can no longer be
+// completed. Rules must be sound: they may only cut a branch that contains no
+// tour, so the counts never change.
+public interface PruningRule {
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Called before a search with the padded
+    // board, where visited squares and the
+    // sentinel border are non-zero, and the
+    // neighbor table of the board.
+    // ****************************************************
+    void start(byte[] visited, NeighborTable neighborTable);
+
+    // ****************************************************
+    // Method: squareVisited
+    //
+    // Purpose: Called after the square at the linear
+    // index was marked visited.
+    // ****************************************************
+    void squareVisited(int index);
+
+    // ****************************************************
+    // Method: squareUnvisited
+    //
+    // Purpose: Called after the square at the linear
+    // index was marked unvisited again.
+    // ****************************************************
+    void squareUnvisited(int index);
+
+    // ****************************************************
+    // Method: canPrune
+    //
+    // Purpose: Returns true if no path from the head
+    // through all the remaining unvisited
+    // squares exists.
+    // ****************************************************
+    boolean canPrune(int head, int remaining);
+}
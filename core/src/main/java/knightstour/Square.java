@@ -1,18 +1,22 @@
+package knightstour;
+
 public class Square {
-    private boolean isVisited; // True if the square has been visited, otherwise
-    // false
-    private int moveNumber; // The current number from the accumulated number of
-    // moves taken so far
-    private int accessibility; // The number of possible moves from the square
+    private final ChessBoard chessBoard; // Board that stores the state of the
+    // square
+    private final int index; // Linear index of the square on the board
 
     // ************************************************
     // Method: Square()
     //
-    // Purpose: Constructor
-    // ************************************************
-    public Square() {
-        isVisited = false;
-        moveNumber = 0;
+    // Purpose: Constructor. Creates a view of the
+    // square stored at the linear index of
+    // the chess board. The board owns the
+    // state, so changes made through the view
+    // are seen by the board and vice versa.
+    // ************************************************
+    public Square(ChessBoard chessBoard, int index) {
+        this.chessBoard = chessBoard;
+        this.index = index;
     }
 
     // ************************************************
@@ -22,7 +26,7 @@ public class Square {
     // visited attribute of the square
     // ************************************************
     public void setVisited(boolean visited) {
-        isVisited = visited;
+        chessBoard.setVisitedAt(index, visited);
     }
 
     // ************************************************
@@ -31,7 +35,7 @@ public class Square {
     // Purpose: Returns the value of the visited attribute.
     // ************************************************
     public boolean isVisited() {
-        return isVisited;
+        return chessBoard.isVisitedAt(index);
     }
 
     // ************************************************
@@ -42,7 +46,7 @@ public class Square {
     // with the number.
     // ************************************************
     public void setMoveNumber(int moveNumber) {
-        this.moveNumber = moveNumber;
+        chessBoard.setMoveNumberAt(index, moveNumber);
     }
 
     // ************************************************
@@ -52,7 +56,7 @@ public class Square {
     // of the square.
     // ************************************************
     public int getMoveNumber() {
-        return moveNumber;
+        return chessBoard.getMoveNumberAt(index);
     }
 
     // ************************************************
@@ -62,7 +66,7 @@ public class Square {
     // accessibility value of the square.
     // ************************************************
     public void setAccessibility(int accessibility) {
-        this.accessibility = accessibility;
+        chessBoard.setAccessibilityAt(index, accessibility);
     }
 
     // ************************************************
@@ -72,7 +76,7 @@ public class Square {
     // square.
     // ************************************************
     public int getAccessibility() {
-        return accessibility;
+        return chessBoard.getAccessibilityAt(index);
     }
 
     // ************************************************
@@ -82,6 +86,6 @@ public class Square {
     // the square by 1.
     // ************************************************
     public void decrAccessibility() {
-        accessibility--;
+        chessBoard.decrAccessibilityAt(index);
     }
-}
\ No newline at end of file
+}
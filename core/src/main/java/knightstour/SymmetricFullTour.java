@@ -0,0 +1,195 @@
+package knightstour;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Counts the open tours from every square of the board while searching only
+// one square of each class that the eight symmetries of the square map onto
+// each other. Each class's count is multiplied by the size of the class.
+public class SymmetricFullTour {
+    private static final int NUM_SYMMETRIES = 8; // Rotations and reflections
+    // of a square board
+
+    private final ParallelFullTour search; // Counts the tours below a prefix
+    private final ForkJoinPool pool; // Pool the counting tasks run on
+    private final NeighborTable neighborTable; // Knight targets of every square
+    private final int boardSize; // Dimension of the board
+    private final int stride; // Length of a padded row
+
+    // ****************************************************
+    // Method: SymmetricFullTour
+    //
+    // Purpose: Constructor. Creates an exhaustive tour
+    // count that searches only one start square
+    // (and, while the path is symmetric, one
+    // move) of every class of squares that the
+    // eight symmetries of the board map onto
+    // each other, and multiplies the counts
+    // back by the size of the class.
+    // ****************************************************
+    public SymmetricFullTour(int dimension, int splitDepth, ForkJoinPool pool) {
+        search = new ParallelFullTour(dimension, splitDepth);
+        this.pool = pool;
+        neighborTable = NeighborTable.forBoardSize(dimension);
+        boardSize = dimension;
+        stride = dimension + 2 * ChessBoard.BORDER;
+    }
+
+    // ****************************************************
+    // Method: countAllTours
+    //
+    // Purpose: Returns the number of open tours summed
+    // over every start square of the board.
+    // ****************************************************
+    public long countAllTours() {
+        long total = 0;
+
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                int square = row * boardSize + col, fixingSymmetries = 0;
+                boolean isCanonical = true;
+
+                // Only the lowest square of each orbit is searched
+                for (int symmetry = 0; symmetry < NUM_SYMMETRIES; symmetry++) {
+                    int image = transform(symmetry, square);
+
+                    isCanonical &= image >= square;
+                    fixingSymmetries += image == square ? 1 : 0;
+                }
+                if (isCanonical) {
+                    total += NUM_SYMMETRIES / fixingSymmetries * countTours(row, col);
+                }
+            }
+        }
+
+        return total;
+    }
+
+    // ****************************************************
+    // Method: countTours
+    //
+    // Purpose: Returns the number of open tours that
+    // start on the row and column. While the
+    // path so far is fixed by some symmetries,
+    // only one move of every class of moves
+    // those symmetries map onto each other is
+    // searched.
+    // ****************************************************
+    public long countTours(int startRow, int startCol) {
+        byte[] visited = new byte[stride * stride];
+        int start = startRow * boardSize + startCol, symmetries = 0;
+
+        for (int symmetry = 0; symmetry < NUM_SYMMETRIES; symmetry++) {
+            if (transform(symmetry, start) == start) {
+                symmetries |= 1 << symmetry;
+            }
+        }
+        visited[toIndex(start)] = 1;
+
+        return countPrefix(visited, start, 1, symmetries);
+    }
+
+    // ****************************************************
+    // Method: countPrefix
+    //
+    // Purpose: Counts the tours extending the path that
+    // ends on the square. The bit mask holds the
+    // symmetries that fix every square of the
+    // path; each of them maps the tours through
+    // one next move onto the tours through its
+    // image, so only the lowest move of each
+    // class is searched and its count is
+    // multiplied by the size of the class.
+    // ****************************************************
+    private long countPrefix(byte[] visited, int square, int pathLength, int symmetries) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int index = toIndex(square);
+        long total = 0;
+
+        // Only the identity is left, so the rest of the search is plain
+        if (Integer.bitCount(symmetries) == 1) {
+            return search.countTours(pool, visited, index, pathLength);
+        }
+        if (pathLength == boardSize * boardSize) {
+            return 1;
+        }
+
+        for (int mask = moveMasks[index] & 0xFF; mask != 0; mask &= mask - 1) {
+            int target = index + moveOffsets[Integer.numberOfTrailingZeros(mask)],
+                    move = toSquare(target), classSize, fixingSymmetries = 0;
+            boolean isCanonical = true;
+
+            if (visited[target] != 0) {
+                continue;
+            }
+            for (int symmetry = 0; symmetry < NUM_SYMMETRIES; symmetry++) {
+                if ((symmetries & (1 << symmetry)) != 0) {
+                    int image = transform(symmetry, move);
+
+                    isCanonical &= image >= move;
+                    if (image == move) {
+                        fixingSymmetries |= 1 << symmetry;
+                    }
+                }
+            }
+            if (!isCanonical) {
+                continue;
+            }
+
+            // The class holds one move per coset of the symmetries that fix it
+            classSize = Integer.bitCount(symmetries) / Integer.bitCount(fixingSymmetries);
+            visited[target] = 1;
+            total += classSize * countPrefix(visited, move, pathLength + 1, fixingSymmetries);
+            visited[target] = 0;
+        }
+
+        return total;
+    }
+
+    // ****************************************************
+    // Method: transform
+    //
+    // Purpose: Returns the image of a square, row *
+    // boardSize + col, under one of the eight
+    // rotations and reflections of the board.
+    // ****************************************************
+    public int transform(int symmetry, int square) {
+        int row = square / boardSize, col = square % boardSize, last = boardSize - 1,
+                newRow, newCol;
+
+        switch (symmetry) {
+            case 0: newRow = row; newCol = col; break;
+            case 1: newRow = col; newCol = last - row; break;
+            case 2: newRow = last - row; newCol = last - col; break;
+            case 3: newRow = last - col; newCol = row; break;
+            case 4: newRow = row; newCol = last - col; break;
+            case 5: newRow = last - row; newCol = col; break;
+            case 6: newRow = col; newCol = row; break;
+            default: newRow = last - col; newCol = last - row; break;
+        }
+
+        return newRow * boardSize + newCol;
+    }
+
+    // ****************************************************
+    // Method: toIndex
+    //
+    // Purpose: Converts a square to a padded linear
+    // index.
+    // ****************************************************
+    private int toIndex(int square) {
+        return (square / boardSize + ChessBoard.BORDER) * stride
+                + square % boardSize + ChessBoard.BORDER;
+    }
+
+    // ****************************************************
+    // Method: toSquare
+    //
+    // Purpose: Converts a padded linear index to a
+    // square.
+    // ****************************************************
+    private int toSquare(int index) {
+        return (index / stride - ChessBoard.BORDER) * boardSize
+                + index % stride - ChessBoard.BORDER;
+    }
+}
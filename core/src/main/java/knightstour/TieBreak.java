@@ -0,0 +1,12 @@
+package knightstour;
+
+// Rules that choose between candidate moves with the same accessibility. Every
+// rule except LEGACY also ranks candidates with no onward move last, unless
+// the candidate is the final square of the tour.
+public enum TieBreak {
+    LEGACY, // Original Knight.findBestMove comparison, kept for compatibility
+    MOVE_ORDER, // Earliest move in the board's move order table
+    CENTRE_DISTANCE, // Candidate farthest from the centre of the board
+    DEGREE_SUM, // Pohl's rule: lowest sum of the successors' accessibility
+    LOOKAHEAD // Lowest accessibility reachable k moves ahead
+}
@@ -0,0 +1,724 @@
+package knightstour;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.BitSet;
+
+
+public class Tour {
+    private ChessBoard chessBoard; // Chess board on which the knight moves
+    private Knight knightPiece; // Knight that is moved
+    private boolean foundMove = false; // Flag: true if Knight has a move
+    // available, otherwise false
+    private TourListener tourListener = TourListener.NONE; // Receives move,
+    // dead-end and completion events
+    private boolean isClosed = false; // Flag: true if the tour must end a
+    // knight's move from the start square
+    private int[] replayMoves; // Moves of the closed or cached tour being
+    // replayed, or null when moves are chosen one at a time
+    private TourCache tourCache; // Cache of played tours, or null
+    private BitSet cacheBlocked; // Squares blocked when the tour started
+    private int[] recordedPath; // Squares visited, kept to be cached, or null
+    private int startRow, startCol; // Square the tour started on
+    private boolean isClosedTour = false; // Flag: true once the tour visited
+    // every square and ended a knight's move from the start
+    private int lastRow = -1, lastCol = -1; // Square visited last, -1 if none.
+    // The square before it is the knight's move away with the move number
+    // one lower, so no path needs to be kept to take moves back
+    private int pathLength = 0; // Squares visited by the tour
+    private byte[] triedMoves; // Moves tried from the square of every move
+    // number, one bit per move. Only kept while backtracking is on
+    private DeadEndPruning deadEndPruning; // Spots squares stranded by the
+    // moves so far, so backtracking starts before the knight runs into
+    // them. Only kept while backtracking is on
+    private int backtrackLimit = 0; // Moves that may be taken back to get out
+    // of one dead end, 0 for none
+    private int backtracks = 0; // Moves taken back so far by backtracking
+    private int retreats = 0; // Moves taken back since the tour was last
+    // deeper than ever before
+    private int deepestPath = 0; // Most squares the tour has visited at once
+    private int[] pathSquares; // Square of every move number of the current
+    // path. Only kept while backtracking is on
+    private int[] deepestSquares; // Square of every move number of the
+    // deepest path. Only kept while backtracking is on
+    private int sharedLength = 0; // Squares the current path has in common
+    // with the deepest path
+    private int restoreLength = 0; // Length of the deepest path while the
+    // knight goes back along it after a retreat gave up, otherwise 0
+    private final int[] untriedMoves = new int[Knight.NUM_ALLOWED_MOVES]; //
+    // Moves findUntriedMove passes to the board, reused on every retreat
+
+    /**
+     * Constructor. Recieves chess board and knight objects to set the members
+     * @param chessBoard
+     * @param knight
+     */
+    public Tour(ChessBoard chessBoard, Knight knight) {
+        knightPiece = knight;
+        this.chessBoard = chessBoard;
+        this.chessBoard.addKnight(knightPiece);
+    }
+
+    /*
+    //Constructor. Empty parameters.
+    // Creates knight, and passes knight to
+    // the chess board.
+     */
+
+    /**
+     * Constructor. Empty parameters.
+     * Creates knight, and passes knight to
+     *the chess board.
+     */
+    public Tour() {
+        knightPiece = new Knight();
+        chessBoard = new ChessBoard(knightPiece);
+    }
+
+    // ****************************************************
+    // Method: Tour
+    //
+    // Purpose: Constructor. Creates a knight and passes
+    // it to the chess board with the int parameter
+    // that sets the dimension of the chess board.
+    // ****************************************************
+
+    /**
+     * onstructor. Creates a knight and passes
+     * it to the chess board with the int parameter
+     * @param dimension
+     */
+    public Tour(int dimension) {
+        knightPiece = new Knight();
+        chessBoard = new ChessBoard(knightPiece, dimension);
+    }
+
+    /**
+     * Constructor. Creates a default chess board
+     * with dimension 8 x 8 and starts the knight
+     * at the square using the two int parameters.
+     * @param startRow
+     * @param startCol
+     */
+    public Tour(int startRow, int startCol) {
+        knightPiece = new Knight(startRow, startCol);
+        chessBoard = new ChessBoard(knightPiece);
+    }
+
+    // ****************************************************
+    // Method: Tour
+    //
+    // Purpose: Constructor. Creates knight and chessboard
+    // and sets knight start position, and the size
+    // of the chess board.
+    // ****************************************************
+
+    /**
+     *
+     * @param startRow
+     * @param startCol
+     * @param dimension
+     */
+    public Tour(int startRow, int startCol, int dimension) {
+        knightPiece = new Knight(startRow, startCol);
+        chessBoard = new ChessBoard(knightPiece, dimension);
+    }
+
+    // ****************************************************
+    // Method: Tour
+    //
+    // Purpose: Constructor. Creates knight and chessboard
+    // with the knight start position and a board
+    // of the size of the move grid, which stores
+    // the move numbers of the tour.
+    // ****************************************************
+    public Tour(int startRow, int startCol, MoveGrid moveGrid) {
+        knightPiece = new Knight(startRow, startCol);
+        chessBoard = new ChessBoard(knightPiece, moveGrid);
+    }
+
+    // ****************************************************
+    // Method: resetTour
+    //
+    // Purpose: Clears the knight and chess board members
+    // by pointing them to null.
+    // ****************************************************
+    public void resetTour() {
+        knightPiece = null;
+        chessBoard = null;
+    }
+
+    // ****************************************************
+    // Method: setStartPosition
+    //
+    // Purpose: Sets the start position of
+    // the knight on the chess board.
+    // ****************************************************
+    public void setStartPosition(int startRow, int startCol) {
+        knightPiece.setCurrentRow(startRow);
+        knightPiece.setCurrentCol(startCol);
+        knightPiece.setPreviousRow(startRow);
+        knightPiece.setPreviousCol(startCol);
+    }
+
+    // ****************************************************
+    // Method: getChessBoard
+    //
+    // Purpose: Returns a reference to the chess board.
+    // ****************************************************
+    public ChessBoard getChessBoard() {
+        return chessBoard;
+    }
+
+    // ****************************************************
+    // Method: getKnight
+    //
+    // Purpose: Returns a reference to the knight player.
+    // ****************************************************
+    public Knight getKnight() {
+        return knightPiece;
+    }
+
+    // ****************************************************
+    // Method: getKnight
+    //
+    // Purpose: Returns a reference to the knight player.
+    // ****************************************************
+    public Square getSquare(int row, int col) {
+        return chessBoard.getSquareAt(row, col);
+    }
+
+    // ****************************************************
+    // Method: setTourListener
+    //
+    // Purpose: Sets the listener that receives the
+    // events of the tour. Passing null
+    // removes the current listener.
+    // ****************************************************
+    public void setTourListener(TourListener listener) {
+        tourListener = listener == null ? TourListener.NONE : listener;
+    }
+
+    // ****************************************************
+    // Method: getTourListener
+    //
+    // Purpose: Returns the listener that receives the
+    // events of the tour.
+    // ****************************************************
+    public TourListener getTourListener() {
+        return tourListener;
+    }
+
+    // ****************************************************
+    // Method: setTieBreak
+    //
+    // Purpose: Sets the rule that chooses between moves
+    // with the same accessibility.
+    // ****************************************************
+    public void setTieBreak(TieBreak tieBreak) {
+        chessBoard.setTieBreak(tieBreak);
+    }
+
+    // ****************************************************
+    // Method: setClosed
+    //
+    // Purpose: Sets whether the tour must end a knight's
+    // move from the start square. A closed tour
+    // is searched with ClosedTourSolver when the
+    // first move is made and then replayed move
+    // by move. If no closed tour is found, or
+    // the board has blocked squares, which the
+    // solver cannot leave out, the tour falls
+    // back to the open heuristic and
+    // isClosedTour returns false once it ends.
+    // The solver's budget grows with the board,
+    // so only odd boards and boards below 6 x 6,
+    // which have no closed tour, are expected to
+    // fall back on a board with no blocked
+    // squares.
+    // ****************************************************
+    public void setClosed(boolean isClosed) {
+        this.isClosed = isClosed;
+    }
+
+    // ****************************************************
+    // Method: setTourCache
+    //
+    // Purpose: Sets the cache of played tours. When the
+    // first move is made, a tour of the same board
+    // is looked up and replayed if found.
+    // Otherwise the tour is played as usual and
+    // put in the cache when it ends. Passing null
+    // turns caching off.
+    // ****************************************************
+    public void setTourCache(TourCache tourCache) {
+        this.tourCache = tourCache;
+    }
+
+    // ****************************************************
+    // Method: setBacktrackLimit
+    //
+    // Purpose: Sets how many moves the tour may take back
+    // to get out of one dead end, when the
+    // heuristic runs into a dead end before the
+    // board is full or, after its first dead
+    // end, leaves a square that can no longer be
+    // reached. From there the knight retreats
+    // one square at a time and continues with
+    // the best move not yet tried, so no board
+    // is ever copied. The count starts again
+    // whenever the tour gets deeper than it has
+    // ever been, so a tour takes back at most
+    // the limit times the number of squares.
+    // When a retreat uses up the limit, the
+    // knight goes back along the deepest path
+    // the tour has reached and carries on from
+    // its end with the heuristic. The first
+    // dead end is where the tour would end
+    // without backtracking, so a tour is never
+    // shorter than it would be with the limit
+    // at 0, the default, which turns
+    // backtracking off.
+    // ****************************************************
+    public void setBacktrackLimit(int backtrackLimit) {
+        this.backtrackLimit = Math.max(0, backtrackLimit);
+    }
+
+    // ****************************************************
+    // Method: getBacktracks
+    //
+    // Purpose: Returns the number of moves taken back by
+    // backtracking in the current tour.
+    // ****************************************************
+    public int getBacktracks() {
+        return backtracks;
+    }
+
+    // ****************************************************
+    // Method: isClosed
+    //
+    // Purpose: Returns true if a closed tour is asked for.
+    // ****************************************************
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    // ****************************************************
+    // Method: isClosedTour
+    //
+    // Purpose: Returns true once the tour visited every
+    // square and ended a knight's move from the
+    // start square.
+    // ****************************************************
+    public boolean isClosedTour() {
+        return isClosedTour;
+    }
+
+    // ****************************************************
+    // Method: hasMove
+    //
+    // Purpose: Returns boolean class member flag, which
+    // is true if the knight has an available move,
+    // and false if the knight does not have a move.
+    // If the knight does not have a move, then
+    // the tour is obviously finished.
+    // ****************************************************
+    public boolean hasMove() {
+        return foundMove;
+    }
+
+    // ****************************************************
+    // Method: playGame
+    //
+    // Purpose: Plays the knight's tour game, and outputs
+    // the board to the console.
+    // ****************************************************
+    public void playGame() {
+        PrintWriter out;
+
+        do {
+            move();
+
+        } while (foundMove == true);
+
+        out = ChessBoard.createConsoleWriter();
+        out.println("Game Board");
+        chessBoard.writeGameBoard(out);
+
+        out.printf("Number of moves: %d\n", knightPiece.getMoveCounter());
+        if (isClosed) {
+            out.printf("Closed tour: %s\n", isClosedTour ? "yes" : "no");
+        }
+
+        out.println();
+        out.flush();
+    }
+
+    // ****************************************************
+    // Method: move
+    //
+    // Purpose: Moves the knight based on the underlying
+    // chess board heuristics.
+    // ****************************************************
+    public void move() {
+        int bestMove, curRow = knightPiece.getCurrentRow(),
+                curCol = knightPiece.getCurrentCol(),
+                moveCounter = knightPiece.getMoveCounter();
+
+        if (moveCounter == 1) {
+            startRow = curRow;
+            startCol = curCol;
+            isClosedTour = false;
+            replayMoves = null;
+            recordedPath = null;
+            backtracks = 0;
+            retreats = 0;
+            deepestPath = 0;
+            sharedLength = 0;
+            restoreLength = 0;
+            pathLength = 0;
+            triedMoves = null;
+            deadEndPruning = null;
+            pathSquares = null;
+            deepestSquares = null;
+            if (backtrackLimit > 0) {
+                triedMoves = new byte[chessBoard.getBoardSize() * chessBoard.getBoardSize()];
+                pathSquares = new int[triedMoves.length];
+                deepestSquares = new int[triedMoves.length];
+                deadEndPruning = new DeadEndPruning();
+                deadEndPruning.start(chessBoard.getVisitedCells(), chessBoard.getNeighborTable());
+            }
+            if (tourCache != null) {
+                lookUpTour(curRow, curCol);
+            }
+            // Only blocked squares are visited before the first move
+            if (replayMoves == null && isClosed && chessBoard.getNumVisitedSquares() == 0) {
+                replayMoves = new ClosedTourSolver(chessBoard.getBoardSize()).solve(curRow, curCol);
+            }
+        }
+        if (recordedPath != null) {
+            recordedPath[moveCounter - 1] = curRow * chessBoard.getBoardSize() + curCol;
+        }
+
+        if (replayMoves != null) {
+            // Replay the closed or cached tour found before the first move
+            chessBoard.markBoardSquare(curRow, curCol, moveCounter);
+            chessBoard.lowerAccessibility();
+            bestMove = chessBoard.isFull() || moveCounter > replayMoves.length
+                    ? -1 : replayMoves[moveCounter - 1];
+        } else {
+            // Mark visited status and move number on square at current
+            // position, lower accessibility values of surrounding squares and
+            // find the best move based on the accessibility heuristic, all in
+            // one pass
+            bestMove = chessBoard.visitAndFindBestMove(curRow, curCol, moveCounter);
+        }
+        lastRow = curRow;
+        lastCol = curCol;
+        pathLength = moveCounter;
+        if (triedMoves != null) {
+            triedMoves[moveCounter - 1] = 0;
+            deadEndPruning.squareVisited(chessBoard.getIndex(curRow, curCol));
+            keepSquare(chessBoard.getIndex(curRow, curCol));
+        }
+        tourListener.onMove(moveCounter, curRow, curCol);
+
+        // Go on along the deepest path after a retreat gave up
+        if (restoreLength > pathLength) {
+            bestMove = findMoveTo(chessBoard.getIndex(curRow, curCol), deepestSquares[pathLength]);
+        } else {
+            restoreLength = 0;
+        }
+
+        // Retreat from a dead end, or from a square that stranded another
+        // one, to a square with a move left to try. Stranded squares are
+        // only looked for once a dead end was taken back, so the tour first
+        // gets as deep as the heuristic alone would
+        if (triedMoves != null && replayMoves == null && restoreLength == 0 && !chessBoard.isFull()
+                && (bestMove < 0 || backtracks > 0 && retreats < backtrackLimit && deadEndPruning.canPrune(
+                chessBoard.getIndex(curRow, curCol),
+                chessBoard.getBoardSize() * chessBoard.getBoardSize() - chessBoard.getNumVisitedSquares()))) {
+            bestMove = backtrack(bestMove);
+            curRow = knightPiece.getCurrentRow();
+            curCol = knightPiece.getCurrentCol();
+            moveCounter = knightPiece.getMoveCounter();
+        }
+
+        // If a best move was found, there is at least one possible move
+        foundMove = bestMove >= 0;
+        if (foundMove) {
+            // Move the knight to the best move
+            if (triedMoves != null) {
+                triedMoves[moveCounter - 1] |= (byte) (1 << bestMove);
+            }
+            knightPiece.move(bestMove);
+            return;
+        }
+
+        if (recordedPath != null) {
+            tourCache.put(chessBoard.getBoardSize(), startRow, startCol, cacheBlocked, getCacheVariant(),
+                    Arrays.copyOf(recordedPath, moveCounter));
+            recordedPath = null;
+        }
+        if (chessBoard.isFull()) {
+            isClosedTour = Math.abs((curRow - startRow) * (curCol - startCol)) == 2;
+            tourListener.onComplete(moveCounter, curRow, curCol);
+        } else {
+            tourListener.onDeadEnd(moveCounter, curRow, curCol);
+        }
+    }
+
+    // ****************************************************
+    // Method: undoMove
+    //
+    // Purpose: Takes back the last square visited. The
+    // board and its accessibility are restored
+    // in O(8) and the knight goes back to the
+    // square, which the next move visits again.
+    // Returns false if no square is visited.
+    // ****************************************************
+    public boolean undoMove() {
+        int row = lastRow, col = lastCol;
+
+        if (pathLength == 0) {
+            return false;
+        }
+        takeBackLastSquare();
+        placeKnight(row, col, pathLength + 1);
+        foundMove = true;
+
+        return true;
+    }
+
+    // ****************************************************
+    // Method: backtrack
+    //
+    // Purpose: Takes back squares from a dead end until
+    // one has an unvisited target not tried from
+    // it yet, within the backtrack limit of the
+    // dead end. Leaves the knight on that square
+    // and returns the best such move. If the
+    // limit runs out first, goes back to the
+    // deepest path instead, and if no square
+    // could be taken back, returns the move the
+    // heuristic chose, -1 at a dead end.
+    // ****************************************************
+    private int backtrack(int bestMove) {
+        int untriedMove;
+
+        while (retreats < backtrackLimit && pathLength > 1) {
+            takeBackLastSquare();
+            backtracks++;
+            retreats++;
+            untriedMove = findUntriedMove(lastRow, lastCol, triedMoves[pathLength - 1]);
+            if (untriedMove >= 0) {
+                placeKnight(lastRow, lastCol, pathLength);
+                return untriedMove;
+            }
+        }
+        if (pathLength < deepestPath) {
+            return restoreDeepestPath();
+        }
+
+        return bestMove;
+    }
+
+    // ****************************************************
+    // Method: restoreDeepestPath
+    //
+    // Purpose: Takes back squares until the current path
+    // is part of the deepest path, leaves the
+    // knight on the last square they share and
+    // returns the move to the next square of the
+    // deepest path. The moves after it follow
+    // the deepest path to its end.
+    // ****************************************************
+    private int restoreDeepestPath() {
+        while (pathLength > sharedLength) {
+            takeBackLastSquare();
+            backtracks++;
+        }
+        placeKnight(lastRow, lastCol, pathLength);
+        restoreLength = deepestPath;
+
+        return findMoveTo(chessBoard.getIndex(lastRow, lastCol), deepestSquares[pathLength]);
+    }
+
+    // ****************************************************
+    // Method: keepSquare
+    //
+    // Purpose: Keeps the square of the last move in the
+    // current path, and copies the squares the
+    // deepest path does not share once the
+    // current path gets deeper than it.
+    // ****************************************************
+    private void keepSquare(int index) {
+        pathSquares[pathLength - 1] = index;
+        if (pathLength > deepestPath) {
+            System.arraycopy(pathSquares, sharedLength, deepestSquares, sharedLength, pathLength - sharedLength);
+            deepestPath = pathLength;
+            sharedLength = pathLength;
+            retreats = 0;
+        } else if (sharedLength == pathLength - 1 && deepestSquares[sharedLength] == index) {
+            sharedLength = pathLength;
+        }
+    }
+
+    // ****************************************************
+    // Method: takeBackLastSquare
+    //
+    // Purpose: Removes the last square visited from the
+    // board, tells the listener and finds the
+    // square visited before it.
+    // ****************************************************
+    private void takeBackLastSquare() {
+        int row = lastRow, col = lastCol, index = chessBoard.getIndex(row, col), previous;
+
+        lastRow = -1;
+        lastCol = -1;
+        for (int moveNumber = 0; moveNumber < Knight.NUM_ALLOWED_MOVES && pathLength > 1; moveNumber++) {
+            previous = index + chessBoard.getMoveOffset(moveNumber);
+            if (chessBoard.isVisitedAt(previous) && chessBoard.getMoveNumberAt(previous) == pathLength - 1) {
+                lastRow = chessBoard.getRowOf(previous);
+                lastCol = chessBoard.getColOf(previous);
+                break;
+            }
+        }
+        chessBoard.unmarkBoardSquare(row, col);
+        if (deadEndPruning != null) {
+            deadEndPruning.squareUnvisited(index);
+        }
+        pathLength--;
+        sharedLength = Math.min(sharedLength, pathLength);
+        tourListener.onUndo(pathLength + 1, row, col);
+    }
+
+    // ****************************************************
+    // Method: findUntriedMove
+    //
+    // Purpose: Returns the best move, by the board's
+    // heuristic, to an unvisited target of the
+    // square that is not among the tried moves,
+    // or -1 if there is none.
+    // ****************************************************
+    private int findUntriedMove(int row, int col, byte tried) {
+        int index = chessBoard.getIndex(row, col), count = 0;
+
+        for (int moveNumber = 0; moveNumber < Knight.NUM_ALLOWED_MOVES; moveNumber++) {
+            if ((tried & 1 << moveNumber) == 0
+                    && !chessBoard.isVisitedAt(index + chessBoard.getMoveOffset(moveNumber))) {
+                untriedMoves[count++] = moveNumber;
+            }
+        }
+
+        return count == 0 ? -1 : chessBoard.selectBestMove(index, untriedMoves, count);
+    }
+
+    // ****************************************************
+    // Method: findMoveTo
+    //
+    // Purpose: Returns the move from one square to the
+    // other, or -1 if they are not a knight's
+    // move apart.
+    // ****************************************************
+    private int findMoveTo(int index, int target) {
+        for (int moveNumber = 0; moveNumber < Knight.NUM_ALLOWED_MOVES; moveNumber++) {
+            if (index + chessBoard.getMoveOffset(moveNumber) == target) {
+                return moveNumber;
+            }
+        }
+
+        return -1;
+    }
+
+    // ****************************************************
+    // Method: placeKnight
+    //
+    // Purpose: Puts the knight on the square with the
+    // move counter it had there.
+    // ****************************************************
+    private void placeKnight(int row, int col, int moveCounter) {
+        knightPiece.setCurrentRow(row);
+        knightPiece.setCurrentCol(col);
+        knightPiece.setMoveCounter(moveCounter);
+    }
+
+    // ****************************************************
+    // Method: lookUpTour
+    //
+    // Purpose: Looks the board up in the tour cache before
+    // the first move. A cached tour is turned into
+    // the moves to replay. Otherwise the squares
+    // of the tour are recorded to cache it later.
+    // ****************************************************
+    private void lookUpTour(int curRow, int curCol) {
+        int size = chessBoard.getBoardSize();
+        int[] path;
+
+        cacheBlocked = new BitSet(size * size);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (chessBoard.isSquareVisited(row, col)) {
+                    cacheBlocked.set(row * size + col);
+                }
+            }
+        }
+
+        path = tourCache.get(size, curRow, curCol, cacheBlocked, getCacheVariant());
+        if (path == null) {
+            recordedPath = new int[size * size];
+            return;
+        }
+        replayMoves = new int[path.length - 1];
+        for (int step = 1; step < path.length; step++) {
+            replayMoves[step - 1] = findMoveNumber(path[step] / size - path[step - 1] / size,
+                    path[step] % size - path[step - 1] % size);
+        }
+    }
+
+    // ****************************************************
+    // Method: getCacheVariant
+    //
+    // Purpose: Returns the name under which the tours of
+    // the current rules are cached. It holds the
+    // move order or lookahead depth when the tie
+    // break rule uses them.
+    // ****************************************************
+    private String getCacheVariant() {
+        StringBuilder variant = new StringBuilder(chessBoard.getTieBreak().toString());
+
+        if (chessBoard.getTieBreak() == TieBreak.MOVE_ORDER) {
+            variant.append("-order");
+            for (int moveNum : chessBoard.getMoveOrder()) {
+                variant.append(moveNum);
+            }
+        } else if (chessBoard.getTieBreak() == TieBreak.LOOKAHEAD) {
+            variant.append("-depth").append(chessBoard.getLookaheadDepth());
+        }
+        if (isClosed) {
+            variant.append("-closed");
+        }
+        if (backtrackLimit > 0) {
+            variant.append("-backtrack").append(backtrackLimit);
+        }
+
+        return variant.toString();
+    }
+
+    // ****************************************************
+    // Method: findMoveNumber
+    //
+    // Purpose: Returns the knight move that changes the
+    // row and column by the given amounts.
+    // ****************************************************
+    private int findMoveNumber(int rowChange, int colChange) {
+        for (int moveNumber = 0; moveNumber < Knight.NUM_ALLOWED_MOVES; moveNumber++) {
+            if (knightPiece.getVerticalMoveValue(moveNumber) == rowChange
+                    && knightPiece.getHorizontalMoveValue(moveNumber) == colChange) {
+                return moveNumber;
+            }
+        }
+
+        throw new IllegalStateException("Cached tour has no knight move " + rowChange + ", " + colChange);
+    }
+}
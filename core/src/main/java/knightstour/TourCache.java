@@ -0,0 +1,479 @@
+package knightstour;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Remembers the tours already played. A query is turned into the canonical
+// orientation of its board under the 8 symmetries of the square, so all
+// rotations and reflections of one board share one entry.
+public class TourCache {
+    private static final int MAGIC = 0x4B544331; // "KTC1", start of a cache file
+    private static final int NUM_SYMMETRIES = 8; // Rotations and reflections
+    private static final long ENTRY_OVERHEAD = 128; // Estimated bytes of the
+    // map entry, key and array headers of one cached tour
+
+    private final long maxBytes; // Memory the cached tours may use
+    private final LinkedHashMap<Key, int[]> tours = new LinkedHashMap<>(16, 0.75f, true); // Paths
+    // in canonical orientation, least recently used first
+    private long bytesUsed = 0; // Estimated memory of the cached tours
+    private Path directory; // Directory of the disk tier, or null
+    private long hits = 0; // Queries answered from the cache
+    private long misses = 0; // Queries not in the cache
+
+    // ****************************************************
+    // Method: TourCache
+    //
+    // Purpose: Constructor. Creates a cache whose tours
+    // use at most maxBytes of memory.
+    // ****************************************************
+    public TourCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Invalid cache size " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    // ****************************************************
+    // Method: setDirectory
+    //
+    // Purpose: Sets the directory of the disk tier. Every
+    // tour put in the cache is also written there,
+    // and tours missing from memory are looked up
+    // there, so the cache survives restarts.
+    // Passing null turns the disk tier off.
+    // ****************************************************
+    public synchronized void setDirectory(Path directory) throws IOException {
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.directory = directory;
+    }
+
+    // ****************************************************
+    // Method: get
+    //
+    // Purpose: Returns the cached tour of the board, as
+    // the squares (row * size + col) in the order
+    // visited, or null if it is not cached. The
+    // variant names the rule that played the
+    // tour, so different rules do not mix.
+    // ****************************************************
+    public synchronized int[] get(int size, int startRow, int startCol, BitSet blocked, String variant) {
+        int symmetry = findCanonicalSymmetry(size, startRow * size + startCol, blocked);
+        Key key = createKey(size, symmetry, startRow * size + startCol, blocked, variant);
+        int[] path = tours.get(key), result;
+
+        if (path == null && directory != null) {
+            path = readFile(key);
+            if (path != null) {
+                store(key, path);
+            }
+        }
+        if (path == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+
+        result = new int[path.length];
+        for (int step = 0; step < path.length; step++) {
+            result[step] = untransform(symmetry, size, path[step]);
+        }
+        return result;
+    }
+
+    // ****************************************************
+    // Method: put
+    //
+    // Purpose: Caches the tour of the board, given as the
+    // squares (row * size + col) in the order
+    // visited.
+    // ****************************************************
+    public synchronized void put(int size, int startRow, int startCol, BitSet blocked, String variant,
+            int[] path) {
+        int symmetry = findCanonicalSymmetry(size, startRow * size + startCol, blocked);
+        Key key = createKey(size, symmetry, startRow * size + startCol, blocked, variant);
+        int[] canonicalPath = new int[path.length];
+
+        for (int step = 0; step < path.length; step++) {
+            canonicalPath[step] = transform(symmetry, size, path[step]);
+        }
+        store(key, canonicalPath);
+        if (directory != null) {
+            writeFile(key, canonicalPath);
+        }
+    }
+
+    // ****************************************************
+    // Method: getBytesUsed
+    //
+    // Purpose: Returns the estimated memory of the tours
+    // held in memory.
+    // ****************************************************
+    public synchronized long getBytesUsed() {
+        return bytesUsed;
+    }
+
+    // ****************************************************
+    // Method: size
+    //
+    // Purpose: Returns the number of tours held in memory.
+    // ****************************************************
+    public synchronized int size() {
+        return tours.size();
+    }
+
+    // ****************************************************
+    // Method: getHits
+    //
+    // Purpose: Returns the number of queries answered
+    // from the cache.
+    // ****************************************************
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    // ****************************************************
+    // Method: getMisses
+    //
+    // Purpose: Returns the number of queries that were
+    // not in the cache.
+    // ****************************************************
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    // ****************************************************
+    // Method: clear
+    //
+    // Purpose: Removes every tour held in memory. The
+    // disk tier is left as it is.
+    // ****************************************************
+    public synchronized void clear() {
+        tours.clear();
+        bytesUsed = 0;
+    }
+
+    // ****************************************************
+    // Method: store
+    //
+    // Purpose: Adds the tour to memory and evicts the
+    // least recently used tours until the cache
+    // fits in maxBytes again. A tour larger than
+    // the whole cache is not kept.
+    // ****************************************************
+    private void store(Key key, int[] path) {
+        long bytes = estimateBytes(key, path);
+        int[] previous;
+        Iterator<Map.Entry<Key, int[]>> eldest;
+
+        if (bytes > maxBytes) {
+            return;
+        }
+        previous = tours.put(key, path);
+        if (previous != null) {
+            bytesUsed -= estimateBytes(key, previous);
+        }
+        bytesUsed += bytes;
+
+        eldest = tours.entrySet().iterator();
+        while (bytesUsed > maxBytes) {
+            Map.Entry<Key, int[]> entry = eldest.next();
+
+            bytesUsed -= estimateBytes(entry.getKey(), entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    // ****************************************************
+    // Method: estimateBytes
+    //
+    // Purpose: Returns the estimated memory of one cached
+    // tour and its key.
+    // ****************************************************
+    private static long estimateBytes(Key key, int[] path) {
+        return ENTRY_OVERHEAD + 8L * key.blocked.length + 2L * key.variant.length()
+                + 4L * path.length;
+    }
+
+    // ****************************************************
+    // Method: findCanonicalSymmetry
+    //
+    // Purpose: Returns the symmetry that maps the board to
+    // its canonical orientation: the one with the
+    // smallest start square, and among those the
+    // smallest set of blocked squares.
+    // ****************************************************
+    private static int findCanonicalSymmetry(int size, int start, BitSet blocked) {
+        int bestSymmetry = 0, bestStart = start;
+        long[] bestBlocked = blocked.toLongArray();
+
+        for (int symmetry = 1; symmetry < NUM_SYMMETRIES; symmetry++) {
+            int candidateStart = transform(symmetry, size, start);
+            long[] candidateBlocked;
+
+            if (candidateStart > bestStart) {
+                continue;
+            }
+            candidateBlocked = transform(symmetry, size, blocked).toLongArray();
+            if (candidateStart < bestStart || compare(candidateBlocked, bestBlocked) < 0) {
+                bestSymmetry = symmetry;
+                bestStart = candidateStart;
+                bestBlocked = candidateBlocked;
+            }
+        }
+
+        return bestSymmetry;
+    }
+
+    // ****************************************************
+    // Method: createKey
+    //
+    // Purpose: Returns the key of the board in the
+    // orientation given by the symmetry.
+    // ****************************************************
+    private static Key createKey(int size, int symmetry, int start, BitSet blocked, String variant) {
+        return new Key(size, transform(symmetry, size, start),
+                transform(symmetry, size, blocked).toLongArray(), variant);
+    }
+
+    // ****************************************************
+    // Method: compare
+    //
+    // Purpose: Compares two square sets by the lowest
+    // square in which they differ. The set that
+    // holds that square is the smaller one.
+    // ****************************************************
+    private static int compare(long[] first, long[] second) {
+        int words = Math.max(first.length, second.length);
+
+        for (int word = 0; word < words; word++) {
+            long firstWord = word < first.length ? first[word] : 0,
+                    secondWord = word < second.length ? second[word] : 0;
+
+            if (firstWord != secondWord) {
+                long lowestDifference = Long.lowestOneBit(firstWord ^ secondWord);
+
+                return (firstWord & lowestDifference) != 0 ? -1 : 1;
+            }
+        }
+
+        return 0;
+    }
+
+    // ****************************************************
+    // Method: transform
+    //
+    // Purpose: Maps the square (row * size + col) by the
+    // symmetry. Bit 2 of the symmetry swaps row
+    // and column, then bit 0 mirrors the row and
+    // bit 1 mirrors the column.
+    // ****************************************************
+    private static int transform(int symmetry, int size, int square) {
+        int row = square / size, col = square % size;
+
+        if ((symmetry & 4) != 0) {
+            int swap = row;
+
+            row = col;
+            col = swap;
+        }
+        if ((symmetry & 1) != 0) {
+            row = size - 1 - row;
+        }
+        if ((symmetry & 2) != 0) {
+            col = size - 1 - col;
+        }
+
+        return row * size + col;
+    }
+
+    // ****************************************************
+    // Method: untransform
+    //
+    // Purpose: Maps the square back by the inverse of
+    // the symmetry, undoing the steps of
+    // transform in reverse order.
+    // ****************************************************
+    private static int untransform(int symmetry, int size, int square) {
+        int row = square / size, col = square % size;
+
+        if ((symmetry & 1) != 0) {
+            row = size - 1 - row;
+        }
+        if ((symmetry & 2) != 0) {
+            col = size - 1 - col;
+        }
+        if ((symmetry & 4) != 0) {
+            int swap = row;
+
+            row = col;
+            col = swap;
+        }
+
+        return row * size + col;
+    }
+
+    // ****************************************************
+    // Method: transform
+    //
+    // Purpose: Maps every square of the set by the
+    // symmetry.
+    // ****************************************************
+    private static BitSet transform(int symmetry, int size, BitSet squares) {
+        BitSet result;
+
+        if (symmetry == 0) {
+            return squares;
+        }
+        result = new BitSet(size * size);
+        for (int square = squares.nextSetBit(0); square >= 0; square = squares.nextSetBit(square + 1)) {
+            result.set(transform(symmetry, size, square));
+        }
+
+        return result;
+    }
+
+    // ****************************************************
+    // Method: getFile
+    //
+    // Purpose: Returns the disk tier file of the key.
+    // Keys whose names collide share a file, which
+    // holds the full key so a collision reads as a
+    // miss.
+    // ****************************************************
+    private Path getFile(Key key) {
+        return directory.resolve(String.format("%d-%d-%s-%08x.tour", key.size, key.start,
+                key.variant.replaceAll("[^A-Za-z0-9_]", "_"), Arrays.hashCode(key.blocked)));
+    }
+
+    // ****************************************************
+    // Method: readFile
+    //
+    // Purpose: Reads the tour of the key from the disk
+    // tier. Returns null if there is no file for
+    // the key or it cannot be read.
+    // ****************************************************
+    private int[] readFile(Key key) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getFile(key))))) {
+            long[] blocked;
+            int[] path;
+
+            if (in.readInt() != MAGIC || in.readInt() != key.size || in.readInt() != key.start
+                    || !in.readUTF().equals(key.variant)) {
+                return null;
+            }
+            blocked = new long[in.readInt()];
+            for (int word = 0; word < blocked.length; word++) {
+                blocked[word] = in.readLong();
+            }
+            if (!Arrays.equals(blocked, key.blocked)) {
+                return null;
+            }
+            path = new int[in.readInt()];
+            for (int step = 0; step < path.length; step++) {
+                path[step] = in.readInt();
+            }
+
+            return path;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Could not read cached tour: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ****************************************************
+    // Method: writeFile
+    //
+    // Purpose: Writes the tour of the key to the disk
+    // tier. The file is written under a temporary
+    // name and then moved in place, so a reader
+    // never sees half a file. A failed write only
+    // loses the disk copy.
+    // ****************************************************
+    private void writeFile(Key key, int[] path) {
+        Path file = getFile(key), temporary = null;
+
+        try {
+            temporary = Files.createTempFile(directory, "tour", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(key.size);
+                out.writeInt(key.start);
+                out.writeUTF(key.variant);
+                out.writeInt(key.blocked.length);
+                for (long word : key.blocked) {
+                    out.writeLong(word);
+                }
+                out.writeInt(path.length);
+                for (int square : path) {
+                    out.writeInt(square);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write cached tour: " + e.getMessage());
+            try {
+                if (temporary != null) {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException ignored) {
+                // The temporary file is left behind
+            }
+        }
+    }
+
+    // ****************************************************
+    // Class: Key
+    //
+    // Purpose: Board of a cached tour in canonical
+    // orientation.
+    // ****************************************************
+    private static final class Key {
+        private final int size; // Board dimension
+        private final int start; // Start square, row * size + col
+        private final long[] blocked; // Blocked squares, as BitSet words
+        private final String variant; // Rule that played the tour
+        private final int hash; // Hash of all of the above
+
+        Key(int size, int start, long[] blocked, String variant) {
+            this.size = size;
+            this.start = start;
+            this.blocked = blocked;
+            this.variant = variant;
+            hash = ((size * 31 + start) * 31 + Arrays.hashCode(blocked)) * 31 + variant.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            Key key;
+
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            key = (Key) other;
+            return size == key.size && start == key.start && Arrays.equals(blocked, key.blocked)
+                    && variant.equals(key.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
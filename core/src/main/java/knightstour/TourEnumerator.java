@@ -0,0 +1,311 @@
+package knightstour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Searches every open tour from a square depth first, with pluggable pruning
+// rules, blocked squares, and limits on the tours found, the running time and
+// cancellation. Tours can be counted, kept as grids or streamed to a
+// TourSink.
+public class TourEnumerator {
+    private static final int CHECK_INTERVAL = 4096; // Nodes between deadline
+    // and cancellation checks, so the clock is not read at every node
+
+    private final NeighborTable neighborTable; // Knight targets of every square
+    private final int boardSize; // Dimension of the board
+    private final int stride; // Length of a padded row
+    private PruningRule[] pruningRules = new PruningRule[0]; // Rules applied at
+    // every node
+    private final boolean[] blockedSquares; // Squares the tours must avoid, by
+    // row * boardSize + col
+    private long maxSolutions = Long.MAX_VALUE; // Tours after which to stop
+    private int maxKeptTours; // Tours to keep as grids in the result
+    private long timeLimitMillis; // Running time after which to stop, or 0
+    private CancellationToken cancellationToken; // Token to poll, or null
+    private TourSink tourSink; // Receiver of every tour found, or null
+    private byte[] visited; // Padded board being searched
+    private int[] path; // Linear index of the square at every move
+    private byte[] moveCodes; // Knight move number of every move on the path
+    private int squares; // Number of squares the tours must visit
+    private long tourCount; // Tours found so far
+    private List<int[][]> keptTours; // First tours found
+    private long nodesVisited; // Nodes of the search tree visited so far
+    private long nextCheck; // Node count at which to check the budget
+    private EnumerationResult.StopReason stopReason; // Set once the search
+    // has to end early
+
+    // ****************************************************
+    // Method: TourEnumerator
+    //
+    // Purpose: Constructor. Creates an exhaustive tour
+    // search for a board with the size supplied
+    // by the parameter.
+    // ****************************************************
+    public TourEnumerator(int dimension) {
+        neighborTable = NeighborTable.forBoardSize(dimension);
+        boardSize = dimension;
+        stride = dimension + 2 * ChessBoard.BORDER;
+        blockedSquares = new boolean[dimension * dimension];
+    }
+
+    // ****************************************************
+    // Method: addPruningRule
+    //
+    // Purpose: Adds a rule that cuts branches which
+    // cannot hold a tour. Rules are applied in
+    // the order they were added.
+    // ****************************************************
+    public void addPruningRule(PruningRule rule) {
+        PruningRule[] rules = Arrays.copyOf(pruningRules, pruningRules.length + 1);
+
+        rules[pruningRules.length] = rule;
+        pruningRules = rules;
+    }
+
+    // ****************************************************
+    // Method: setBlockedSquare
+    //
+    // Purpose: Marks a square the tours must not visit,
+    // or clears the mark.
+    // ****************************************************
+    public void setBlockedSquare(int row, int col, boolean isBlocked) {
+        if (row < 0 || col < 0 || row >= boardSize || col >= boardSize) {
+            throw new IllegalArgumentException("Square (" + row + ", " + col + ") is off the board");
+        }
+        blockedSquares[row * boardSize + col] = isBlocked;
+    }
+
+    // ****************************************************
+    // Method: setMaxSolutions
+    //
+    // Purpose: Stops the search once this many tours
+    // were found.
+    // ****************************************************
+    public void setMaxSolutions(long maxSolutions) {
+        if (maxSolutions < 1) {
+            throw new IllegalArgumentException("Maximum solutions must be positive: " + maxSolutions);
+        }
+        this.maxSolutions = maxSolutions;
+    }
+
+    // ****************************************************
+    // Method: setMaxKeptTours
+    //
+    // Purpose: Sets how many of the first tours the
+    // result holds as grids.
+    // ****************************************************
+    public void setMaxKeptTours(int maxKeptTours) {
+        if (maxKeptTours < 0) {
+            throw new IllegalArgumentException("Kept tours must not be negative: " + maxKeptTours);
+        }
+        this.maxKeptTours = maxKeptTours;
+    }
+
+    // ****************************************************
+    // Method: setTimeLimit
+    //
+    // Purpose: Stops every later search once it ran for
+    // the number of milliseconds, or never if 0.
+    // ****************************************************
+    public void setTimeLimit(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time limit must not be negative: " + millis);
+        }
+        timeLimitMillis = millis;
+    }
+
+    // ****************************************************
+    // Method: setCancellationToken
+    //
+    // Purpose: Stops the search soon after the token is
+    // cancelled from another thread.
+    // ****************************************************
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    // ****************************************************
+    // Method: setTourSink
+    //
+    // Purpose: Passes the move codes of every tour found
+    // to the sink, or to nobody if null.
+    // ****************************************************
+    public void setTourSink(TourSink tourSink) {
+        this.tourSink = tourSink;
+    }
+
+    // ****************************************************
+    // Method: getNodesVisited
+    //
+    // Purpose: Returns the number of search nodes the
+    // last search visited.
+    // ****************************************************
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    // ****************************************************
+    // Method: countTours
+    //
+    // Purpose: Returns the number of open tours that
+    // start on the row and column, within the
+    // budget set on the enumerator.
+    // ****************************************************
+    public long countTours(int startRow, int startCol) {
+        return enumerate(startRow, startCol).getTourCount();
+    }
+
+    // ****************************************************
+    // Method: enumerate
+    //
+    // Purpose: Searches the open tours that start on the
+    // row and column and visit every square that
+    // is not blocked, until the search tree is
+    // exhausted or the budget runs out.
+    // ****************************************************
+    public EnumerationResult enumerate(int startRow, int startCol) {
+        long startNanos = System.nanoTime();
+        int start = (startRow + ChessBoard.BORDER) * stride + startCol + ChessBoard.BORDER;
+        long deadline = timeLimitMillis == 0 ? 0 : startNanos + timeLimitMillis * 1000000;
+
+        if (startRow < 0 || startCol < 0 || startRow >= boardSize || startCol >= boardSize) {
+            throw new IllegalArgumentException("Square (" + startRow + ", " + startCol + ") is off the board");
+        }
+        if (blockedSquares[startRow * boardSize + startCol]) {
+            throw new IllegalArgumentException("Start square (" + startRow + ", " + startCol + ") is blocked");
+        }
+
+        visited = new byte[stride * stride];
+        Arrays.fill(visited, (byte) 1);
+        squares = 0;
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
+                if (!blockedSquares[row * boardSize + col]) {
+                    visited[(row + ChessBoard.BORDER) * stride + col + ChessBoard.BORDER] = 0;
+                    squares++;
+                }
+            }
+        }
+        path = new int[squares];
+        moveCodes = new byte[squares - 1];
+        tourCount = 0;
+        keptTours = new ArrayList<>();
+        nodesVisited = 0;
+        nextCheck = CHECK_INTERVAL;
+        stopReason = null;
+
+        for (PruningRule rule : pruningRules) {
+            rule.start(visited, neighborTable);
+        }
+        if (tourSink != null) {
+            tourSink.start(boardSize, startRow, startCol, squares - 1);
+        }
+        visit(start);
+        path[0] = start;
+        knightTour(start, 1, deadline);
+        unvisit(start);
+
+        return new EnumerationResult(tourCount, keptTours, nodesVisited,
+                System.nanoTime() - startNanos,
+                stopReason == null ? EnumerationResult.StopReason.COMPLETE : stopReason);
+    }
+
+    // ****************************************************
+    // Method: knightTour
+    //
+    // Purpose: Searches the tours that extend the path
+    // from the square at the linear index.
+    // ****************************************************
+    private void knightTour(int square, int pos, long deadline) {
+        byte[] moveMasks = neighborTable.getMoveMasks();
+        int[] moveOffsets = neighborTable.getMoveOffsets();
+        int target;
+
+        if (++nodesVisited >= nextCheck) {
+            nextCheck += CHECK_INTERVAL;
+            if (cancellationToken != null && cancellationToken.isCancelled()) {
+                stopReason = EnumerationResult.StopReason.CANCELLED;
+                return;
+            }
+            if (deadline != 0 && System.nanoTime() - deadline > 0) {
+                stopReason = EnumerationResult.StopReason.DEADLINE;
+                return;
+            }
+        }
+        if (pos >= squares) {
+            foundTour();
+            return;
+        }
+        for (PruningRule rule : pruningRules) {
+            if (rule.canPrune(square, squares - pos)) {
+                return;
+            }
+        }
+
+        for (int mask = moveMasks[square] & 0xFF; mask != 0; mask &= mask - 1) {
+            target = square + moveOffsets[Integer.numberOfTrailingZeros(mask)];
+            if (visited[target] == 0) {
+                visit(target);
+                path[pos] = target;
+                moveCodes[pos - 1] = (byte) Integer.numberOfTrailingZeros(mask);
+                knightTour(target, pos + 1, deadline);
+                unvisit(target);
+                if (stopReason != null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: foundTour
+    //
+    // Purpose: Counts the tour on the path, keeps it if
+    // there is room and stops the search at the
+    // solution limit.
+    // ****************************************************
+    private void foundTour() {
+        tourCount++;
+        if (tourSink != null) {
+            tourSink.acceptTour(moveCodes);
+        }
+        if (keptTours.size() < maxKeptTours) {
+            int[][] grid = new int[boardSize][boardSize];
+
+            for (int move = 0; move < squares; move++) {
+                grid[path[move] / stride - ChessBoard.BORDER][path[move] % stride - ChessBoard.BORDER] = move + 1;
+            }
+            keptTours.add(grid);
+        }
+        if (tourCount >= maxSolutions) {
+            stopReason = EnumerationResult.StopReason.SOLUTION_LIMIT;
+        }
+    }
+
+    // ****************************************************
+    // Method: visit
+    //
+    // Purpose: Marks the square visited and tells the
+    // pruning rules.
+    // ****************************************************
+    private void visit(int index) {
+        visited[index] = 1;
+        for (PruningRule rule : pruningRules) {
+            rule.squareVisited(index);
+        }
+    }
+
+    // ****************************************************
+    // Method: unvisit
+    //
+    // Purpose: Marks the square unvisited and tells the
+    // pruning rules.
+    // ****************************************************
+    private void unvisit(int index) {
+        visited[index] = 0;
+        for (PruningRule rule : pruningRules) {
+            rule.squareUnvisited(index);
+        }
+    }
+}
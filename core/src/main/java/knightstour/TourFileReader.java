@@ -0,0 +1,264 @@
+package knightstour;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads a tour file written by TourFileWriter one move at a time, holding a
+// single block of moves in memory whatever the length of the tour.
+public class TourFileReader implements Closeable {
+    private final Path file; // File being read, for messages
+    private final DataInputStream input; // File being read
+    private final boolean isCompressed; // Flag: true if bitmap and blocks are
+    // deflated
+    private final Inflater inflater; // Inflates compressed bytes, or null
+    private final int boardSize; // Dimension of the board
+    private final int startRow; // Row of the first move, -1 if none
+    private final int startCol; // Column of the first move, -1 if none
+    private final BitSet blockedSquares; // Squares blocked before the tour
+    private final int[] rowOffsets; // Row change of every move code
+    private final int[] colOffsets; // Column change of every move code
+    private final byte[] block = new byte[TourFileWriter.getPackedSize(TourFileWriter.BLOCK_MOVES)];
+    // Move codes of the block being read
+    private byte[] stored = new byte[0]; // Deflated bytes of a block
+    private int blockMoves = 0; // Moves in the block being read
+    private int blockMove = 0; // Moves of the block read so far
+    private int pending = 0, bits = 0; // Move code bits not yet used
+    private int blockPosition = 0; // Bytes of the block used so far
+    private int row = -1, col = -1; // Square of the last move read, -1
+    // before the first
+    private boolean isEnded = false; // Flag: true once the end was read
+
+    // ****************************************************
+    // Method: TourFileReader
+    //
+    // Purpose: Constructor. Opens the file and reads the
+    // header.
+    // ****************************************************
+    public TourFileReader(Path file) throws IOException {
+        Knight knight = new Knight();
+        int version;
+
+        this.file = file;
+        input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file),
+                TourFileWriter.BUFFER_SIZE));
+        try {
+            if (input.readInt() != TourFileWriter.MAGIC) {
+                throw new IOException(file + " is not a tour file");
+            }
+            version = input.readUnsignedShort();
+            if (version > TourFileWriter.VERSION) {
+                throw new IOException(file + " has unsupported tour file version " + version);
+            }
+            isCompressed = (input.readUnsignedShort() & TourFileWriter.FLAG_COMPRESSED) != 0;
+            inflater = isCompressed ? new Inflater() : null;
+            boardSize = input.readInt();
+            startRow = input.readInt();
+            startCol = input.readInt();
+            if (boardSize <= 0 || startRow < -1 || startCol < -1 || startRow >= boardSize
+                    || startCol >= boardSize || (startRow < 0) != (startCol < 0)) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            blockedSquares = BitSet.valueOf(readBytes(new byte[TourFileWriter.getBitmapSize(boardSize)]));
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+
+        rowOffsets = new int[Knight.NUM_ALLOWED_MOVES];
+        colOffsets = new int[Knight.NUM_ALLOWED_MOVES];
+        for (int move = 0; move < Knight.NUM_ALLOWED_MOVES; move++) {
+            rowOffsets[move] = knight.getVerticalMoveValue(move);
+            colOffsets[move] = knight.getHorizontalMoveValue(move);
+        }
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: getStartRow
+    //
+    // Purpose: Returns the row of the first move, -1 for
+    // a tour of no moves.
+    // ****************************************************
+    public int getStartRow() {
+        return startRow;
+    }
+
+    // ****************************************************
+    // Method: getStartCol
+    //
+    // Purpose: Returns the column of the first move, -1
+    // for a tour of no moves.
+    // ****************************************************
+    public int getStartCol() {
+        return startCol;
+    }
+
+    // ****************************************************
+    // Method: getBlockedSquares
+    //
+    // Purpose: Returns the squares blocked before the
+    // tour, indexed row * boardSize + col.
+    // ****************************************************
+    public BitSet getBlockedSquares() {
+        return (BitSet) blockedSquares.clone();
+    }
+
+    // ****************************************************
+    // Method: isCompressed
+    //
+    // Purpose: Returns true if the file is deflated.
+    // ****************************************************
+    public boolean isCompressed() {
+        return isCompressed;
+    }
+
+    // ****************************************************
+    // Method: readSquare
+    //
+    // Purpose: Returns the square, as row * boardSize +
+    // col, of the next move, starting with the
+    // start square, or -1 after the last move.
+    // ****************************************************
+    public int readSquare() throws IOException {
+        int moveCode;
+
+        if (row < 0) {
+            if (startRow < 0) {
+                return -1;
+            }
+            row = startRow;
+            col = startCol;
+            return row * boardSize + col;
+        }
+        if (blockMove == blockMoves && !readBlock()) {
+            return -1;
+        }
+        if (bits < 3) {
+            pending |= (block[blockPosition++] & 0xFF) << bits;
+            bits += 8;
+        }
+        moveCode = pending & 7;
+        pending >>>= 3;
+        bits -= 3;
+        blockMove++;
+        row += rowOffsets[moveCode];
+        col += colOffsets[moveCode];
+        if (row < 0 || col < 0 || row >= boardSize || col >= boardSize) {
+            throw new IOException(file + " leaves the board");
+        }
+
+        return row * boardSize + col;
+    }
+
+    // ****************************************************
+    // Method: close
+    //
+    // Purpose: Closes the file.
+    // ****************************************************
+    @Override
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+        }
+        input.close();
+    }
+
+    // ****************************************************
+    // Method: readBlock
+    //
+    // Purpose: Reads the next block of moves. Returns
+    // false at the end of the tour.
+    // ****************************************************
+    private boolean readBlock() throws IOException {
+        if (isEnded) {
+            return false;
+        }
+        blockMoves = input.readInt();
+        if (blockMoves < 0 || blockMoves > TourFileWriter.BLOCK_MOVES) {
+            throw new IOException(file + " has a corrupt block of " + blockMoves + " moves");
+        }
+        if (blockMoves == 0) {
+            input.readInt();
+            blockMove = 0;
+            isEnded = true;
+            return false;
+        }
+        readBytes(block, TourFileWriter.getPackedSize(blockMoves));
+        blockMove = 0;
+        blockPosition = 0;
+        pending = 0;
+        bits = 0;
+
+        return true;
+    }
+
+    // ****************************************************
+    // Method: readBytes
+    //
+    // Purpose: Reads a stored length and its bytes into
+    // the array, inflating them in compressed
+    // files, and returns the array.
+    // ****************************************************
+    private byte[] readBytes(byte[] into) throws IOException {
+        return readBytes(into, into.length);
+    }
+
+    // ****************************************************
+    // Method: readBytes
+    //
+    // Purpose: Reads a stored length and its bytes, which
+    // must come to the length once inflated, into
+    // the start of the array.
+    // ****************************************************
+    private byte[] readBytes(byte[] into, int length) throws IOException {
+        int storedLength = input.readInt();
+
+        if (!isCompressed) {
+            if (storedLength != length) {
+                throw new IOException(file + " has a corrupt length " + storedLength);
+            }
+            input.readFully(into, 0, length);
+            return into;
+        }
+        if (storedLength < 0) {
+            throw new IOException(file + " has a corrupt length " + storedLength);
+        }
+        if (stored.length < storedLength) {
+            stored = new byte[storedLength];
+        }
+        input.readFully(stored, 0, storedLength);
+        inflater.reset();
+        inflater.setInput(stored, 0, storedLength);
+        try {
+            int inflated = 0, count;
+
+            do {
+                count = inflater.inflate(into, inflated, length - inflated);
+                inflated += count;
+            } while (count > 0 && !inflater.finished());
+            if (!inflater.finished() || inflated != length) {
+                throw new EOFException(file + " has a truncated block");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(file + " has a corrupt block", e);
+        }
+
+        return into;
+    }
+}
@@ -0,0 +1,221 @@
+package knightstour;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.Deflater;
+
+// Writes one tour to a tour file as its moves are made, so a tour of any
+// length is written in constant memory. The file starts with a header of the
+// magic number, the format version, the flags, the board size, the start row
+// and column, -1 for a tour of no moves, and the blocked squares as a bitmap
+// of boardSize * boardSize bits. The moves after the first follow as 3-bit
+// move codes in blocks of up to BLOCK_MOVES moves, each written as its number
+// of moves, its stored length and its bytes, deflated in compressed files. A
+// block of no moves ends the file.
+public class TourFileWriter implements Closeable {
+    static final int MAGIC = 0x4B545446; // "KTTF" at the start of the file
+    static final int VERSION = 1; // Format version written
+    static final int FLAG_COMPRESSED = 1; // Flag: bitmap and blocks deflated
+    static final int BLOCK_MOVES = 1 << 16; // Most moves in one block
+    static final int BUFFER_SIZE = 1 << 16; // Bytes buffered before writing
+
+    private final DataOutputStream output; // File being written
+    private final int boardSize; // Dimension of the board
+    private final BitSet blockedSquares; // Squares blocked before the tour
+    private final Deflater deflater; // Compresses the bitmap and the blocks,
+    // or null
+    private final Knight knight = new Knight(); // Source of the knight moves
+    private final byte[] block = new byte[getPackedSize(BLOCK_MOVES)]; // Move
+    // codes of the block being filled
+    private byte[] deflated = new byte[0]; // Deflated bytes of a block
+    private int blockMoves = 0; // Moves in the block being filled
+    private int pending = 0, bits = 0; // Move code bits not yet in the block
+    private int blockLength = 0; // Bytes of the block filled so far
+    private int lastRow = -1, lastCol = -1; // Square of the last move, -1
+    // before the first
+    private boolean isClosed = false; // Flag: true once closed
+
+    // ****************************************************
+    // Method: TourFileWriter
+    //
+    // Purpose: Constructor. Creates or truncates the file
+    // for a tour on a board of the dimension. The
+    // header is written with the first move.
+    // ****************************************************
+    public TourFileWriter(Path file, int boardSize, BitSet blockedSquares, boolean isCompressed)
+            throws IOException {
+        output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        this.boardSize = boardSize;
+        this.blockedSquares = (BitSet) blockedSquares.clone();
+        deflater = isCompressed ? new Deflater(Deflater.BEST_SPEED) : null;
+    }
+
+    // ****************************************************
+    // Method: writeMove
+    //
+    // Purpose: Writes the next square of the tour. The
+    // first is the start square, every other one
+    // must be a knight move from the one before.
+    // ****************************************************
+    public void writeMove(int row, int col) throws IOException {
+        int moveCode;
+
+        if (row < 0 || col < 0 || row >= boardSize || col >= boardSize) {
+            throw new IllegalArgumentException("Square off the board: " + row + ", " + col);
+        }
+        if (lastRow < 0) {
+            writeHeader(row, col);
+        } else {
+            moveCode = findMoveCode(row - lastRow, col - lastCol);
+            pending |= moveCode << bits;
+            bits += 3;
+            if (bits >= 8) {
+                block[blockLength++] = (byte) pending;
+                pending >>>= 8;
+                bits -= 8;
+            }
+            if (++blockMoves == BLOCK_MOVES) {
+                writeBlock();
+            }
+        }
+        lastRow = row;
+        lastCol = col;
+    }
+
+    // ****************************************************
+    // Method: close
+    //
+    // Purpose: Writes the last block and the end of the
+    // file and closes it.
+    // ****************************************************
+    @Override
+    public void close() throws IOException {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            if (lastRow < 0) {
+                writeHeader(-1, -1);
+            }
+            writeBlock();
+            output.writeInt(0);
+            output.writeInt(0);
+        } finally {
+            output.close();
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: writeHeader
+    //
+    // Purpose: Writes the header with the start square.
+    // ****************************************************
+    private void writeHeader(int startRow, int startCol) throws IOException {
+        byte[] bitmap = Arrays.copyOf(blockedSquares.toByteArray(),
+                getBitmapSize(boardSize));
+
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeShort(deflater != null ? FLAG_COMPRESSED : 0);
+        output.writeInt(boardSize);
+        output.writeInt(startRow);
+        output.writeInt(startCol);
+        writeBytes(bitmap, bitmap.length);
+    }
+
+    // ****************************************************
+    // Method: writeBlock
+    //
+    // Purpose: Writes the moves of the block being filled,
+    // if any, and starts an empty one.
+    // ****************************************************
+    private void writeBlock() throws IOException {
+        if (blockMoves == 0) {
+            return;
+        }
+        if (bits > 0) {
+            block[blockLength++] = (byte) pending;
+        }
+        output.writeInt(blockMoves);
+        writeBytes(block, blockLength);
+        Arrays.fill(block, 0, blockLength, (byte) 0);
+        blockMoves = 0;
+        blockLength = 0;
+        pending = 0;
+        bits = 0;
+    }
+
+    // ****************************************************
+    // Method: writeBytes
+    //
+    // Purpose: Writes the stored length and the bytes,
+    // deflated when the file is compressed.
+    // ****************************************************
+    private void writeBytes(byte[] bytes, int length) throws IOException {
+        int deflatedLength = 0;
+
+        if (deflater == null) {
+            output.writeInt(length);
+            output.write(bytes, 0, length);
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(bytes, 0, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (deflatedLength == deflated.length) {
+                deflated = Arrays.copyOf(deflated, Math.max(1024, deflated.length * 2));
+            }
+            deflatedLength += deflater.deflate(deflated, deflatedLength, deflated.length - deflatedLength);
+        }
+        output.writeInt(deflatedLength);
+        output.write(deflated, 0, deflatedLength);
+    }
+
+    // ****************************************************
+    // Method: findMoveCode
+    //
+    // Purpose: Returns the knight move that changes the
+    // row and column by the given amounts.
+    // ****************************************************
+    private int findMoveCode(int rowChange, int colChange) {
+        for (int moveCode = 0; moveCode < Knight.NUM_ALLOWED_MOVES; moveCode++) {
+            if (knight.getVerticalMoveValue(moveCode) == rowChange
+                    && knight.getHorizontalMoveValue(moveCode) == colChange) {
+                return moveCode;
+            }
+        }
+
+        throw new IllegalArgumentException("Not a knight move: " + rowChange + ", " + colChange);
+    }
+
+    // ****************************************************
+    // Method: getPackedSize
+    //
+    // Purpose: Returns the bytes holding the codes of the
+    // number of moves.
+    // ****************************************************
+    static int getPackedSize(int moves) {
+        return (moves * 3 + 7) / 8;
+    }
+
+    // ****************************************************
+    // Method: getBitmapSize
+    //
+    // Purpose: Returns the bytes of the blocked square
+    // bitmap of a board of the dimension.
+    // ****************************************************
+    static int getBitmapSize(int boardSize) {
+        return (int) (((long) boardSize * boardSize + 7) / 8);
+    }
+}
@@ -0,0 +1,49 @@
+package knightstour;
+
+// Receives the events of a tour: every square visited, every square taken
+// back, and how the tour ended. Every method does nothing by default, so a
+// listener only implements the events it needs.
+public interface TourListener {
+    // Listener that ignores every event. Tours use it when nobody subscribes.
+    TourListener NONE = new TourListener() {
+    };
+
+    // ****************************************************
+    // Method: onMove
+    //
+    // Purpose: Called when the knight visits a square.
+    // The move number is the knight's move
+    // counter on that square.
+    // ****************************************************
+    default void onMove(int moveNumber, int row, int col) {
+    }
+
+    // ****************************************************
+    // Method: onUndo
+    //
+    // Purpose: Called when the knight takes back its
+    // last visit, leaving the square unvisited.
+    // Only tours allowed to backtrack do so.
+    // ****************************************************
+    default void onUndo(int moveNumber, int row, int col) {
+    }
+
+    // ****************************************************
+    // Method: onDeadEnd
+    //
+    // Purpose: Called when the knight has no move left
+    // from the square it visited last, while
+    // squares on the board are still unvisited.
+    // ****************************************************
+    default void onDeadEnd(int moveNumber, int row, int col) {
+    }
+
+    // ****************************************************
+    // Method: onComplete
+    //
+    // Purpose: Called when the knight has visited
+    // every square on the board.
+    // ****************************************************
+    default void onComplete(int moveNumber, int row, int col) {
+    }
+}
@@ -0,0 +1,301 @@
+package knightstour;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Records the squares of a tour so it can be shown at any move number. Every
+// move after the first is kept as its 3-bit knight move, and every
+// KEYFRAME_INTERVAL moves a keyframe keeps the square reached, so the square
+// of any move is found by replaying at most one interval from the keyframe
+// before it. The board after move m needs no replay at all: it is the
+// recorded move number of every square compared with m, so seeking anywhere
+// in the tour costs the same however long the tour is.
+public class TourRecording {
+    public static final int KEYFRAME_INTERVAL = 1024; // Moves between keyframes
+    private static final int CODE_BITS = 3; // Bits of one move code
+    private static final int CODES_PER_WORD = Long.SIZE / CODE_BITS; // Move
+    // codes in one long
+    private static final int INITIAL_MOVES = 1024; // Moves held before growing
+
+    private final int boardSize; // Dimension of the board
+    private final MoveGrid moveNumbers; // Recorded move number of every square,
+    // 0 if it has not been visited
+    private final BitSet blockedSquares; // Squares blocked before the tour
+    private final Knight knight = new Knight(); // Source of the knight moves
+    private long[] moveCodes = new long[INITIAL_MOVES / CODES_PER_WORD + 1];
+    // Knight move leading to every move after the first, CODE_BITS each
+    private int[] keyframes = new int[INITIAL_MOVES / KEYFRAME_INTERVAL + 1];
+    // Square, as row * boardSize + col, of moves 1, 1 + KEYFRAME_INTERVAL, ...
+    private int moveCount = 0; // Moves recorded so far
+    private int lastRow = -1, lastCol = -1; // Square of the last move
+
+    // ****************************************************
+    // Method: TourRecording
+    //
+    // Purpose: Constructor. Creates an empty recording of
+    // a tour on a board of the dimension.
+    // ****************************************************
+    public TourRecording(int boardSize) {
+        this.boardSize = boardSize;
+        moveNumbers = new ArrayMoveGrid(boardSize);
+        blockedSquares = new BitSet(boardSize * boardSize);
+    }
+
+    // ****************************************************
+    // Method: read
+    //
+    // Purpose: Reads a recording from a tour file.
+    // ****************************************************
+    public static TourRecording read(Path file) throws IOException {
+        try (TourFileReader reader = new TourFileReader(file)) {
+            TourRecording recording = new TourRecording(reader.getBoardSize());
+
+            recording.blockedSquares.or(reader.getBlockedSquares());
+            for (int square = reader.readSquare(); square >= 0; square = reader.readSquare()) {
+                recording.addMove(square / recording.boardSize, square % recording.boardSize);
+            }
+
+            return recording;
+        }
+    }
+
+    // ****************************************************
+    // Method: write
+    //
+    // Purpose: Writes the recording to a tour file,
+    // deflated if isCompressed is set.
+    // ****************************************************
+    public void write(Path file, boolean isCompressed) throws IOException {
+        int[] squares = new int[KEYFRAME_INTERVAL];
+
+        try (TourFileWriter writer = new TourFileWriter(file, boardSize, blockedSquares, isCompressed)) {
+            for (int move = 1; move <= moveCount; move += squares.length) {
+                int count = getSquares(move, squares);
+
+                for (int square = 0; square < count; square++) {
+                    writer.writeMove(squares[square] / boardSize, squares[square] % boardSize);
+                }
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: getBoardSize
+    //
+    // Purpose: Returns the dimension of the board.
+    // ****************************************************
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    // ****************************************************
+    // Method: getMoveCount
+    //
+    // Purpose: Returns the number of moves recorded.
+    // ****************************************************
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    // ****************************************************
+    // Method: setBlocked
+    //
+    // Purpose: Marks the square as blocked or open.
+    // ****************************************************
+    public void setBlocked(int row, int col, boolean isBlocked) {
+        blockedSquares.set(row * boardSize + col, isBlocked);
+    }
+
+    // ****************************************************
+    // Method: isBlocked
+    //
+    // Purpose: Returns true if the square is blocked.
+    // ****************************************************
+    public boolean isBlocked(int row, int col) {
+        return blockedSquares.get(row * boardSize + col);
+    }
+
+    // ****************************************************
+    // Method: getMoveNumber
+    //
+    // Purpose: Returns the move that visited the square,
+    // 0 if no recorded move did.
+    // ****************************************************
+    public int getMoveNumber(int row, int col) {
+        return moveNumbers.getMoveNumber(row, col);
+    }
+
+    // ****************************************************
+    // Method: isVisited
+    //
+    // Purpose: Returns true if the square is blocked or
+    // was visited by one of the first moves.
+    // ****************************************************
+    public boolean isVisited(int row, int col, int moves) {
+        int moveNumber = moveNumbers.getMoveNumber(row, col);
+
+        return moveNumber > 0 && moveNumber <= moves || blockedSquares.get(row * boardSize + col);
+    }
+
+    // ****************************************************
+    // Method: countVisited
+    //
+    // Purpose: Returns how many squares of the row, from
+    // the first column up to but excluding the
+    // end column, are blocked or were visited by
+    // one of the first moves.
+    // ****************************************************
+    public int countVisited(int row, int firstCol, int endCol, int moves) {
+        int index = (row + ChessBoard.BORDER) * (boardSize + 2 * ChessBoard.BORDER) + ChessBoard.BORDER,
+                visited = 0;
+
+        for (int col = firstCol; col < endCol; col++) {
+            // Move numbers 1 to moves, as 0 wraps around unsigned
+            if (moveNumbers.getMoveNumberAt(index + col) - 1 + Integer.MIN_VALUE < moves + Integer.MIN_VALUE) {
+                visited++;
+            }
+        }
+        // The tour never visits a blocked square, so none is counted twice
+        if (!blockedSquares.isEmpty()) {
+            for (int square = row * boardSize + firstCol; square < row * boardSize + endCol; square++) {
+                visited += blockedSquares.get(square) ? 1 : 0;
+            }
+        }
+
+        return visited;
+    }
+
+    // ****************************************************
+    // Method: addMove
+    //
+    // Purpose: Records the next move of the tour. Every
+    // move after the first must be a knight move
+    // from the one before.
+    // ****************************************************
+    public void addMove(int row, int col) {
+        int moveCode = moveCount == 0 ? 0 : findMoveCode(row - lastRow, col - lastCol);
+
+        if (moveCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Recording is full");
+        }
+        if (moveCount % KEYFRAME_INTERVAL == 0) {
+            if (moveCount / KEYFRAME_INTERVAL == keyframes.length) {
+                keyframes = Arrays.copyOf(keyframes, keyframes.length * 2);
+            }
+            keyframes[moveCount / KEYFRAME_INTERVAL] = row * boardSize + col;
+        }
+        if (moveCount / CODES_PER_WORD == moveCodes.length) {
+            moveCodes = Arrays.copyOf(moveCodes, moveCodes.length * 2);
+        }
+        moveCodes[moveCount / CODES_PER_WORD] |= (long) moveCode << (moveCount % CODES_PER_WORD * CODE_BITS);
+        moveCount++;
+        moveNumbers.setMoveNumber(row, col, moveCount);
+        lastRow = row;
+        lastCol = col;
+    }
+
+    // ****************************************************
+    // Method: removeMove
+    //
+    // Purpose: Removes the last move recorded, for a tour
+    // that took it back.
+    // ****************************************************
+    public void removeMove() {
+        int square;
+
+        if (moveCount == 0) {
+            throw new IllegalStateException("No move to remove");
+        }
+        square = getSquare(moveCount);
+        moveNumbers.setMoveNumber(square / boardSize, square % boardSize, 0);
+        moveCount--;
+        moveCodes[moveCount / CODES_PER_WORD] &= ~(7L << (moveCount % CODES_PER_WORD * CODE_BITS));
+        square = moveCount == 0 ? -1 : getSquare(moveCount);
+        lastRow = square < 0 ? -1 : square / boardSize;
+        lastCol = square < 0 ? -1 : square % boardSize;
+    }
+
+    // ****************************************************
+    // Method: getSquare
+    //
+    // Purpose: Returns the square, as row * boardSize +
+    // col, reached by the move, replaying from
+    // the keyframe before it.
+    // ****************************************************
+    public int getSquare(int moveNumber) {
+        int keyframe = (moveNumber - 1) / KEYFRAME_INTERVAL, square, row, col;
+
+        if (moveNumber < 1 || moveNumber > moveCount) {
+            throw new IndexOutOfBoundsException("No move " + moveNumber + " in " + moveCount);
+        }
+        square = keyframes[keyframe];
+        row = square / boardSize;
+        col = square % boardSize;
+        for (int move = keyframe * KEYFRAME_INTERVAL + 1; move < moveNumber; move++) {
+            int moveCode = getMoveCode(move);
+
+            row += knight.getVerticalMoveValue(moveCode);
+            col += knight.getHorizontalMoveValue(moveCode);
+        }
+
+        return row * boardSize + col;
+    }
+
+    // ****************************************************
+    // Method: getSquares
+    //
+    // Purpose: Fills the array with the squares of the
+    // moves from the first move on, replaying
+    // from the keyframe before it only once, and
+    // returns how many moves were recorded.
+    // ****************************************************
+    public int getSquares(int firstMove, int[] into) {
+        int count = Math.max(0, Math.min(into.length, moveCount - firstMove + 1)), row, col;
+
+        if (count == 0) {
+            return 0;
+        }
+        into[0] = getSquare(firstMove);
+        row = into[0] / boardSize;
+        col = into[0] % boardSize;
+        for (int square = 1; square < count; square++) {
+            int moveCode = getMoveCode(firstMove + square - 1);
+
+            row += knight.getVerticalMoveValue(moveCode);
+            col += knight.getHorizontalMoveValue(moveCode);
+            into[square] = row * boardSize + col;
+        }
+
+        return count;
+    }
+
+    // ****************************************************
+    // Method: getMoveCode
+    //
+    // Purpose: Returns the knight move made from the
+    // square of the move to the square of the
+    // next one.
+    // ****************************************************
+    private int getMoveCode(int move) {
+        return (int) (moveCodes[move / CODES_PER_WORD] >>> (move % CODES_PER_WORD * CODE_BITS)) & 7;
+    }
+
+    // ****************************************************
+    // Method: findMoveCode
+    //
+    // Purpose: Returns the knight move that changes the
+    // row and column by the given amounts.
+    // ****************************************************
+    private int findMoveCode(int rowChange, int colChange) {
+        for (int moveCode = 0; moveCode < Knight.NUM_ALLOWED_MOVES; moveCode++) {
+            if (knight.getVerticalMoveValue(moveCode) == rowChange
+                    && knight.getHorizontalMoveValue(moveCode) == colChange) {
+                return moveCode;
+            }
+        }
+
+        throw new IllegalArgumentException("Not a knight move: " + rowChange + ", " + colChange);
+    }
+}
@@ -0,0 +1,506 @@
+package knightstour;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+// Serves tours over HTTP with the JDK's built-in server.
+//
+//   GET /tour?size=8&row=0&col=0&blocked=2:3,4:5&mode=warnsdorff
+//
+// mode is warnsdorff (Tour, the default), closed (Tour in closed mode) or
+// exhaustive (TourEnumerator with pruning, small boards only). tieBreak picks
+// the TieBreak rule of the warnsdorff mode. The reply is JSON and streamed
+// while the tour is played, so large boards never sit in memory as text:
+//
+//   {"size":8,"row":0,"col":0,"moves":[[0,0],[1,2],...],"status":"complete"}
+//
+// status is complete, closed, dead-end, not-found or timeout. A request that
+// finds the server at its concurrency limit gets 503 at once.
+public class TourServer {
+    public static final int DEFAULT_PORT = 8080; // Port main listens on
+    public static final int DEFAULT_MAX_CONCURRENT = 4; // Tours solved at once
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10000; // Time a request
+    // may take
+    public static final int DEFAULT_MAX_SIZE = 1000; // Largest board served
+    public static final long DEFAULT_CACHE_BYTES = 256L << 20; // Memory of the
+    // tour cache
+    public static final int MAX_EXHAUSTIVE_SIZE = 12; // Largest board solved
+    // by exhaustive search
+    private static final int DEADLINE_CHECK_MOVES = 4096; // Moves between
+    // deadline checks while a tour is streamed. The deadline is also checked
+    // before and after the first move, which solves closed tours and looks
+    // up cached ones
+
+    private final HttpServer server; // Underlying JDK server
+    private final ExecutorService executor; // Threads serving the requests
+    private final Semaphore permits; // Tours that may still start
+    private final long timeoutMillis; // Time a request may take
+    private int maxSize = DEFAULT_MAX_SIZE; // Largest board served
+    private TourCache tourCache = new TourCache(DEFAULT_CACHE_BYTES); // Tours
+    // already served, or null
+
+    // ****************************************************
+    // Method: TourServer
+    //
+    // Purpose: Constructor. Binds the server to the port
+    // of the local host without starting it.
+    // ****************************************************
+    public TourServer(int port, int maxConcurrent, long timeoutMillis) throws IOException {
+        if (maxConcurrent < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("Concurrency and timeout must be positive");
+        }
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = createExecutor();
+        permits = new Semaphore(maxConcurrent);
+        this.timeoutMillis = timeoutMillis;
+        server.setExecutor(executor);
+        server.createContext("/tour", this::handle);
+    }
+
+    // ****************************************************
+    // Method: createExecutor
+    //
+    // Purpose: Returns an executor that runs every
+    // request on its own virtual thread when the
+    // JDK has them, and a cached thread pool
+    // otherwise. The project builds for Java 11,
+    // so the virtual thread executor is looked
+    // up at run time.
+    // ****************************************************
+    static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // ****************************************************
+    // Method: setMaxSize
+    //
+    // Purpose: Sets the largest board size served.
+    // ****************************************************
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // ****************************************************
+    // Method: setTourCache
+    //
+    // Purpose: Sets the cache of the tours served with
+    // Tour. Passing null turns caching off.
+    // ****************************************************
+    public void setTourCache(TourCache tourCache) {
+        this.tourCache = tourCache;
+    }
+
+    // ****************************************************
+    // Method: getPort
+    //
+    // Purpose: Returns the port the server listens on.
+    // ****************************************************
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Starts serving requests.
+    // ****************************************************
+    public void start() {
+        server.start();
+    }
+
+    // ****************************************************
+    // Method: stop
+    //
+    // Purpose: Stops the server, waiting up to the delay
+    // in seconds for requests being served.
+    // ****************************************************
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    // ****************************************************
+    // Method: handle
+    //
+    // Purpose: Serves one request to /tour.
+    // ****************************************************
+    private void handle(HttpExchange exchange) throws IOException {
+        long deadline = System.nanoTime() + timeoutMillis * 1000000;
+
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Only GET is supported");
+            } else if (!permits.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Too many tours in progress");
+            } else {
+                try {
+                    serveTour(exchange, parseQuery(exchange.getRequestURI().getRawQuery()), deadline);
+                } catch (IllegalArgumentException e) {
+                    sendError(exchange, 400, e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // ****************************************************
+    // Method: serveTour
+    //
+    // Purpose: Checks the parameters, solves the tour and
+    // streams its moves. Throws
+    // IllegalArgumentException before anything
+    // was sent if a parameter is invalid.
+    // ****************************************************
+    private void serveTour(HttpExchange exchange, Map<String, String> query, long deadline)
+            throws IOException {
+        int size = getInt(query, "size", -1), row = getInt(query, "row", 0), col = getInt(query, "col", 0);
+        String mode = query.getOrDefault("mode", "warnsdorff");
+        boolean[][] blocked;
+
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxSize);
+        }
+        if (row < 0 || col < 0 || row >= size || col >= size) {
+            throw new IllegalArgumentException("Start square is off the board");
+        }
+        blocked = parseBlocked(query.get("blocked"), size);
+        if (blocked[row][col]) {
+            throw new IllegalArgumentException("Start square is blocked");
+        }
+
+        switch (mode) {
+            case "warnsdorff":
+            case "closed":
+                streamTour(exchange, size, row, col, blocked, mode.equals("closed"),
+                        TieBreak.valueOf(query.getOrDefault("tieBreak", TieBreak.LEGACY.name())), deadline);
+                break;
+            case "exhaustive":
+                streamEnumeratedTour(exchange, size, row, col, blocked, deadline);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+    }
+
+    // ****************************************************
+    // Method: streamTour
+    //
+    // Purpose: Plays the tour with Tour and writes every
+    // move as soon as it is made.
+    // ****************************************************
+    private void streamTour(HttpExchange exchange, int size, int row, int col, boolean[][] blocked,
+            boolean isClosed, TieBreak tieBreak, long deadline) throws IOException {
+        Tour tour = new Tour(row, col, size);
+        String status;
+        boolean isTimedOut = false;
+        int moves = 0;
+
+        if (isClosed && hasBlocked(blocked)) {
+            throw new IllegalArgumentException("Closed tours cannot have blocked squares");
+        }
+        for (int blockedRow = 0; blockedRow < size; blockedRow++) {
+            for (int blockedCol = 0; blockedCol < size; blockedCol++) {
+                if (blocked[blockedRow][blockedCol]) {
+                    tour.getChessBoard().blockSquare(blockedRow, blockedCol);
+                }
+            }
+        }
+        tour.setTieBreak(tieBreak);
+        tour.setClosed(isClosed);
+        tour.setTourCache(tourCache);
+
+        try (Writer out = startJson(exchange, size, row, col)) {
+            MoveWriter moveWriter = new MoveWriter(out);
+
+            tour.setTourListener(moveWriter);
+            do {
+                if ((moves <= 1 || moves % DEADLINE_CHECK_MOVES == 0) && System.nanoTime() - deadline > 0) {
+                    isTimedOut = true;
+                    break;
+                }
+                tour.move();
+                moves++;
+            } while (!moveWriter.hasError() && tour.hasMove());
+            moveWriter.checkError();
+
+            if (isTimedOut) {
+                status = "timeout";
+            } else if (!tour.getChessBoard().isFull()) {
+                status = "dead-end";
+            } else {
+                status = tour.isClosedTour() ? "closed" : "complete";
+            }
+            out.write("],\"status\":\"" + status + "\"}\n");
+        }
+    }
+
+    // ****************************************************
+    // Method: streamEnumeratedTour
+    //
+    // Purpose: Finds the first tour with exhaustive
+    // search in the time left and writes it.
+    // ****************************************************
+    private void streamEnumeratedTour(HttpExchange exchange, int size, int row, int col, boolean[][] blocked,
+            long deadline) throws IOException {
+        TourEnumerator enumerator;
+        EnumerationResult result;
+        long millisLeft = (deadline - System.nanoTime()) / 1000000;
+        String status;
+
+        if (size > MAX_EXHAUSTIVE_SIZE) {
+            throw new IllegalArgumentException("Exhaustive search is limited to size " + MAX_EXHAUSTIVE_SIZE);
+        }
+        enumerator = new TourEnumerator(size);
+        for (int blockedRow = 0; blockedRow < size; blockedRow++) {
+            for (int blockedCol = 0; blockedCol < size; blockedCol++) {
+                enumerator.setBlockedSquare(blockedRow, blockedCol, blocked[blockedRow][blockedCol]);
+            }
+        }
+        enumerator.addPruningRule(new DeadEndPruning());
+        enumerator.addPruningRule(new ConnectivityPruning(4, 16));
+        enumerator.setMaxSolutions(1);
+        enumerator.setMaxKeptTours(1);
+        enumerator.setTimeLimit(Math.max(1, millisLeft));
+        result = enumerator.enumerate(row, col);
+
+        try (Writer out = startJson(exchange, size, row, col)) {
+            MoveWriter moveWriter = new MoveWriter(out);
+
+            if (result.getTours().isEmpty()) {
+                status = result.isComplete() ? "not-found" : "timeout";
+            } else {
+                int[][] grid = result.getTours().get(0);
+                int[] squares = new int[size * size + 1];
+                int moves = 0;
+
+                // Blocked squares keep move number 0 and are skipped
+                for (int gridRow = 0; gridRow < size; gridRow++) {
+                    for (int gridCol = 0; gridCol < size; gridCol++) {
+                        if (grid[gridRow][gridCol] > 0) {
+                            squares[grid[gridRow][gridCol]] = gridRow * size + gridCol;
+                            moves++;
+                        }
+                    }
+                }
+                for (int move = 1; move <= moves; move++) {
+                    moveWriter.onMove(move, squares[move] / size, squares[move] % size);
+                }
+                moveWriter.checkError();
+                status = "complete";
+            }
+            out.write("],\"status\":\"" + status + "\"}\n");
+        }
+    }
+
+    // ****************************************************
+    // Method: startJson
+    //
+    // Purpose: Sends the headers of a streamed reply and
+    // writes the JSON up to the moves array.
+    // ****************************************************
+    private static Writer startJson(HttpExchange exchange, int size, int row, int col) throws IOException {
+        Writer out;
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                1 << 16);
+        out.write("{\"size\":" + size + ",\"row\":" + row + ",\"col\":" + col + ",\"moves\":[");
+
+        return out;
+    }
+
+    // ****************************************************
+    // Method: sendError
+    //
+    // Purpose: Sends a status code with a JSON error
+    // message.
+    // ****************************************************
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = ("{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    // ****************************************************
+    // Method: parseQuery
+    //
+    // Purpose: Splits a raw query string into decoded
+    // names and values.
+    // ****************************************************
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int equals = pair.indexOf('=');
+
+                if (equals > 0) {
+                    query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        return query;
+    }
+
+    // ****************************************************
+    // Method: getInt
+    //
+    // Purpose: Returns the parameter as an int, or the
+    // default if it is missing.
+    // ****************************************************
+    private static int getInt(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    // ****************************************************
+    // Method: parseBlocked
+    //
+    // Purpose: Reads blocked squares given as a comma
+    // separated list of row:col pairs.
+    // ****************************************************
+    private static boolean[][] parseBlocked(String value, int size) {
+        boolean[][] blocked = new boolean[size][size];
+
+        if (value != null && !value.isEmpty()) {
+            for (String square : value.split(",")) {
+                String[] parts = square.split(":");
+                int row, col;
+
+                try {
+                    row = Integer.parseInt(parts[0].trim());
+                    col = Integer.parseInt(parts[1].trim());
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Blocked squares must be row:col pairs");
+                }
+                if (row < 0 || col < 0 || row >= size || col >= size) {
+                    throw new IllegalArgumentException("Blocked square " + square + " is off the board");
+                }
+                blocked[row][col] = true;
+            }
+        }
+
+        return blocked;
+    }
+
+    // ****************************************************
+    // Method: hasBlocked
+    //
+    // Purpose: Returns true if any square is blocked.
+    // ****************************************************
+    private static boolean hasBlocked(boolean[][] blocked) {
+        for (boolean[] row : blocked) {
+            for (boolean isBlocked : row) {
+                if (isBlocked) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // ****************************************************
+    // Class: MoveWriter
+    //
+    // Purpose: Writes every move of a tour as a JSON
+    // pair. The listener interface cannot throw,
+    // so the first write error is kept and
+    // rethrown by checkError, which stops a tour
+    // whose client went away.
+    // ****************************************************
+    private static class MoveWriter implements TourListener {
+        private final Writer out; // Reply being streamed
+        private IOException error; // First write failure
+        private boolean isFirst = true; // Flag: true before the first move
+
+        MoveWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void onMove(int moveNumber, int row, int col) {
+            if (error == null) {
+                try {
+                    out.write(isFirst ? "[" : ",[");
+                    out.write(Integer.toString(row));
+                    out.write(',');
+                    out.write(Integer.toString(col));
+                    out.write(']');
+                    isFirst = false;
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        }
+
+        boolean hasError() {
+            return error != null;
+        }
+
+        void checkError() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: main
+    //
+    // Purpose: Runs the server:
+    // TourServer [port] [maxConcurrent]
+    // [timeoutMillis] [cacheDirectory]. With a
+    // cache directory, served tours are kept on
+    // disk across restarts.
+    // ****************************************************
+    public static void main(String[] args) throws IOException {
+        TourServer tourServer = new TourServer(
+                args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT,
+                args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_CONCURRENT,
+                args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_TIMEOUT_MILLIS);
+
+        if (args.length > 3) {
+            TourCache tourCache = new TourCache(DEFAULT_CACHE_BYTES);
+
+            tourCache.setDirectory(Paths.get(args[3]));
+            tourServer.setTourCache(tourCache);
+        }
+
+        tourServer.start();
+        System.out.println("Serving tours on http://localhost:" + tourServer.getPort() + "/tour");
+    }
+}
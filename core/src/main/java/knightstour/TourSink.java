@@ -0,0 +1,23 @@
+package knightstour;
+
+// Receives every tour TourEnumerator finds as the knight move numbers (0 - 7)
+// from the start square, without building a grid.
+public interface TourSink {
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Called once before the search with the
+    // board size, the start square and the
+    // number of moves in every tour.
+    // ****************************************************
+    void start(int boardSize, int startRow, int startCol, int moveCount);
+
+    // ****************************************************
+    // Method: acceptTour
+    //
+    // Purpose: Called for every tour found. The array is
+    // reused for the next tour and must not be
+    // kept.
+    // ****************************************************
+    void acceptTour(byte[] moveCodes);
+}
@@ -0,0 +1,211 @@
+package knightstour;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Plays a tour on its own thread and offers every visited square, and an
+// UNDO entry for every square taken back, to a MoveRingBuffer, so the thread
+// showing the tour never runs the solver. Once started, the worker owns the
+// tour until isFinished returns true. The listener the tour had still gets
+// every event, on the worker thread, and is put back when the worker stops.
+public class TourWorker implements Runnable {
+    private static final long WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1); // Sleep
+    // while the buffer is full or the worker is paused
+
+    private final Tour tour; // Tour being played
+    private final MoveRingBuffer moves; // Receives the visited squares
+    private final long delayNanos; // Time between moves, 0 for full speed
+    private final Semaphore steps; // Moves allowed in step mode, or null
+    private final CancellationToken cancellationToken = new CancellationToken();
+    // Cancelled to stop the worker
+    private volatile boolean isPaused = false; // Flag: true while no moves are made
+    private volatile boolean isFinished = false; // Flag: true once the last
+    // square has been offered
+    private Thread thread; // Thread playing the tour
+
+    // ****************************************************
+    // Method: TourWorker
+    //
+    // Purpose: Constructor. Creates a worker that plays
+    // the tour with the delay between moves. In
+    // step mode each move waits for a call to
+    // step instead.
+    // ****************************************************
+    public TourWorker(Tour tour, MoveRingBuffer moves, long delayMillis, boolean isStepping) {
+        this.tour = tour;
+        this.moves = moves;
+        delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        steps = isStepping ? new Semaphore(0) : null;
+    }
+
+    // ****************************************************
+    // Method: start
+    //
+    // Purpose: Starts playing the tour on a new daemon
+    // thread.
+    // ****************************************************
+    public void start() {
+        thread = new Thread(this, "tour-worker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // ****************************************************
+    // Method: step
+    //
+    // Purpose: Allows one more move in step mode.
+    // ****************************************************
+    public void step() {
+        if (steps != null) {
+            steps.release();
+        }
+    }
+
+    // ****************************************************
+    // Method: setPaused
+    //
+    // Purpose: Pauses or resumes the tour after the move
+    // being made.
+    // ****************************************************
+    public void setPaused(boolean isPaused) {
+        this.isPaused = isPaused;
+        if (!isPaused && thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // ****************************************************
+    // Method: cancel
+    //
+    // Purpose: Stops the tour after the move being made.
+    // Squares not yet drained are dropped.
+    // ****************************************************
+    public void cancel() {
+        cancellationToken.cancel();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // ****************************************************
+    // Method: join
+    //
+    // Purpose: Waits until the worker thread ends.
+    // ****************************************************
+    public void join() {
+        boolean isInterrupted = false;
+
+        while (thread != null && thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ****************************************************
+    // Method: isFinished
+    //
+    // Purpose: Returns true once the worker stopped and
+    // offered its last square. Every square
+    // offered before is then visible to the
+    // thread draining the buffer.
+    // ****************************************************
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    // ****************************************************
+    // Method: run
+    //
+    // Purpose: Plays the tour, waiting for the delay, a
+    // step or the end of a pause before every
+    // move. The tour's own listener is chained
+    // behind the buffer for the whole run.
+    // ****************************************************
+    @Override
+    public void run() {
+        TourListener previous = tour.getTourListener();
+
+        tour.setTourListener(new TourListener() {
+            @Override
+            public void onMove(int moveNumber, int row, int col) {
+                offer(MoveRingBuffer.pack(row, col));
+                previous.onMove(moveNumber, row, col);
+            }
+
+            @Override
+            public void onUndo(int moveNumber, int row, int col) {
+                offer(MoveRingBuffer.UNDO);
+                previous.onUndo(moveNumber, row, col);
+            }
+
+            @Override
+            public void onDeadEnd(int moveNumber, int row, int col) {
+                previous.onDeadEnd(moveNumber, row, col);
+            }
+
+            @Override
+            public void onComplete(int moveNumber, int row, int col) {
+                previous.onComplete(moveNumber, row, col);
+            }
+        });
+
+        try {
+            do {
+                awaitTurn();
+                if (cancellationToken.isCancelled()) {
+                    break;
+                }
+                tour.move();
+            } while (tour.hasMove());
+        } catch (InterruptedException e) {
+            // Cancelled while waiting for a step
+        } finally {
+            tour.setTourListener(previous);
+            isFinished = true;
+        }
+    }
+
+    // ****************************************************
+    // Method: awaitTurn
+    //
+    // Purpose: Returns when the next move may be made:
+    // after a step in step mode, after the delay
+    // otherwise, and never while paused.
+    // ****************************************************
+    private void awaitTurn() throws InterruptedException {
+        long deadline = System.nanoTime() + delayNanos;
+
+        if (steps != null) {
+            steps.acquire();
+        } else {
+            while (delayNanos > 0 && System.nanoTime() < deadline && !cancellationToken.isCancelled()) {
+                LockSupport.parkNanos(deadline - System.nanoTime());
+            }
+        }
+        while (isPaused && !cancellationToken.isCancelled()) {
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+    }
+
+    // ****************************************************
+    // Method: offer
+    //
+    // Purpose: Offers the square to the buffer, waiting
+    // while it is full. Gives up once cancelled.
+    // ****************************************************
+    private void offer(long entry) {
+        while (!moves.offer(entry)) {
+            if (cancellationToken.isCancelled()) {
+                return;
+            }
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+    }
+}
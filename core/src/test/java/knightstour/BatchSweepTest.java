@@ -0,0 +1,69 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+// Checks the batch sweep writes one CSV line per start square in order of
+// size, row and column, whatever the number of threads.
+class BatchSweepTest {
+    private static final int MIN_SIZE = 5; // Smallest board of the sweep
+    private static final int MAX_SIZE = 12; // Largest board of the sweep
+
+    // ****************************************************
+    // Method: linesComeOutInOrder
+    //
+    // Purpose: Runs the sweep on one thread and on
+    // several, and checks both give a line for
+    // every start square in order, with the same
+    // results apart from the timings.
+    // ****************************************************
+    @Test
+    void linesComeOutInOrder() throws InterruptedException {
+        String[] single = runSweep(1), parallel = runSweep(3);
+        int line = 1;
+
+        assertEquals("size,start_row,start_col,tie_break,closed,complete,closed_tour,moves,nanos", parallel[0]);
+        for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    assertTrue(parallel[line].startsWith(size + "," + row + "," + col + ",LEGACY,"),
+                            parallel[line]);
+                    assertEquals(withoutNanos(single[line]), withoutNanos(parallel[line]));
+                    line++;
+                }
+            }
+        }
+        assertEquals(line, parallel.length);
+        assertEquals(single.length, parallel.length);
+    }
+
+    // ****************************************************
+    // Method: runSweep
+    //
+    // Purpose: Returns the CSV lines of the sweep run on
+    // the number of threads.
+    // ****************************************************
+    private static String[] runSweep(int threads) throws InterruptedException {
+        BatchSweep sweep = new BatchSweep(MIN_SIZE, MAX_SIZE);
+        StringWriter csv = new StringWriter();
+
+        sweep.setThreads(threads);
+        sweep.run(new PrintWriter(csv));
+
+        return csv.toString().split("\n");
+    }
+
+    // ****************************************************
+    // Method: withoutNanos
+    //
+    // Purpose: Returns the CSV line without its last
+    // column, the time the tour took.
+    // ****************************************************
+    private static String withoutNanos(String line) {
+        return line.substring(0, line.lastIndexOf(','));
+    }
+}
@@ -0,0 +1,90 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// Checks the batched listener hands a tour's moves over in full blocks and
+// in order, and keeps moves taken back out of the blocks it delivers.
+class BatchedTourListenerTest {
+    // ****************************************************
+    // Method: blocksHoldEveryMoveInOrder
+    //
+    // Purpose: Plays an 8 x 8 tour through blocks of 10
+    // moves and checks every block but the last
+    // is full, the blocks follow each other and
+    // together give the tour's path.
+    // ****************************************************
+    @Test
+    void blocksHoldEveryMoveInOrder() {
+        RecordingHandler handler = new RecordingHandler();
+        Tour tour = new Tour(8);
+        int[] path;
+
+        tour.setTourListener(new BatchedTourListener(10, handler));
+        TourAssertions.playTour(tour);
+        path = TourAssertions.getPath(tour.getChessBoard(), 64);
+
+        assertEquals(Arrays.asList("block 1 10", "block 11 10", "block 21 10", "block 31 10", "block 41 10",
+                "block 51 10", "block 61 4", "ended true 64"), handler.events);
+        assertArrayEquals(path, handler.squares.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // ****************************************************
+    // Method: undoDropsMovesNotYetDelivered
+    //
+    // Purpose: Checks a move taken back before its block
+    // is delivered never reaches the handler,
+    // and one taken back after is reported.
+    // ****************************************************
+    @Test
+    void undoDropsMovesNotYetDelivered() {
+        RecordingHandler handler = new RecordingHandler();
+        BatchedTourListener listener = new BatchedTourListener(2, handler);
+
+        listener.onMove(1, 0, 0);
+        listener.onMove(2, 1, 2);
+        listener.onMove(3, 2, 4);
+        listener.onUndo(3, 2, 4);
+        listener.onUndo(2, 1, 2);
+        listener.onMove(2, 2, 1);
+        listener.onDeadEnd(2, 2, 1);
+
+        assertEquals(Arrays.asList("block 1 2", "undone 2", "block 2 1", "ended false 2"), handler.events);
+        assertEquals(Arrays.asList(0, 8 + 2, 2 * 8 + 1), handler.squares);
+    }
+
+    // ****************************************************
+    // Class: RecordingHandler
+    //
+    // Purpose: Keeps the events it receives as text, and
+    // the squares of every block as row * 8 +
+    // col.
+    // ****************************************************
+    private static class RecordingHandler implements BatchedTourListener.MoveBlockHandler {
+        final List<String> events = new ArrayList<>(); // Events received
+        final List<Integer> squares = new ArrayList<>(); // Squares delivered
+
+        @Override
+        public void onMoveBlock(int firstMoveNumber, int[] rows, int[] cols, int count) {
+            events.add("block " + firstMoveNumber + " " + count);
+            for (int move = 0; move < count; move++) {
+                squares.add(rows[move] * 8 + cols[move]);
+            }
+        }
+
+        @Override
+        public void onMoveUndone(int moveNumber) {
+            events.add("undone " + moveNumber);
+        }
+
+        @Override
+        public void onTourEnded(boolean isComplete, int moveNumber) {
+            events.add("ended " + isComplete + " " + moveNumber);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Checks tours streamed to a binary tour file read back as the same grids,
+// whether the file is written on the search thread or in the background.
+class BinaryTourWriterTest {
+    @TempDir
+    Path directory; // Holds the files written by each test
+
+    // ****************************************************
+    // Method: toursReadBackUnchanged
+    //
+    // Purpose: Writes every tour of the 5 x 5 board from
+    // a corner, in the foreground and in the
+    // background, and checks the file gives back
+    // the grids the search kept.
+    // ****************************************************
+    @Test
+    void toursReadBackUnchanged() throws IOException {
+        for (boolean isBackground : new boolean[] {false, true}) {
+            Path file = directory.resolve("tours-" + isBackground + ".bin");
+            TourEnumerator enumerator = new TourEnumerator(5);
+            List<int[][]> tours;
+
+            enumerator.setMaxKeptTours(Integer.MAX_VALUE);
+            try (BinaryTourWriter writer = new BinaryTourWriter(file, isBackground)) {
+                enumerator.setTourSink(writer);
+                tours = enumerator.enumerate(0, 4).getTours();
+                assertEquals(304, writer.getTourCount());
+            }
+
+            try (BinaryTourReader reader = new BinaryTourReader(file)) {
+                assertEquals(5, reader.getBoardSize());
+                assertEquals(0, reader.getStartRow());
+                assertEquals(4, reader.getStartCol());
+                for (int[][] tour : tours) {
+                    int[][] grid = reader.readTour();
+
+                    for (int row = 0; row < 5; row++) {
+                        assertArrayEquals(tour[row], grid[row]);
+                    }
+                }
+                assertNull(reader.readTour());
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: truncatedFileIsRejected
+    //
+    // Purpose: Checks a file cut off inside a tour fails
+    // with an end of file error rather than
+    // giving back a partial tour.
+    // ****************************************************
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path file = directory.resolve("truncated.bin");
+        TourEnumerator enumerator = new TourEnumerator(5);
+
+        try (BinaryTourWriter writer = new BinaryTourWriter(file, false)) {
+            enumerator.setTourSink(writer);
+            enumerator.enumerate(2, 2);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+
+        try (BinaryTourReader reader = new BinaryTourReader(file)) {
+            assertThrows(EOFException.class, () -> {
+                while (reader.readTour() != null) {
+                    continue;
+                }
+            });
+        }
+    }
+
+    // ****************************************************
+    // Method: failedCloseStopsTheWriterThread
+    //
+    // Purpose: Writes more than a buffer of tours to a
+    // device that is always full and checks the
+    // search and close both report the error and
+    // that close still stops the writer thread.
+    // ****************************************************
+    @Test
+    void failedCloseStopsTheWriterThread() throws IOException {
+        Path full = Paths.get("/dev/full");
+        TourEnumerator enumerator = new TourEnumerator(6);
+        BinaryTourWriter writer;
+
+        assumeTrue(Files.isWritable(full));
+        writer = new BinaryTourWriter(full, true);
+        enumerator.addPruningRule(new DeadEndPruning());
+        enumerator.setMaxSolutions(4 * BinaryTourWriter.BUFFER_SIZE / 14);
+        enumerator.setTourSink(writer);
+
+        assertThrows(UncheckedIOException.class, () -> enumerator.enumerate(0, 0));
+        assertThrows(IOException.class, writer::close);
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertTrue(!thread.getName().equals("tour-writer") || !thread.isAlive(), "Writer thread left running");
+        }
+    }
+}
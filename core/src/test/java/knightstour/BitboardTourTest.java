@@ -0,0 +1,64 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+// Checks the bitboard engines against the array-based ones: the heuristic
+// tour plays the same moves as Tour, and the exhaustive search counts the
+// known open tours of the 5 x 5 board.
+class BitboardTourTest {
+    private static final int MIN_SIZE = 5; // Smallest board compared
+    private static final int MAX_SIZE = 16; // Largest board a bitboard holds
+
+    // ****************************************************
+    // Method: playsTheSameToursAsTour
+    //
+    // Purpose: Plays the heuristic tour from every start
+    // square of every board from 5 x 5 to
+    // 16 x 16 with both engines and checks each
+    // square gets the same move number.
+    // ****************************************************
+    @Test
+    void playsTheSameToursAsTour() {
+        int starts = 0;
+
+        for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    BitboardTour bitboardTour = new BitboardTour(row, col, size);
+                    Tour tour = new Tour(row, col, size);
+                    String start = size + " x " + size + " from " + row + ", " + col;
+
+                    bitboardTour.playGame();
+                    TourAssertions.playTour(tour);
+                    assertEquals(tour.getKnight().getMoveCounter(), bitboardTour.getMoveCounter(), start);
+                    assertEquals(tour.getChessBoard().isFull(), bitboardTour.isFull(), start);
+                    for (int square = 0; square < size * size; square++) {
+                        assertEquals(tour.getChessBoard().getSquareMoveNumber(square / size, square % size),
+                                bitboardTour.getSquareMoveNumber(square / size, square % size), start);
+                    }
+                    starts++;
+                }
+            }
+        }
+        assertEquals(1466, starts);
+    }
+
+    // ****************************************************
+    // Method: fullSearchCountsTheKnownTours
+    //
+    // Purpose: Counts the open tours from a corner, an
+    // edge square and the centre of the 5 x 5
+    // board, and from a square with none.
+    // ****************************************************
+    @Test
+    void fullSearchCountsTheKnownTours() {
+        BitboardFullTour fullTour = new BitboardFullTour(5, false);
+
+        assertEquals(304, fullTour.countTours(0, 0));
+        assertEquals(56, fullTour.countTours(0, 2));
+        assertEquals(64, fullTour.countTours(2, 2));
+        assertEquals(0, fullTour.countTours(0, 1));
+    }
+}
@@ -0,0 +1,72 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+// Checks the closed tour solver finds closed tours on even boards and
+// reports none where none exists.
+class ClosedTourSolverTest {
+    // ****************************************************
+    // Method: solvesClosedToursOnEvenBoards
+    //
+    // Purpose: Solves a closed tour from several squares
+    // of every even board from 6 x 6 to 24 x 24
+    // and checks each is a closed knight's tour
+    // from the start.
+    // ****************************************************
+    @Test
+    void solvesClosedToursOnEvenBoards() {
+        for (int size = 6; size <= 24; size += 2) {
+            ClosedTourSolver solver = new ClosedTourSolver(size);
+
+            for (int start : new int[] {0, size + 2, size * size / 2 + size / 2, size * size - 1}) {
+                int[] moves = solver.solve(start / size, start % size), path;
+
+                assertNotNull(moves, "No closed tour of " + size + " x " + size + " from " + start);
+                assertEquals(size * size, moves.length);
+                path = TourAssertions.toPath(size, start, moves);
+                assertEquals(start, path[path.length - 1]);
+                TourAssertions.assertFullTour(size, Arrays.copyOf(path, size * size), new BitSet());
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: solvesBoardsOfMoreSquaresThanTheBaseBudget
+    //
+    // Purpose: Checks boards with more squares than
+    // DEFAULT_NODE_BUDGET, which a fixed budget
+    // could never finish, get closed tours.
+    // ****************************************************
+    @Test
+    void solvesBoardsOfMoreSquaresThanTheBaseBudget() {
+        for (int size : new int[] {318, 400}) {
+            int[] moves = new ClosedTourSolver(size).solve(0, 0), path;
+
+            assertTrue(size * size > ClosedTourSolver.DEFAULT_NODE_BUDGET);
+            assertNotNull(moves, "No closed tour of " + size + " x " + size);
+            path = TourAssertions.toPath(size, 0, moves);
+            assertEquals(0, path[path.length - 1]);
+            TourAssertions.assertFullTour(size, Arrays.copyOf(path, size * size), new BitSet());
+        }
+    }
+
+    // ****************************************************
+    // Method: findsNoClosedTourWhereNoneExists
+    //
+    // Purpose: Checks odd boards and boards below 6 x 6,
+    // which have no closed tours, give null.
+    // ****************************************************
+    @Test
+    void findsNoClosedTourWhereNoneExists() {
+        for (int size : new int[] {3, 4, 5, 7, 9}) {
+            assertNull(new ClosedTourSolver(size).solve(0, 0));
+        }
+    }
+}
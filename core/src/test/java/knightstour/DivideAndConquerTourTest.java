@@ -0,0 +1,47 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+// Checks the divide-and-conquer engine streams knight's tours of boards
+// below and above its split size, closed where asked for.
+class DivideAndConquerTourTest {
+    // ****************************************************
+    // Method: streamsToursOfAnySize
+    //
+    // Purpose: Streams divide-and-conquer tours of boards
+    // both below and above the split size and
+    // checks every one is a knight's tour, closed
+    // on even boards when asked for.
+    // ****************************************************
+    @Test
+    void streamsToursOfAnySize() {
+        for (int size : new int[] {6, 12, 25, 37, 100}) {
+            for (boolean isClosed : new boolean[] {false, true}) {
+                DivideAndConquerTour engine;
+                int[] path = new int[size * size];
+                int[] moves = {0};
+
+                if (isClosed && size % 2 != 0) {
+                    continue;
+                }
+                engine = new DivideAndConquerTour(size, isClosed);
+                engine.forEachMove(new TourListener() {
+                    @Override
+                    public void onMove(int moveNumber, int row, int col) {
+                        assertEquals(++moves[0], moveNumber);
+                        path[moveNumber - 1] = row * size + col;
+                    }
+                });
+
+                assertEquals(size * size, moves[0]);
+                TourAssertions.assertFullTour(size, path, new BitSet());
+                if (isClosed) {
+                    TourAssertions.assertKnightMove(size, path[path.length - 1], path[0]);
+                }
+            }
+        }
+    }
+}
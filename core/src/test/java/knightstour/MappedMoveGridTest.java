@@ -0,0 +1,78 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Checks a tour played on a memory-mapped grid reads back from the file
+// after it is closed and reopened, and that other files are refused.
+class MappedMoveGridTest {
+    private static final int BOARD_SIZE = 50; // Board of the mapped tour
+
+    @TempDir
+    Path directory; // Holds the grid file of each test
+
+    // ****************************************************
+    // Method: tourReadsBackAfterReopening
+    //
+    // Purpose: Plays a tour on a mapped grid, reopens the
+    // file read-only and checks every square has
+    // the move number of the same tour played
+    // on the heap. Then changes a square through
+    // a writable mapping and reads it back.
+    // ****************************************************
+    @Test
+    void tourReadsBackAfterReopening() throws IOException {
+        Path file = directory.resolve("tour.grid");
+        Tour heapTour = new Tour(1, 2, BOARD_SIZE);
+
+        try (MappedMoveGrid grid = MappedMoveGrid.create(file, BOARD_SIZE)) {
+            TourAssertions.playTour(new Tour(1, 2, grid));
+        }
+        TourAssertions.playTour(heapTour);
+
+        try (MappedMoveGrid grid = MappedMoveGrid.open(file, true)) {
+            assertEquals(BOARD_SIZE, grid.getBoardSize());
+            for (int row = 0; row < BOARD_SIZE; row++) {
+                for (int col = 0; col < BOARD_SIZE; col++) {
+                    assertEquals(heapTour.getChessBoard().getSquareMoveNumber(row, col), grid.getMoveNumber(row, col));
+                }
+            }
+        }
+
+        try (MappedMoveGrid grid = MappedMoveGrid.open(file, false)) {
+            grid.setMoveNumber(BOARD_SIZE - 1, 0, -7);
+        }
+        try (MappedMoveGrid grid = MappedMoveGrid.open(file, true)) {
+            assertEquals(-7, grid.getMoveNumber(BOARD_SIZE - 1, 0));
+        }
+    }
+
+    // ****************************************************
+    // Method: otherFilesAreRefused
+    //
+    // Purpose: Checks a file without the header and a
+    // grid cut short both fail to open.
+    // ****************************************************
+    @Test
+    void otherFilesAreRefused() throws IOException {
+        Path text = directory.resolve("text.grid"), truncated = directory.resolve("truncated.grid");
+
+        Files.write(text, "not a grid".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IOException.class, () -> MappedMoveGrid.open(text, true));
+
+        MappedMoveGrid.create(truncated, BOARD_SIZE).close();
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(truncated) - 4);
+        }
+        assertThrows(IOException.class, () -> MappedMoveGrid.open(truncated, true));
+    }
+}
@@ -0,0 +1,115 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Checks the ring buffer between the tour and the window keeps its entries
+// in order when it fills, wraps around and is used from two threads.
+class MoveRingBufferTest {
+    private static final int HANDED_OVER = 1 << 20; // Entries passed between
+    // the threads
+
+    // ****************************************************
+    // Method: fillsAndWrapsInOrder
+    //
+    // Purpose: Fills the buffer, drains part of it, fills
+    // it again past the end of the array and
+    // checks the entries come out in order,
+    // across as many drains as it takes.
+    // ****************************************************
+    @Test
+    void fillsAndWrapsInOrder() {
+        MoveRingBuffer buffer = new MoveRingBuffer(4);
+        long[] drained = new long[3];
+        long next = 0;
+        int drainedCount = 0;
+
+        for (int entry = 0; entry < 4; entry++) {
+            assertTrue(buffer.offer(next++));
+        }
+        assertFalse(buffer.offer(next));
+        assertEquals(3, buffer.drain(drained));
+        assertEquals(0, drained[0]);
+        assertEquals(2, drained[2]);
+
+        for (int entry = 0; entry < 3; entry++) {
+            assertTrue(buffer.offer(next++));
+        }
+        assertFalse(buffer.offer(next));
+        for (int count = buffer.drain(drained); count > 0; count = buffer.drain(drained)) {
+            for (int entry = 0; entry < count; entry++) {
+                assertEquals(3 + drainedCount++, drained[entry]);
+            }
+        }
+        assertEquals(4, drainedCount);
+    }
+
+    // ****************************************************
+    // Method: packKeepsRowAndColumn
+    //
+    // Purpose: Checks packed squares, including the undo
+    // entry, give back their row and column.
+    // ****************************************************
+    @Test
+    void packKeepsRowAndColumn() {
+        for (int[] square : new int[][] {{0, 0}, {7, 3}, {65535, 1}, {Integer.MAX_VALUE, Integer.MAX_VALUE},
+            {-1, -1}}) {
+            long entry = MoveRingBuffer.pack(square[0], square[1]);
+
+            assertEquals(square[0], MoveRingBuffer.getRow(entry));
+            assertEquals(square[1], MoveRingBuffer.getCol(entry));
+        }
+        assertEquals(MoveRingBuffer.UNDO, MoveRingBuffer.pack(-1, -1));
+    }
+
+    // ****************************************************
+    // Method: capacityMustBeAPowerOfTwo
+    //
+    // Purpose: Checks other capacities are refused.
+    // ****************************************************
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        for (int capacity : new int[] {0, -4, 3, 100}) {
+            assertThrows(IllegalArgumentException.class, () -> new MoveRingBuffer(capacity));
+        }
+    }
+
+    // ****************************************************
+    // Method: handsEntriesBetweenThreads
+    //
+    // Purpose: Offers a counting sequence from one thread
+    // and checks another thread drains every
+    // entry once and in order.
+    // ****************************************************
+    @Test
+    void handsEntriesBetweenThreads() throws InterruptedException {
+        MoveRingBuffer buffer = new MoveRingBuffer(64);
+        long[] drained = new long[16];
+        long expected = 0;
+        Thread producer = new Thread(() -> {
+            for (long entry = 0; entry < HANDED_OVER; entry++) {
+                while (!buffer.offer(entry)) {
+                    Thread.yield();
+                }
+            }
+        });
+
+        producer.start();
+        while (expected < HANDED_OVER) {
+            int count = buffer.drain(drained);
+
+            if (count == 0) {
+                Thread.yield();
+            }
+            for (int entry = 0; entry < count; entry++) {
+                assertEquals(expected++, drained[entry]);
+            }
+        }
+        producer.join();
+        assertEquals(0, buffer.drain(drained));
+    }
+}
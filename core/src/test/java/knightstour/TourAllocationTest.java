@@ -0,0 +1,87 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+// Checks that a step of the tour allocates nothing once the JIT has compiled
+// it, so very large boards never trigger the garbage collector mid-tour.
+class TourAllocationTest {
+    private static final int BOARD_SIZE = 1000; // Dimension of the board toured
+    private static final int WARM_UP_TOURS = 2; // Tours played before measuring
+    private static final int MEASURED_TOURS = 3; // Tours measured, the least
+    // allocating counts, so a stray JIT event cannot fail the test
+
+    // ****************************************************
+    // Method: moveAllocatesNothing
+    //
+    // Purpose: Plays tours on a 1000 x 1000 board and
+    // checks that the moves of at least one
+    // allocated no bytes at all.
+    // ****************************************************
+    @Test
+    void moveAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads;
+        long threadId = Thread.currentThread().getId(), fewestBytes = Long.MAX_VALUE;
+
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int tour = 0; tour < WARM_UP_TOURS + MEASURED_TOURS; tour++) {
+            Tour knightsTour = new Tour(BOARD_SIZE);
+            long bytesBefore, bytes;
+
+            knightsTour.setStartPosition(0, 0);
+            bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            TourAssertions.playTour(knightsTour);
+            bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            if (tour >= WARM_UP_TOURS) {
+                fewestBytes = Math.min(fewestBytes, bytes);
+            }
+        }
+
+        assertEquals(0, fewestBytes, "Bytes allocated by the moves of a tour");
+    }
+
+    // ****************************************************
+    // Method: retreatAllocatesNothing
+    //
+    // Purpose: Plays a tour that backtracks out of dead
+    // ends and checks that, after the first move
+    // sets the tour up, its moves and retreats
+    // allocated no bytes at all.
+    // ****************************************************
+    @Test
+    void retreatAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads;
+        long threadId = Thread.currentThread().getId(), fewestBytes = Long.MAX_VALUE;
+
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        for (int tour = 0; tour < 10 * (WARM_UP_TOURS + MEASURED_TOURS); tour++) {
+            Tour knightsTour = new Tour(29);
+            long bytesBefore, bytes;
+
+            knightsTour.setBacktrackLimit(100);
+            knightsTour.setStartPosition(3, 1);
+            knightsTour.move();
+            bytesBefore = threads.getThreadAllocatedBytes(threadId);
+            TourAssertions.playTour(knightsTour);
+            bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            assertTrue(knightsTour.getBacktracks() > 0);
+            if (tour >= 10 * WARM_UP_TOURS) {
+                fewestBytes = Math.min(fewestBytes, bytes);
+            }
+        }
+
+        assertEquals(0, fewestBytes, "Bytes allocated by the moves of a backtracking tour");
+    }
+}
@@ -0,0 +1,125 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.BitSet;
+
+// Checks shared by the tests: that a sequence of squares is a knight's path,
+// and the state of a board after a tour.
+final class TourAssertions {
+    private TourAssertions() {
+    }
+
+    // ****************************************************
+    // Method: playTour
+    //
+    // Purpose: Moves the knight until the tour ends.
+    // ****************************************************
+    static void playTour(Tour tour) {
+        do {
+            tour.move();
+        } while (tour.hasMove());
+    }
+
+    // ****************************************************
+    // Method: getPath
+    //
+    // Purpose: Returns the squares of the tour on the
+    // board, as row * size + col, in the order
+    // of their move numbers.
+    // ****************************************************
+    static int[] getPath(ChessBoard chessBoard, int moves) {
+        int size = chessBoard.getBoardSize();
+        int[] path = new int[moves];
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int moveNumber = chessBoard.getSquareMoveNumber(row, col);
+
+                if (moveNumber > 0) {
+                    assertTrue(moveNumber <= moves, "Move " + moveNumber + " after the last move " + moves);
+                    assertEquals(0, path[moveNumber - 1], "Move " + moveNumber + " made twice");
+                    path[moveNumber - 1] = row * size + col + 1;
+                }
+            }
+        }
+        for (int move = 0; move < moves; move++) {
+            if (path[move] == 0) {
+                fail("Move " + (move + 1) + " missing from the board");
+            }
+            path[move]--;
+        }
+
+        return path;
+    }
+
+    // ****************************************************
+    // Method: assertKnightPath
+    //
+    // Purpose: Fails unless every square of the path is
+    // on the board, not blocked, visited once and
+    // a knight's move from the one before.
+    // ****************************************************
+    static void assertKnightPath(int size, int[] path, BitSet blocked) {
+        BitSet seen = new BitSet(size * size);
+
+        for (int step = 0; step < path.length; step++) {
+            int square = path[step];
+
+            assertTrue(square >= 0 && square < size * size, "Square " + square + " off the board");
+            assertFalse(blocked.get(square), "Blocked square " + square + " visited");
+            assertFalse(seen.get(square), "Square " + square + " visited twice");
+            seen.set(square);
+            if (step > 0) {
+                assertKnightMove(size, path[step - 1], square);
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: assertKnightMove
+    //
+    // Purpose: Fails unless the squares are a knight's
+    // move apart.
+    // ****************************************************
+    static void assertKnightMove(int size, int from, int to) {
+        int rowChange = Math.abs(from / size - to / size), colChange = Math.abs(from % size - to % size);
+
+        assertEquals(2, rowChange * colChange, "No knight move from " + from + " to " + to);
+    }
+
+    // ****************************************************
+    // Method: assertFullTour
+    //
+    // Purpose: Fails unless the path visits every square
+    // of the board that is not blocked.
+    // ****************************************************
+    static void assertFullTour(int size, int[] path, BitSet blocked) {
+        assertKnightPath(size, path, blocked);
+        assertEquals(size * size - blocked.cardinality(), path.length, "Tour does not cover the board");
+    }
+
+    // ****************************************************
+    // Method: toPath
+    //
+    // Purpose: Returns the squares reached by playing the
+    // knight move numbers from the start square.
+    // ****************************************************
+    static int[] toPath(int size, int start, int[] moves) {
+        Knight knight = new Knight();
+        int[] path = new int[moves.length + 1];
+        int row = start / size, col = start % size;
+
+        path[0] = start;
+        for (int move = 0; move < moves.length; move++) {
+            row += knight.getVerticalMoveValue(moves[move]);
+            col += knight.getHorizontalMoveValue(moves[move]);
+            path[move + 1] = row * size + col;
+        }
+
+        return path;
+    }
+}
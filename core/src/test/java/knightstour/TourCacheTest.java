@@ -0,0 +1,216 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Checks the tour cache answers every rotation and reflection of a cached
+// board with the matching tour, keeps rules apart and survives restarts
+// through its disk tier.
+class TourCacheTest {
+    private static final int BOARD_SIZE = 8; // Board of the cached tours
+    private static final String VARIANT = "LEGACY"; // Rule of the cached tours
+    private static final long SMALL_CACHE_BYTES = 1000; // Room for two 8 x 8
+    // tours but not three
+
+    @TempDir
+    Path directory; // Holds the disk tier of each test
+
+    // ****************************************************
+    // Method: symmetricBoardsShareATour
+    //
+    // Purpose: Caches a tour from one corner with a
+    // blocked square and checks the tours given
+    // for the other corners, with the blocked
+    // square moved to match, are knight's paths
+    // of the same length from those corners.
+    // ****************************************************
+    @Test
+    void symmetricBoardsShareATour() {
+        TourCache cache = new TourCache(1 << 20);
+        int last = BOARD_SIZE - 1;
+        int[][] corners = {{0, 0, 1, 3}, {0, last, 1, last - 3}, {last, 0, last - 1, 3}, {last, last, last - 1,
+                last - 3}, {0, 0, 3, 1}, {last, last, last - 3, last - 1}};
+        int[] cached = playTour(0, 0, blockSquare(1, 3));
+
+        cache.put(BOARD_SIZE, 0, 0, blockSquare(1, 3), VARIANT, cached);
+        for (int[] corner : corners) {
+            BitSet blocked = blockSquare(corner[2], corner[3]);
+            int[] path = cache.get(BOARD_SIZE, corner[0], corner[1], blocked, VARIANT);
+
+            assertNotNull(path, "No tour for the corner " + corner[0] + ", " + corner[1]);
+            assertEquals(cached.length, path.length);
+            assertEquals(corner[0] * BOARD_SIZE + corner[1], path[0]);
+            TourAssertions.assertKnightPath(BOARD_SIZE, path, blocked);
+        }
+        assertEquals(corners.length, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    // ****************************************************
+    // Method: otherBoardsMiss
+    //
+    // Purpose: Checks another rule, start square or set
+    // of blocked squares is not given the
+    // cached tour.
+    // ****************************************************
+    @Test
+    void otherBoardsMiss() {
+        TourCache cache = new TourCache(1 << 20);
+
+        cache.put(BOARD_SIZE, 0, 0, new BitSet(), VARIANT, playTour(0, 0, new BitSet()));
+
+        assertNull(cache.get(BOARD_SIZE, 0, 0, new BitSet(), "DEGREE_SUM"));
+        assertNull(cache.get(BOARD_SIZE, 0, 1, new BitSet(), VARIANT));
+        assertNull(cache.get(BOARD_SIZE, 0, 0, blockSquare(4, 4), VARIANT));
+        assertNull(cache.get(BOARD_SIZE + 1, 0, 0, new BitSet(), VARIANT));
+        assertEquals(4, cache.getMisses());
+        assertEquals(0, cache.getHits());
+    }
+
+    // ****************************************************
+    // Method: leastRecentlyUsedToursAreEvicted
+    //
+    // Purpose: Checks a small cache stays within its size
+    // by dropping the tour used longest ago.
+    // ****************************************************
+    @Test
+    void leastRecentlyUsedToursAreEvicted() {
+        TourCache cache = new TourCache(SMALL_CACHE_BYTES);
+
+        for (int start = 0; start < 3; start++) {
+            cache.put(BOARD_SIZE, 2, start, new BitSet(), VARIANT, playTour(2, start, new BitSet()));
+            if (start == 1) {
+                assertNotNull(cache.get(BOARD_SIZE, 2, 0, new BitSet(), VARIANT));
+            }
+        }
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.getBytesUsed() <= SMALL_CACHE_BYTES);
+        assertNull(cache.get(BOARD_SIZE, 2, 1, new BitSet(), VARIANT));
+        assertNotNull(cache.get(BOARD_SIZE, 2, 0, new BitSet(), VARIANT));
+        assertNotNull(cache.get(BOARD_SIZE, 2, 2, new BitSet(), VARIANT));
+    }
+
+    // ****************************************************
+    // Method: diskTierSurvivesARestart
+    //
+    // Purpose: Checks a tour put in one cache is found by
+    // a new cache on the same directory, and
+    // that clearing memory leaves it on disk.
+    // ****************************************************
+    @Test
+    void diskTierSurvivesARestart() throws IOException {
+        TourCache cache = new TourCache(1 << 20), restarted = new TourCache(1 << 20);
+        int[] path = playTour(3, 5, new BitSet());
+
+        cache.setDirectory(directory);
+        cache.put(BOARD_SIZE, 3, 5, new BitSet(), VARIANT, path);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertArrayEquals(path, cache.get(BOARD_SIZE, 3, 5, new BitSet(), VARIANT));
+
+        restarted.setDirectory(directory);
+        assertArrayEquals(path, restarted.get(BOARD_SIZE, 3, 5, new BitSet(), VARIANT));
+        assertEquals(1, restarted.getHits());
+    }
+
+    // ****************************************************
+    // Method: tieBreakSettingsKeepToursApart
+    //
+    // Purpose: Plays tours through one cache with other
+    // move orders and lookahead depths and checks
+    // each plays the tour of its own settings,
+    // not one cached under different settings.
+    // ****************************************************
+    @Test
+    void tieBreakSettingsKeepToursApart() {
+        TourCache cache = new TourCache(1 << 20);
+        int[][] moveOrders = {{0, 1, 2, 3, 4, 5, 6, 7}, {7, 6, 5, 4, 3, 2, 1, 0}, {3, 1, 4, 0, 5, 2, 6, 7}};
+        int size = 12;
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int[] moveOrder : moveOrders) {
+                Tour cached = new Tour(size), uncached = new Tour(size);
+
+                cached.setTourCache(cache);
+                for (Tour tour : new Tour[] {cached, uncached}) {
+                    tour.setTieBreak(TieBreak.MOVE_ORDER);
+                    tour.getChessBoard().setMoveOrder(moveOrder);
+                    tour.setStartPosition(0, 0);
+                    TourAssertions.playTour(tour);
+                }
+                assertArrayEquals(getMoveNumbers(uncached), getMoveNumbers(cached));
+            }
+            for (int depth = 1; depth <= 4; depth++) {
+                Tour cached = new Tour(size), uncached = new Tour(size);
+
+                cached.setTourCache(cache);
+                for (Tour tour : new Tour[] {cached, uncached}) {
+                    tour.setTieBreak(TieBreak.LOOKAHEAD);
+                    tour.getChessBoard().setLookaheadDepth(depth);
+                    tour.setStartPosition(0, 0);
+                    TourAssertions.playTour(tour);
+                }
+                assertArrayEquals(getMoveNumbers(uncached), getMoveNumbers(cached));
+            }
+        }
+        assertEquals(moveOrders.length + 4, cache.getMisses());
+        assertEquals(moveOrders.length + 4, cache.getHits());
+    }
+
+    // ****************************************************
+    // Method: playTour
+    //
+    // Purpose: Returns the squares of the heuristic tour
+    // from the start square around the blocked
+    // squares.
+    // ****************************************************
+    private static int[] playTour(int startRow, int startCol, BitSet blocked) {
+        Tour tour = new Tour(BOARD_SIZE);
+
+        tour.getChessBoard().blockSquares(blocked);
+        tour.setStartPosition(startRow, startCol);
+        TourAssertions.playTour(tour);
+
+        return TourAssertions.getPath(tour.getChessBoard(), tour.getKnight().getMoveCounter());
+    }
+
+    // ****************************************************
+    // Method: getMoveNumbers
+    //
+    // Purpose: Returns the move number of every square of
+    // the tour's board.
+    // ****************************************************
+    private static int[] getMoveNumbers(Tour tour) {
+        int size = tour.getChessBoard().getBoardSize();
+        int[] moveNumbers = new int[size * size];
+
+        for (int square = 0; square < moveNumbers.length; square++) {
+            moveNumbers[square] = tour.getChessBoard().getSquareMoveNumber(square / size, square % size);
+        }
+
+        return moveNumbers;
+    }
+
+    // ****************************************************
+    // Method: blockSquare
+    //
+    // Purpose: Returns a set holding the one square.
+    // ****************************************************
+    private static BitSet blockSquare(int row, int col) {
+        BitSet blocked = new BitSet();
+
+        blocked.set(row * BOARD_SIZE + col);
+
+        return blocked;
+    }
+}
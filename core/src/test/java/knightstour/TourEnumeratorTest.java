@@ -0,0 +1,238 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+// Checks the exhaustive searches against the known numbers of open tours of
+// the 5 x 5 board: 304 from a corner, 64 from the centre and 1728 in all,
+// and checks that pruning and the budget never change what is found.
+class TourEnumeratorTest {
+    private static final long[][] TOURS_5X5 = { // Open tours from every
+        // square of the 5 x 5 board
+        {304, 0, 56, 0, 304},
+        {0, 56, 0, 56, 0},
+        {56, 0, 64, 0, 56},
+        {0, 56, 0, 56, 0},
+        {304, 0, 56, 0, 304}};
+
+    // ****************************************************
+    // Method: parallelSearchCountsTheKnownTours
+    //
+    // Purpose: Counts the tours from every square of the
+    // 5 x 5 board with the fork/join search.
+    // ****************************************************
+    @Test
+    void parallelSearchCountsTheKnownTours() {
+        ParallelFullTour parallel = new ParallelFullTour(5, 3);
+
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                assertEquals(TOURS_5X5[row][col], parallel.countTours(row, col));
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: parallelSearchesShareAnInstance
+    //
+    // Purpose: Counts tours from several threads at once
+    // with one fork/join search and checks every
+    // thread gets the count of its own square.
+    // ****************************************************
+    @Test
+    void parallelSearchesShareAnInstance() throws InterruptedException {
+        ParallelFullTour parallel = new ParallelFullTour(5, 3);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int square = 0; square < 25; square += 2) {
+            int row = square / 5, col = square % 5;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int pass = 0; pass < 3; pass++) {
+                        assertEquals(TOURS_5X5[row][col], parallel.countTours(row, col));
+                    }
+                } catch (Throwable failure) {
+                    synchronized (failures) {
+                        failures.add(failure);
+                    }
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), "Wrong counts: " + failures);
+    }
+
+    // ****************************************************
+    // Method: symmetricSearchCountsEveryTour
+    //
+    // Purpose: Counts the tours from all squares of the
+    // 5 x 5 board, searching one square of every
+    // symmetry class only.
+    // ****************************************************
+    @Test
+    void symmetricSearchCountsEveryTour() {
+        assertEquals(1728, new SymmetricFullTour(5, 3, ForkJoinPool.commonPool()).countAllTours());
+    }
+
+    // ****************************************************
+    // Method: enumeratorCountsTheKnownTours
+    //
+    // Purpose: Counts the tours from every square of the
+    // 5 x 5 board with the sequential search.
+    // ****************************************************
+    @Test
+    void enumeratorCountsTheKnownTours() {
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                assertEquals(TOURS_5X5[row][col], new TourEnumerator(5).countTours(row, col));
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: pruningKeepsEveryTour
+    //
+    // Purpose: Checks the pruning rules cut only branches
+    // without tours, from every square of the
+    // 5 x 5 board, open and with a blocked square.
+    // ****************************************************
+    @Test
+    void pruningKeepsEveryTour() {
+        for (int row = 0; row < 5; row++) {
+            for (int col = 0; col < 5; col++) {
+                TourEnumerator pruned = new TourEnumerator(5), blocked = new TourEnumerator(5),
+                        blockedPruned = new TourEnumerator(5);
+
+                pruned.addPruningRule(new DeadEndPruning());
+                pruned.addPruningRule(new ConnectivityPruning(4, 1));
+                assertEquals(TOURS_5X5[row][col], pruned.countTours(row, col));
+
+                if (row != 1 || col != 2) {
+                    blocked.setBlockedSquare(1, 2, true);
+                    blockedPruned.setBlockedSquare(1, 2, true);
+                    blockedPruned.addPruningRule(new DeadEndPruning());
+                    blockedPruned.addPruningRule(new ConnectivityPruning(1, 1));
+                    assertEquals(blocked.countTours(row, col), blockedPruned.countTours(row, col));
+                }
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: keptToursAreKnightsTours
+    //
+    // Purpose: Checks the tours kept as grids and the ones
+    // passed to a sink are the same valid tours.
+    // ****************************************************
+    @Test
+    void keptToursAreKnightsTours() {
+        TourEnumerator enumerator = new TourEnumerator(5);
+        List<int[]> sunkPaths = new ArrayList<>();
+        EnumerationResult result;
+
+        enumerator.setMaxKeptTours(Integer.MAX_VALUE);
+        enumerator.setTourSink(new TourSink() {
+            @Override
+            public void start(int boardSize, int startRow, int startCol, int moveCount) {
+                assertEquals(5, boardSize);
+                assertEquals(24, moveCount);
+            }
+
+            @Override
+            public void acceptTour(byte[] moveCodes) {
+                int[] moves = new int[moveCodes.length];
+
+                for (int move = 0; move < moves.length; move++) {
+                    moves[move] = moveCodes[move];
+                }
+                sunkPaths.add(TourAssertions.toPath(5, 0, moves));
+            }
+        });
+        result = enumerator.enumerate(0, 0);
+
+        assertEquals(304, result.getTours().size());
+        assertEquals(304, sunkPaths.size());
+        for (int tour = 0; tour < sunkPaths.size(); tour++) {
+            int[][] grid = result.getTours().get(tour);
+
+            TourAssertions.assertFullTour(5, sunkPaths.get(tour), new BitSet());
+            for (int step = 0; step < 25; step++) {
+                int square = sunkPaths.get(tour)[step];
+
+                assertEquals(step + 1, grid[square / 5][square % 5]);
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: blockedSquaresAreLeftOut
+    //
+    // Purpose: Checks tours on a board with a blocked
+    // square cover every other square.
+    // ****************************************************
+    @Test
+    void blockedSquaresAreLeftOut() {
+        TourEnumerator enumerator = new TourEnumerator(5);
+        BitSet blocked = new BitSet();
+        EnumerationResult result;
+
+        blocked.set(2 * 5 + 2);
+        enumerator.setBlockedSquare(2, 2, true);
+        enumerator.setMaxKeptTours(Integer.MAX_VALUE);
+        result = enumerator.enumerate(0, 0);
+
+        assertTrue(result.getTourCount() > 0);
+        for (int[][] grid : result.getTours()) {
+            int[] path = new int[24];
+
+            assertEquals(0, grid[2][2]);
+            for (int square = 0; square < 25; square++) {
+                if (grid[square / 5][square % 5] > 0) {
+                    path[grid[square / 5][square % 5] - 1] = square;
+                }
+            }
+            TourAssertions.assertFullTour(5, path, blocked);
+        }
+    }
+
+    // ****************************************************
+    // Method: budgetStopsTheSearch
+    //
+    // Purpose: Checks the solution limit and cancellation
+    // end the search with the matching reason.
+    // ****************************************************
+    @Test
+    void budgetStopsTheSearch() {
+        TourEnumerator limited = new TourEnumerator(5), cancelled = new TourEnumerator(6);
+        CancellationToken token = new CancellationToken();
+        EnumerationResult result;
+
+        limited.setMaxSolutions(10);
+        result = limited.enumerate(0, 0);
+        assertEquals(10, result.getTourCount());
+        assertEquals(EnumerationResult.StopReason.SOLUTION_LIMIT, result.getStopReason());
+        assertFalse(result.isComplete());
+
+        token.cancel();
+        cancelled.setCancellationToken(token);
+        result = cancelled.enumerate(0, 0);
+        assertEquals(EnumerationResult.StopReason.CANCELLED, result.getStopReason());
+
+        result = new TourEnumerator(5).enumerate(2, 2);
+        assertEquals(64, result.getTourCount());
+        assertTrue(result.isComplete());
+    }
+}
@@ -0,0 +1,169 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Checks the streaming tour file format and the recordings saved in it: raw
+// and deflated files, tours spanning several blocks, blocked squares and
+// files cut short.
+class TourFileTest {
+    private static final int BOARD_SIZE = 300; // Board of a tour longer than
+    // one block of moves
+
+    @TempDir
+    Path directory; // Holds the files written by each test
+
+    // ****************************************************
+    // Method: tourReadsBackUnchanged
+    //
+    // Purpose: Writes a tour of more than one block, raw
+    // and deflated, and checks the reader gives
+    // back the header and every square.
+    // ****************************************************
+    @Test
+    void tourReadsBackUnchanged() throws IOException {
+        BitSet blocked = new BitSet();
+        int[] path;
+
+        blocked.set(BOARD_SIZE * BOARD_SIZE - 1);
+        blocked.set(17);
+        path = createPath(blocked);
+        for (boolean isCompressed : new boolean[] {false, true}) {
+            Path file = directory.resolve("tour-" + isCompressed + ".kt");
+
+            writeTour(file, path, blocked, isCompressed);
+            try (TourFileReader reader = new TourFileReader(file)) {
+                assertEquals(BOARD_SIZE, reader.getBoardSize());
+                assertEquals(path[0] / BOARD_SIZE, reader.getStartRow());
+                assertEquals(path[0] % BOARD_SIZE, reader.getStartCol());
+                assertEquals(blocked, reader.getBlockedSquares());
+                assertEquals(isCompressed, reader.isCompressed());
+                for (int square : path) {
+                    assertEquals(square, reader.readSquare());
+                }
+                assertEquals(-1, reader.readSquare());
+                assertEquals(-1, reader.readSquare());
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: emptyTourReadsBack
+    //
+    // Purpose: Checks a file closed before any move reads
+    // back as a tour with no squares.
+    // ****************************************************
+    @Test
+    void emptyTourReadsBack() throws IOException {
+        Path file = directory.resolve("empty.kt");
+
+        new TourFileWriter(file, 8, new BitSet(), true).close();
+        try (TourFileReader reader = new TourFileReader(file)) {
+            assertEquals(8, reader.getBoardSize());
+            assertEquals(-1, reader.getStartRow());
+            assertEquals(-1, reader.readSquare());
+        }
+    }
+
+    // ****************************************************
+    // Method: truncatedFileIsRejected
+    //
+    // Purpose: Checks a raw or deflated file cut off
+    // before its end fails with an error rather
+    // than ending the tour early.
+    // ****************************************************
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        int[] path = createPath(new BitSet());
+
+        for (boolean isCompressed : new boolean[] {false, true}) {
+            Path file = directory.resolve("truncated-" + isCompressed + ".kt");
+
+            writeTour(file, path, new BitSet(), isCompressed);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(file) / 2);
+            }
+            try (TourFileReader reader = new TourFileReader(file)) {
+                assertThrows(IOException.class, () -> {
+                    while (reader.readSquare() >= 0) {
+                        continue;
+                    }
+                });
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: recordingRoundTrips
+    //
+    // Purpose: Saves a recording with a blocked square in
+    // a deflated file, loads it and checks the
+    // blocked square and every move came back.
+    // ****************************************************
+    @Test
+    void recordingRoundTrips() throws IOException {
+        BitSet blocked = new BitSet();
+        int[] path;
+        TourRecording recording = new TourRecording(BOARD_SIZE), loaded;
+        Path file = directory.resolve("recording.kt");
+
+        blocked.set(17);
+        path = createPath(blocked);
+        recording.setBlocked(0, 17, true);
+        for (int square : path) {
+            recording.addMove(square / BOARD_SIZE, square % BOARD_SIZE);
+        }
+        recording.write(file, true);
+        loaded = TourRecording.read(file);
+
+        assertEquals(path.length, loaded.getMoveCount());
+        assertTrue(loaded.isBlocked(0, 17));
+        assertFalse(loaded.isBlocked(0, 18));
+        for (int move = 1; move <= path.length; move += 997) {
+            assertEquals(path[move - 1], loaded.getSquare(move));
+        }
+        assertEquals(path[path.length - 1], loaded.getSquare(path.length));
+    }
+
+    // ****************************************************
+    // Method: createPath
+    //
+    // Purpose: Returns the squares of a heuristic tour of
+    // the board around the blocked squares, in
+    // the order visited.
+    // ****************************************************
+    private static int[] createPath(BitSet blocked) {
+        Tour tour = new Tour(BOARD_SIZE);
+
+        tour.getChessBoard().blockSquares(blocked);
+        tour.setStartPosition(1, 0);
+        TourAssertions.playTour(tour);
+
+        return TourAssertions.getPath(tour.getChessBoard(), tour.getKnight().getMoveCounter());
+    }
+
+    // ****************************************************
+    // Method: writeTour
+    //
+    // Purpose: Writes the squares to a tour file.
+    // ****************************************************
+    private static void writeTour(Path file, int[] path, BitSet blocked, boolean isCompressed)
+            throws IOException {
+        try (TourFileWriter writer = new TourFileWriter(file, BOARD_SIZE, blocked, isCompressed)) {
+            for (int square : path) {
+                writer.writeMove(square / BOARD_SIZE, square % BOARD_SIZE);
+            }
+        }
+    }
+}
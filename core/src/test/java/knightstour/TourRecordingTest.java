@@ -0,0 +1,122 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Checks a recording gives back the square of any move from its keyframes,
+// and forgets the squares of moves taken back.
+class TourRecordingTest {
+    private static final int BOARD_SIZE = 60; // Board of a tour spanning
+    // several keyframe intervals
+
+    // ****************************************************
+    // Method: seekFindsEverySquare
+    //
+    // Purpose: Records a tour and checks every move, and
+    // runs of moves starting between keyframes,
+    // give back the squares visited.
+    // ****************************************************
+    @Test
+    void seekFindsEverySquare() {
+        int[] path = createPath(), squares = new int[1500];
+        TourRecording recording = record(path);
+
+        assertEquals(path.length, recording.getMoveCount());
+        for (int move = 1; move <= path.length; move++) {
+            assertEquals(path[move - 1], recording.getSquare(move));
+        }
+        for (int firstMove : new int[] {1, 700, 1024, 1025, path.length - 100}) {
+            int count = recording.getSquares(firstMove, squares);
+
+            assertEquals(Math.min(squares.length, path.length - firstMove + 1), count);
+            for (int square = 0; square < count; square++) {
+                assertEquals(path[firstMove + square - 1], squares[square]);
+            }
+        }
+        assertEquals(0, recording.getSquares(path.length + 1, squares));
+        assertThrows(IndexOutOfBoundsException.class, () -> recording.getSquare(path.length + 1));
+    }
+
+    // ****************************************************
+    // Method: removeMoveForgetsTheSquare
+    //
+    // Purpose: Takes moves back across a keyframe and
+    // checks their squares count as unvisited
+    // and can be recorded again.
+    // ****************************************************
+    @Test
+    void removeMoveForgetsTheSquare() {
+        int[] path = createPath();
+        TourRecording recording = record(path);
+        int keptMoves = 1000;
+
+        for (int move = path.length; move > keptMoves; move--) {
+            int square = path[move - 1];
+
+            assertTrue(recording.isVisited(square / BOARD_SIZE, square % BOARD_SIZE, move));
+            recording.removeMove();
+            assertEquals(0, recording.getMoveNumber(square / BOARD_SIZE, square % BOARD_SIZE));
+            assertFalse(recording.isVisited(square / BOARD_SIZE, square % BOARD_SIZE, path.length));
+        }
+        assertEquals(keptMoves, recording.getMoveCount());
+        assertEquals(keptMoves, recording.countVisited(0, 0, BOARD_SIZE, keptMoves)
+                + countVisited(recording, 1, keptMoves));
+
+        for (int move = keptMoves + 1; move <= path.length; move++) {
+            recording.addMove(path[move - 1] / BOARD_SIZE, path[move - 1] % BOARD_SIZE);
+        }
+        for (int move = 1; move <= path.length; move += 97) {
+            assertEquals(path[move - 1], recording.getSquare(move));
+        }
+    }
+
+    // ****************************************************
+    // Method: countVisited
+    //
+    // Purpose: Returns how many squares of the rows from
+    // the first row on the first moves visited.
+    // ****************************************************
+    private static int countVisited(TourRecording recording, int firstRow, int moves) {
+        int visited = 0;
+
+        for (int row = firstRow; row < BOARD_SIZE; row++) {
+            visited += recording.countVisited(row, 0, BOARD_SIZE, moves);
+        }
+
+        return visited;
+    }
+
+    // ****************************************************
+    // Method: record
+    //
+    // Purpose: Returns a recording of the squares.
+    // ****************************************************
+    private static TourRecording record(int[] path) {
+        TourRecording recording = new TourRecording(BOARD_SIZE);
+
+        for (int square : path) {
+            recording.addMove(square / BOARD_SIZE, square % BOARD_SIZE);
+        }
+
+        return recording;
+    }
+
+    // ****************************************************
+    // Method: createPath
+    //
+    // Purpose: Returns the squares of a heuristic tour of
+    // the board, in the order visited.
+    // ****************************************************
+    private static int[] createPath() {
+        Tour tour = new Tour(BOARD_SIZE);
+
+        tour.setStartPosition(0, 0);
+        TourAssertions.playTour(tour);
+
+        return TourAssertions.getPath(tour.getChessBoard(), tour.getKnight().getMoveCounter());
+    }
+}
@@ -0,0 +1,201 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+// Checks the tour server on an ephemeral port: tours are streamed, boards
+// over the size limit are refused, slow tours time out and requests past
+// the concurrency limit get 503.
+class TourServerTest {
+    private static final int RETRY_MILLIS = 10000; // Time to wait for a
+    // permit to come back once a reply was read or a client went away
+
+    // ****************************************************
+    // Method: servesToursWithinTheLimits
+    //
+    // Purpose: Checks a small tour is streamed in full
+    // and boards past the size limit get 400.
+    // ****************************************************
+    @Test
+    void servesToursWithinTheLimits() throws IOException {
+        TourServer server = startServer(1, 10000);
+
+        try {
+            Reply reply = getWhenFree(server, "size=8&row=0&col=0");
+
+            assertEquals(200, reply.status);
+            assertTrue(reply.body.startsWith("{\"size\":8,\"row\":0,\"col\":0,\"moves\":[[0,0],"), reply.body);
+            assertTrue(reply.body.endsWith("],\"status\":\"complete\"}\n"), reply.body);
+
+            reply = getWhenFree(server, "size=41&row=0&col=0");
+            assertEquals(400, reply.status);
+            assertTrue(reply.body.contains("size must be between 1 and 40"), reply.body);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // ****************************************************
+    // Method: closedSolveTimesOut
+    //
+    // Purpose: Checks a closed tour whose solve alone
+    // takes longer than the timeout ends with
+    // the timeout status right after the first
+    // move, not thousands of moves later.
+    // ****************************************************
+    @Test
+    void closedSolveTimesOut() throws IOException {
+        TourServer server = startServer(1, 1);
+
+        try {
+            Reply reply;
+
+            server.setMaxSize(1000);
+            reply = get(server, "size=1000&row=0&col=0&mode=closed");
+
+            assertEquals(200, reply.status);
+            assertTrue(reply.body.endsWith("],\"status\":\"timeout\"}\n"), reply.body);
+            assertTrue(reply.body.length() < 100, "Moves streamed after the timeout");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // ****************************************************
+    // Method: requestsPastTheLimitGet503
+    //
+    // Purpose: Holds the only permit with a large tour
+    // whose client stops reading, checks another
+    // request gets 503 at once, and that the
+    // permit comes back once the client goes.
+    // ****************************************************
+    @Test
+    void requestsPastTheLimitGet503() throws IOException {
+        TourServer server = startServer(1, 60000);
+        Reply reply;
+
+        server.setMaxSize(2000);
+        try {
+            try (Socket stalled = new Socket("localhost", server.getPort())) {
+                OutputStream request = stalled.getOutputStream();
+
+                request.write("GET /tour?size=2000&row=0&col=0 HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                request.flush();
+                assertTrue(readHeaders(stalled.getInputStream()).startsWith("HTTP/1.1 200"));
+
+                reply = get(server, "size=8&row=0&col=0");
+                assertEquals(503, reply.status);
+                assertEquals("1", reply.retryAfter);
+            }
+
+            assertEquals(200, getWhenFree(server, "size=8&row=0&col=0").status);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // ****************************************************
+    // Method: startServer
+    //
+    // Purpose: Starts a server without a tour cache on a
+    // free port, serving boards up to 40 x 40.
+    // ****************************************************
+    private static TourServer startServer(int maxConcurrent, long timeoutMillis) throws IOException {
+        TourServer server = new TourServer(0, maxConcurrent, timeoutMillis);
+
+        server.setTourCache(null);
+        server.setMaxSize(40);
+        server.start();
+
+        return server;
+    }
+
+    // ****************************************************
+    // Method: getWhenFree
+    //
+    // Purpose: Requests a tour until the reply is not
+    // 503. The server frees a permit only after
+    // the last reply was sent, so the next
+    // request can still find it taken.
+    // ****************************************************
+    private static Reply getWhenFree(TourServer server, String query) throws IOException {
+        long retryUntil = System.currentTimeMillis() + RETRY_MILLIS;
+        Reply reply = get(server, query);
+
+        while (reply.status == 503 && System.currentTimeMillis() < retryUntil) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for a permit", e);
+            }
+            reply = get(server, query);
+        }
+
+        return reply;
+    }
+
+    // ****************************************************
+    // Method: get
+    //
+    // Purpose: Requests a tour and returns the status,
+    // Retry-After header and body of the reply.
+    // ****************************************************
+    private static Reply get(TourServer server, String query) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort()
+                + "/tour?" + query).openConnection();
+        Reply reply = new Reply();
+
+        try {
+            reply.status = connection.getResponseCode();
+            reply.retryAfter = connection.getHeaderField("Retry-After");
+            try (InputStream body = reply.status < 400 ? connection.getInputStream()
+                    : connection.getErrorStream()) {
+                reply.body = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } finally {
+            connection.disconnect();
+        }
+
+        return reply;
+    }
+
+    // ****************************************************
+    // Method: readHeaders
+    //
+    // Purpose: Reads a reply up to the blank line after
+    // its headers and returns them.
+    // ****************************************************
+    private static String readHeaders(InputStream in) throws IOException {
+        StringBuilder headers = new StringBuilder();
+        int next;
+
+        while (headers.indexOf("\r\n\r\n") < 0 && (next = in.read()) >= 0) {
+            headers.append((char) next);
+        }
+
+        return headers.toString();
+    }
+
+    // ****************************************************
+    // Class: Reply
+    //
+    // Purpose: Status, Retry-After header and body of one
+    // reply.
+    // ****************************************************
+    private static class Reply {
+        int status; // HTTP status code
+        String retryAfter; // Retry-After header, or null
+        String body; // Body of the reply
+    }
+}
@@ -0,0 +1,341 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import org.junit.jupiter.api.Test;
+
+// Checks the heuristic tour: its paths under every tie break rule, taking
+// moves back, and the closed tour mode.
+class TourTest {
+    private static final BitSet NONE_BLOCKED = new BitSet(); // No square blocked
+
+    // ****************************************************
+    // Method: everyTieBreakPlaysAKnightsPath
+    //
+    // Purpose: Plays every start square of the boards
+    // from 5 x 5 to 12 x 12 under every tie break
+    // rule and checks each tour is a knight's
+    // path that ends only when stuck.
+    // ****************************************************
+    @Test
+    void everyTieBreakPlaysAKnightsPath() {
+        for (TieBreak tieBreak : TieBreak.values()) {
+            for (int size = 5; size <= 12; size++) {
+                for (int start = 0; start < size * size; start++) {
+                    Tour tour = new Tour(size);
+                    int moves;
+
+                    tour.setTieBreak(tieBreak);
+                    tour.setStartPosition(start / size, start % size);
+                    TourAssertions.playTour(tour);
+                    moves = tour.getKnight().getMoveCounter();
+
+                    assertEquals(moves, tour.getChessBoard().getNumVisitedSquares());
+                    TourAssertions.assertKnightPath(size, TourAssertions.getPath(tour.getChessBoard(), moves),
+                            NONE_BLOCKED);
+                    assertEquals(0, tour.getKnight().findNumOfPossibleMoves(tour.getChessBoard()),
+                            tieBreak + " stopped with a move left");
+                }
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: greedyTourCoversTheBoard
+    //
+    // Purpose: Checks the tours the heuristic is known to
+    // complete: every start square of 8 x 8 but
+    // one, and the corner of larger boards.
+    // ****************************************************
+    @Test
+    void greedyTourCoversTheBoard() {
+        int completed = 0;
+
+        for (int start = 0; start < 64; start++) {
+            Tour tour = new Tour(8);
+
+            tour.setStartPosition(start / 8, start % 8);
+            TourAssertions.playTour(tour);
+            completed += tour.getChessBoard().isFull() ? 1 : 0;
+        }
+        assertEquals(63, completed);
+
+        for (int size : new int[] {20, 50, 100}) {
+            Tour tour = new Tour(size);
+
+            tour.setStartPosition(0, 0);
+            TourAssertions.playTour(tour);
+            assertTrue(tour.getChessBoard().isFull(), size + " x " + size + " tour incomplete");
+            TourAssertions.assertFullTour(size, TourAssertions.getPath(tour.getChessBoard(), size * size),
+                    NONE_BLOCKED);
+        }
+    }
+
+    // ****************************************************
+    // Method: blockedSquaresAreAvoided
+    //
+    // Purpose: Checks the tour never visits a blocked
+    // square and that the board counts them.
+    // ****************************************************
+    @Test
+    void blockedSquaresAreAvoided() {
+        Tour tour = new Tour(12);
+        BitSet blocked = new BitSet();
+        int moves;
+
+        blocked.set(5 * 12 + 5);
+        blocked.set(6 * 12 + 6);
+        blocked.set(11 * 12 + 11);
+        tour.getChessBoard().blockSquares(blocked);
+        tour.setStartPosition(0, 0);
+        TourAssertions.playTour(tour);
+        moves = tour.getKnight().getMoveCounter();
+
+        assertEquals(moves + blocked.cardinality(), tour.getChessBoard().getNumVisitedSquares());
+        TourAssertions.assertKnightPath(12, TourAssertions.getPath(tour.getChessBoard(), moves), blocked);
+    }
+
+    // ****************************************************
+    // Method: undoMoveRestoresTheBoard
+    //
+    // Purpose: Plays part of a tour, takes the later
+    // moves back and checks the board is the same
+    // as before them and that the tour then plays
+    // on exactly as it did the first time.
+    // ****************************************************
+    @Test
+    void undoMoveRestoresTheBoard() {
+        for (TieBreak tieBreak : new TieBreak[] {TieBreak.LEGACY, TieBreak.DEGREE_SUM}) {
+            Tour tour = new Tour(20), reference = new Tour(20);
+            int[] moveNumbers, accessibility;
+
+            tour.setTieBreak(tieBreak);
+            reference.setTieBreak(tieBreak);
+            tour.setStartPosition(3, 7);
+            reference.setStartPosition(3, 7);
+            TourAssertions.playTour(reference);
+
+            for (int move = 0; move < 150; move++) {
+                tour.move();
+            }
+            moveNumbers = getMoveNumbers(tour.getChessBoard());
+            accessibility = getAccessibility(tour.getChessBoard());
+            for (int move = 0; move < 100; move++) {
+                tour.move();
+            }
+            for (int move = 0; move < 100; move++) {
+                assertTrue(tour.undoMove());
+            }
+
+            assertEquals(150, tour.getChessBoard().getNumVisitedSquares());
+            assertEquals(151, tour.getKnight().getMoveCounter());
+            assertArrayEquals(moveNumbers, getMoveNumbers(tour.getChessBoard()));
+            assertArrayEquals(accessibility, getAccessibility(tour.getChessBoard()));
+
+            TourAssertions.playTour(tour);
+            assertArrayEquals(getMoveNumbers(reference.getChessBoard()), getMoveNumbers(tour.getChessBoard()));
+        }
+    }
+
+    // ****************************************************
+    // Method: undoMoveStopsAtTheStart
+    //
+    // Purpose: Checks every square can be taken back and
+    // that nothing is left to undo after that.
+    // ****************************************************
+    @Test
+    void undoMoveStopsAtTheStart() {
+        Tour tour = new Tour(8);
+
+        assertFalse(tour.undoMove());
+        tour.setStartPosition(0, 0);
+        TourAssertions.playTour(tour);
+        for (int move = 0; move < 64; move++) {
+            assertTrue(tour.undoMove());
+        }
+        assertFalse(tour.undoMove());
+        assertEquals(0, tour.getChessBoard().getNumVisitedSquares());
+        assertArrayEquals(getAccessibility(new Tour(8).getChessBoard()), getAccessibility(tour.getChessBoard()));
+    }
+
+    // ****************************************************
+    // Method: closedTourEndsAKnightsMoveFromTheStart
+    //
+    // Purpose: Checks closed mode covers the board and
+    // ends a knight's move from the start square.
+    // ****************************************************
+    @Test
+    void closedTourEndsAKnightsMoveFromTheStart() {
+        for (int size : new int[] {6, 8, 12, 30}) {
+            Tour tour = new Tour(size);
+            int[] path;
+
+            tour.setClosed(true);
+            tour.setStartPosition(1, 2);
+            TourAssertions.playTour(tour);
+            path = TourAssertions.getPath(tour.getChessBoard(), size * size);
+
+            assertTrue(tour.isClosedTour(), size + " x " + size + " tour not closed");
+            TourAssertions.assertFullTour(size, path, NONE_BLOCKED);
+            TourAssertions.assertKnightMove(size, path[path.length - 1], path[0]);
+        }
+    }
+
+    // ****************************************************
+    // Method: backtrackingCompletesStuckTours
+    //
+    // Purpose: Checks backtracking completes tours the
+    // heuristic alone gets stuck on, within a
+    // limit for every dead end rather than for
+    // the whole tour, and that a start with no
+    // tour still ends on a valid path.
+    // ****************************************************
+    @Test
+    void backtrackingCompletesStuckTours() {
+        int[][] stuckTours = {{5, 2, 0, 100000}, {7, 2, 2, 1000}, {26, 16, 0, 20}}; // Size,
+        // start row and column, and backtrack limit
+        Tour impossible = new Tour(5);
+
+        for (int[] stuckTour : stuckTours) {
+            int size = stuckTour[0];
+            Tour greedy = new Tour(size), tour = new Tour(size);
+
+            greedy.setStartPosition(stuckTour[1], stuckTour[2]);
+            TourAssertions.playTour(greedy);
+            assertFalse(greedy.getChessBoard().isFull());
+
+            tour.setBacktrackLimit(stuckTour[3]);
+            tour.setStartPosition(stuckTour[1], stuckTour[2]);
+            TourAssertions.playTour(tour);
+            assertTrue(tour.getChessBoard().isFull(), size + " x " + size + " tour incomplete");
+            assertTrue(tour.getBacktracks() > 0);
+            TourAssertions.assertFullTour(size, TourAssertions.getPath(tour.getChessBoard(), size * size),
+                    NONE_BLOCKED);
+        }
+
+        impossible.setBacktrackLimit(1000);
+        impossible.setStartPosition(0, 1);
+        TourAssertions.playTour(impossible);
+        assertFalse(impossible.getChessBoard().isFull());
+        TourAssertions.assertKnightPath(5, TourAssertions.getPath(impossible.getChessBoard(),
+                impossible.getKnight().getMoveCounter()), NONE_BLOCKED);
+    }
+
+    // ****************************************************
+    // Method: backtrackingNeverShortensATour
+    //
+    // Purpose: Plays the tour from every start square of
+    // small boards with and without backtracking
+    // and checks backtracking, whether its limit
+    // runs out or not, never ends the tour
+    // sooner than the heuristic alone.
+    // ****************************************************
+    @Test
+    void backtrackingNeverShortensATour() {
+        for (int size = 5; size <= 12; size++) {
+            for (int square = 0; square < size * size; square++) {
+                Tour greedy = new Tour(size);
+
+                greedy.setStartPosition(square / size, square % size);
+                TourAssertions.playTour(greedy);
+                for (int backtrackLimit : new int[] {1, 20}) {
+                    Tour tour = new Tour(size);
+
+                    tour.setBacktrackLimit(backtrackLimit);
+                    tour.setStartPosition(square / size, square % size);
+                    TourAssertions.playTour(tour);
+                    assertTrue(tour.getKnight().getMoveCounter() >= greedy.getKnight().getMoveCounter(),
+                            size + " x " + size + " tour from " + square + " shorter with limit " + backtrackLimit);
+                    TourAssertions.assertKnightPath(size, TourAssertions.getPath(tour.getChessBoard(),
+                            tour.getKnight().getMoveCounter()), NONE_BLOCKED);
+                }
+            }
+        }
+    }
+
+    // ****************************************************
+    // Method: closedModeAvoidsBlockedSquares
+    //
+    // Purpose: Checks closed mode on a board with blocked
+    // squares falls back to a path that never
+    // visits them.
+    // ****************************************************
+    @Test
+    void closedModeAvoidsBlockedSquares() {
+        for (int size : new int[] {6, 8, 12}) {
+            Tour tour = new Tour(size);
+            BitSet blocked = new BitSet();
+            int moves;
+
+            blocked.set(size + 3);
+            blocked.set(size * size - 1);
+            tour.getChessBoard().blockSquares(blocked);
+            tour.setClosed(true);
+            tour.setStartPosition(2, 2);
+            TourAssertions.playTour(tour);
+            moves = tour.getKnight().getMoveCounter();
+
+            assertEquals(moves + blocked.cardinality(), tour.getChessBoard().getNumVisitedSquares());
+            TourAssertions.assertKnightPath(size, TourAssertions.getPath(tour.getChessBoard(), moves), blocked);
+        }
+    }
+
+    // ****************************************************
+    // Method: squareCheckRejectsSquaresOffTheBoard
+    //
+    // Purpose: Checks the public square check answers
+    // false for squares off the board at any
+    // distance, not only within the border.
+    // ****************************************************
+    @Test
+    void squareCheckRejectsSquaresOffTheBoard() {
+        ChessBoard chessBoard = new ChessBoard(new Knight(), 8);
+
+        assertTrue(chessBoard.checkSquareExistsAndIsUnVisted(0, 0));
+        assertTrue(chessBoard.checkSquareExistsAndIsUnVisted(7, 7));
+        for (int offset : new int[] {-1, -2, -3, 8, 9, 10, 100, Integer.MIN_VALUE}) {
+            assertFalse(chessBoard.checkSquareExistsAndIsUnVisted(offset, 3));
+            assertFalse(chessBoard.checkSquareExistsAndIsUnVisted(3, offset));
+        }
+        chessBoard.markBoardSquare(3, 3, 1);
+        assertFalse(chessBoard.checkSquareExistsAndIsUnVisted(3, 3));
+    }
+
+    // ****************************************************
+    // Method: getMoveNumbers
+    //
+    // Purpose: Returns the move number of every square.
+    // ****************************************************
+    private static int[] getMoveNumbers(ChessBoard chessBoard) {
+        int size = chessBoard.getBoardSize();
+        int[] moveNumbers = new int[size * size];
+
+        for (int square = 0; square < moveNumbers.length; square++) {
+            moveNumbers[square] = chessBoard.getSquareMoveNumber(square / size, square % size);
+        }
+
+        return moveNumbers;
+    }
+
+    // ****************************************************
+    // Method: getAccessibility
+    //
+    // Purpose: Returns the accessibility of every
+    // unvisited square, and -1 for visited ones.
+    // ****************************************************
+    private static int[] getAccessibility(ChessBoard chessBoard) {
+        int size = chessBoard.getBoardSize();
+        int[] accessibility = new int[size * size];
+
+        for (int square = 0; square < accessibility.length; square++) {
+            accessibility[square] = chessBoard.isSquareVisited(square / size, square % size) ? -1
+                    : chessBoard.getSquareAccessibility(square / size, square % size);
+        }
+
+        return accessibility;
+    }
+}
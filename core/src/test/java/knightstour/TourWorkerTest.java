@@ -0,0 +1,126 @@
+package knightstour;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// Checks the tour worker hands every square of a tour to the ring buffer
+// and finishes, keeps the tour's own listener informed, and stops early
+// when cancelled.
+class TourWorkerTest {
+    // ****************************************************
+    // Method: finishesWithEverySquareOffered
+    //
+    // Purpose: Plays an 8 x 8 tour through a buffer
+    // smaller than the tour and checks the
+    // squares drained are the tour's path, that
+    // the worker finishes, and that the tour's
+    // listener got every move and the end and is
+    // put back afterwards.
+    // ****************************************************
+    @Test
+    void finishesWithEverySquareOffered() {
+        Tour tour = new Tour(8);
+        MoveRingBuffer buffer = new MoveRingBuffer(16);
+        TourWorker worker = new TourWorker(tour, buffer, 0, false);
+        int[] moves = new int[2];
+        TourListener listener = new TourListener() {
+            @Override
+            public void onMove(int moveNumber, int row, int col) {
+                moves[0]++;
+            }
+
+            @Override
+            public void onComplete(int moveNumber, int row, int col) {
+                moves[1] = moveNumber;
+            }
+        };
+        List<Integer> squares;
+
+        tour.setTourListener(listener);
+        worker.start();
+        squares = drain(buffer, worker, 64);
+        worker.join();
+
+        assertTrue(worker.isFinished());
+        assertEquals(toList(TourAssertions.getPath(tour.getChessBoard(), 64)), squares);
+        assertEquals(64, moves[0]);
+        assertEquals(64, moves[1]);
+        assertSame(listener, tour.getTourListener());
+    }
+
+    // ****************************************************
+    // Method: cancelStopsTheTour
+    //
+    // Purpose: Lets a stepping worker make three moves,
+    // cancels it while it waits for the next
+    // step and checks it finishes without
+    // offering another square.
+    // ****************************************************
+    @Test
+    void cancelStopsTheTour() {
+        Tour tour = new Tour(8);
+        MoveRingBuffer buffer = new MoveRingBuffer(16);
+        TourWorker worker = new TourWorker(tour, buffer, 0, true);
+        long[] drained = new long[16];
+
+        worker.start();
+        for (int step = 0; step < 3; step++) {
+            worker.step();
+        }
+        assertEquals(3, drain(buffer, worker, 3).size());
+        worker.cancel();
+        worker.join();
+
+        assertTrue(worker.isFinished());
+        assertEquals(0, buffer.drain(drained));
+        assertEquals(3, tour.getChessBoard().getNumVisitedSquares());
+    }
+
+    // ****************************************************
+    // Method: drain
+    //
+    // Purpose: Drains the buffer until the count of
+    // squares arrived or the worker finished
+    // with the buffer empty, and returns them as
+    // row * 8 + col.
+    // ****************************************************
+    private static List<Integer> drain(MoveRingBuffer buffer, TourWorker worker, int count) {
+        List<Integer> squares = new ArrayList<>();
+        long[] drained = new long[8];
+        boolean isFinished;
+        int drainedCount;
+
+        do {
+            isFinished = worker.isFinished();
+            drainedCount = buffer.drain(drained);
+            for (int entry = 0; entry < drainedCount; entry++) {
+                squares.add(MoveRingBuffer.getRow(drained[entry]) * 8 + MoveRingBuffer.getCol(drained[entry]));
+            }
+            if (drainedCount == 0) {
+                Thread.yield();
+            }
+        } while (squares.size() < count && !(isFinished && drainedCount == 0));
+
+        return squares;
+    }
+
+    // ****************************************************
+    // Method: toList
+    //
+    // Purpose: Returns the squares as a list.
+    // ****************************************************
+    private static List<Integer> toList(int[] path) {
+        List<Integer> squares = new ArrayList<>();
+
+        for (int square : path) {
+            squares.add(square);
+        }
+
+        return squares;
+    }
+}